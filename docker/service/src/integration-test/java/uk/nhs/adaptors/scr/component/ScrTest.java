@@ -25,6 +25,7 @@ import uk.nhs.adaptors.scr.WireMockInitializer;
 import uk.nhs.adaptors.scr.components.FhirParser;
 import uk.nhs.adaptors.scr.consts.ScrHttpHeaders;
 import uk.nhs.adaptors.scr.consts.SpineHttpHeaders;
+import uk.nhs.adaptors.scr.services.InMemoryUploadIdempotencyStore;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
@@ -50,6 +51,7 @@ import static org.hl7.fhir.r4.model.OperationOutcome.IssueType.NOTSUPPORTED;
 import static org.hl7.fhir.r4.model.OperationOutcome.IssueType.VALUE;
 import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
 import static org.springframework.http.HttpHeaders.ALLOW;
+import static org.springframework.http.HttpHeaders.CONTENT_LOCATION;
 import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
 import static org.springframework.http.HttpStatus.ACCEPTED;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
@@ -73,11 +75,12 @@ public class ScrTest {
     private static final String FHIR_ENDPOINT = "/Bundle";
     private static final String SCR_SPINE_ENDPOINT = "/clinical";
     private static final String SCR_SPINE_CONTENT_ENDPOINT = "/content";
+    private static final String UPLOAD_STATUS_ENDPOINT = "/$upload-status/";
     public static final String WIREMOCK_SCENARIO_NAME = "POST + polling GET";
     public static final String WIREMOCK_GET_RESPONSE_READY_STATE = "GET response ready";
     private static final int INITIAL_WAIT_TIME = 200;
     private static final int GET_WAIT_TIME = 400;
-    private static final int THREAD_SLEEP_ALLOWED_DIFF = 100;
+    private static final int POLL_SCHEDULE_ALLOWED_DIFF = 200;
     private static final String FHIR_JSON_CONTENT_TYPE = "application/fhir+json";
     private static final String NHSD_ASID = "123";
     private static final String NHSD_IDENTITY = randomUUID().toString();
@@ -112,9 +115,14 @@ public class ScrTest {
 
     private IParser parser = FhirContext.forR4().newJsonParser();
 
+    @Autowired
+    private InMemoryUploadIdempotencyStore uploadIdempotencyStore;
+
     @AfterEach
     public void afterEach() {
         this.wireMockServer.resetAll();
+        // the tests upload the same bundles for different Spine responses
+        this.uploadIdempotencyStore.invalidateAll();
     }
 
     // @Test
@@ -202,6 +210,56 @@ public class ScrTest {
             .statusCode(GATEWAY_TIMEOUT.value());
     }
 
+    @Test
+    public void whenPostingWithRespondAsyncThenExpect202AndStatusEventually201() throws Exception {
+        setUpSpineRequests();
+
+        var contentLocation = given()
+            .port(port)
+            .contentType(FHIR_JSON_CONTENT_TYPE)
+            .header(ScrHttpHeaders.NHSD_ASID, NHSD_ASID)
+            .header(ScrHttpHeaders.CLIENT_IP, CLIENT_IP)
+            .header(ScrHttpHeaders.NHSD_SESSION_URID, NHSD_SESSION_URID)
+            .header(ScrHttpHeaders.NHSD_IDENTITY, NHSD_IDENTITY)
+            .header(ScrHttpHeaders.PREFER, "respond-async")
+            .body(readString(simpleFhirJson.getFile().toPath(), UTF_8))
+            .when()
+            .post(FHIR_ENDPOINT)
+            .then()
+            .statusCode(ACCEPTED.value())
+            .header(ScrHttpHeaders.PREFERENCE_APPLIED, "respond-async")
+            .extract()
+            .header(CONTENT_LOCATION);
+
+        assertThat(contentLocation).contains(UPLOAD_STATUS_ENDPOINT);
+        var statusPath = contentLocation.substring(contentLocation.indexOf(UPLOAD_STATUS_ENDPOINT));
+
+        given()
+            .port(port)
+            .header(ScrHttpHeaders.PREFER, "wait=5")
+            .when()
+            .get(statusPath)
+            .then()
+            .statusCode(CREATED.value());
+
+        wireMockServer.verify(1, postRequestedFor(urlEqualTo(SCR_SPINE_ENDPOINT)));
+        wireMockServer.verify(2, getRequestedFor(urlEqualTo(SCR_SPINE_CONTENT_ENDPOINT)));
+    }
+
+    @Test
+    public void whenGettingUnknownUploadStatusThenExpect404() {
+        var responseBody = given()
+            .port(port)
+            .when()
+            .get(UPLOAD_STATUS_ENDPOINT + randomUUID())
+            .then()
+            .statusCode(NOT_FOUND.value())
+            .extract()
+            .asString();
+
+        verifyOperationOutcome(responseBody, NOTFOUND, ERROR);
+    }
+
     private void whenPostingThenExpect201(String requestBody, String contentType) throws IOException {
         setUpSpineRequests();
 
@@ -239,11 +297,11 @@ public class ScrTest {
 
         var intervalBetweenPostAndFirstGet =
             (int) (firstGetRequest.getLoggedDate().getTime() - postRequest.getLoggedDate().getTime());
-        assertThat(intervalBetweenPostAndFirstGet).isBetween(INITIAL_WAIT_TIME, INITIAL_WAIT_TIME + THREAD_SLEEP_ALLOWED_DIFF);
+        assertThat(intervalBetweenPostAndFirstGet).isBetween(INITIAL_WAIT_TIME, INITIAL_WAIT_TIME + POLL_SCHEDULE_ALLOWED_DIFF);
 
         var intervalBetweenFirstAndSecondGetGet =
             (int) (secondGetRequest.getLoggedDate().getTime() - firstGetRequest.getLoggedDate().getTime());
-        assertThat(intervalBetweenFirstAndSecondGetGet).isBetween(GET_WAIT_TIME, GET_WAIT_TIME + THREAD_SLEEP_ALLOWED_DIFF);
+        assertThat(intervalBetweenFirstAndSecondGetGet).isBetween(GET_WAIT_TIME, GET_WAIT_TIME + POLL_SCHEDULE_ALLOWED_DIFF);
     }
 
     @Test
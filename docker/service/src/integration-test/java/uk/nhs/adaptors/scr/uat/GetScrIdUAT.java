@@ -20,6 +20,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import uk.nhs.adaptors.scr.WireMockInitializer;
 import uk.nhs.adaptors.scr.config.SpineConfiguration;
 import uk.nhs.adaptors.scr.consts.ScrHttpHeaders;
+import uk.nhs.adaptors.scr.services.EventListCache;
 import uk.nhs.adaptors.scr.uat.common.CustomArgumentsProvider.GetScrIdNoConsent;
 import uk.nhs.adaptors.scr.uat.common.CustomArgumentsProvider.GetScrIdNotFound;
 import uk.nhs.adaptors.scr.uat.common.CustomArgumentsProvider.GetScrIdSuccess;
@@ -35,7 +36,9 @@ import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
 import static org.springframework.http.HttpStatus.FORBIDDEN;
 import static org.springframework.http.HttpStatus.OK;
 import static org.springframework.http.MediaType.TEXT_XML_VALUE;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static uk.nhs.adaptors.scr.consts.SpineHttpHeaders.SOAP_ACTION;
 import static uk.nhs.adaptors.scr.controllers.FhirMediaTypes.APPLICATION_FHIR_JSON_VALUE;
@@ -82,9 +85,14 @@ public class GetScrIdUAT {
     @Autowired
     private SpineConfiguration spineConfiguration;
 
+    @Autowired
+    private EventListCache eventListCache;
+
     @AfterEach
     public void afterEach() {
         this.wireMockServer.resetAll();
+        // the stubbed event list queries reuse one patient for different responses
+        this.eventListCache.invalidateAll();
     }
 
     @ParameterizedTest(name = "[{index}] - {0}")
@@ -112,7 +120,7 @@ public class GetScrIdUAT {
     }
 
     private void performRequestAndAssert(TestData testData, HttpStatus expectedHttpStatus) throws Exception {
-        mockMvc.perform(get(GET_SCR_ID_ENDPOINT)
+        var asyncResult = mockMvc.perform(get(GET_SCR_ID_ENDPOINT)
             .contentType(APPLICATION_FHIR_JSON_VALUE)
             .header(ScrHttpHeaders.NHSD_ASID, NHSD_ASID)
             .header(ScrHttpHeaders.CLIENT_IP, CLIENT_IP)
@@ -120,6 +128,10 @@ public class GetScrIdUAT {
             .queryParam("type", TYPE_PARAM)
             .queryParam("_sort", SORT_PARAM)
             .queryParam("_count", COUNT_PARAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
             .andExpect(status().is(expectedHttpStatus.value()))
             .andExpect(fhirJson(testData.getFhirResponse(), IGNORED_JSON_PATHS));
     }
@@ -0,0 +1,11 @@
+package uk.nhs.adaptors.scr.uat;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs the {@link GetScrUAT} scenarios against the streaming mapping engine, which must give the same bundles as the DOM
+ * based one.
+ */
+@TestPropertySource(properties = "scr.mappingEngine=stax")
+public class GetScrStaxUAT extends GetScrUAT {
+}
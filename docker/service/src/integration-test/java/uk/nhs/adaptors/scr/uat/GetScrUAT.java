@@ -7,7 +7,9 @@ import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
 import static org.springframework.http.HttpStatus.FORBIDDEN;
 import static org.springframework.http.HttpStatus.OK;
 import static org.springframework.http.MediaType.TEXT_XML_VALUE;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
@@ -41,6 +43,8 @@ import lombok.extern.slf4j.Slf4j;
 import uk.nhs.adaptors.scr.WireMockInitializer;
 import uk.nhs.adaptors.scr.config.SpineConfiguration;
 import uk.nhs.adaptors.scr.consts.ScrHttpHeaders;
+import uk.nhs.adaptors.scr.services.EventListCache;
+import uk.nhs.adaptors.scr.services.ScrEventCache;
 //import uk.nhs.adaptors.scr.uat.common.CustomArgumentsProvider.GetScrAdditionalInformation;
 import uk.nhs.adaptors.scr.uat.common.CustomArgumentsProvider.GetScrAgentPersonAuthorSuccess;
 import uk.nhs.adaptors.scr.uat.common.CustomArgumentsProvider.GetScrInitialUploadOrgSDSSuccess;
@@ -111,9 +115,18 @@ public class GetScrUAT {
     @Autowired
     private SpineConfiguration spineConfiguration;
 
+    @Autowired
+    private ScrEventCache scrEventCache;
+
+    @Autowired
+    private EventListCache eventListCache;
+
     @AfterEach
     public void afterEach() {
         this.wireMockServer.resetAll();
+        // the stubbed queries reuse one patient and event ID for different responses
+        this.scrEventCache.invalidateAll();
+        this.eventListCache.invalidateAll();
     }
 
     @ParameterizedTest(name = "[{index}] - {0}")
@@ -178,12 +191,16 @@ public class GetScrUAT {
     }
 
     private void performRequestAndAssert(TestData testData, HttpStatus expectedHttpStatus) throws Exception {
-        mockMvc.perform(get(GET_SCR_ENDPOINT)
+        var asyncResult = mockMvc.perform(get(GET_SCR_ENDPOINT)
             .contentType(APPLICATION_FHIR_JSON_VALUE)
             .header(ScrHttpHeaders.NHSD_ASID, NHSD_ASID)
             .header(ScrHttpHeaders.CLIENT_IP, CLIENT_IP)
             .queryParam("composition.identifier", COMPOSITION_IDENTIFIER)
             .queryParam("composition.subject:Patient.identifier", PATIENT_ID))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
             .andExpect(status().is(expectedHttpStatus.value()))
             .andExpect(fhirJson(String.format(testData.getFhirResponse(),
                 wireMockServer.baseUrl(),
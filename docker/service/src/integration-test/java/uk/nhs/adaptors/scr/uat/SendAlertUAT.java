@@ -35,6 +35,7 @@ import static java.nio.file.Files.readString;
 import static java.util.UUID.randomUUID;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -95,7 +96,7 @@ public class SendAlertUAT {
     }
 
     private ResultActions performRequest(String body) throws Exception {
-        return mockMvc.perform(post(ALERT_ENDPOINT)
+        var resultActions = mockMvc.perform(post(ALERT_ENDPOINT)
             .contentType(APPLICATION_FHIR_JSON_VALUE)
             .header(ScrHttpHeaders.NHSD_ASID, NHSD_ASID)
             .header(ScrHttpHeaders.NHSD_IDENTITY, NHSD_IDENTITY)
@@ -104,6 +105,12 @@ public class SendAlertUAT {
             .header(ScrHttpHeaders.CORRELATION_ID, CORRELATION_ID)
             .header(ScrHttpHeaders.REQUEST_ID, REQUEST_ID)
             .content(body));
+        var mvcResult = resultActions.andReturn();
+        // requests rejected before the Spine call are answered without starting async processing
+        if (mvcResult.getRequest().isAsyncStarted()) {
+            return mockMvc.perform(asyncDispatch(mvcResult));
+        }
+        return resultActions;
 
     }
 
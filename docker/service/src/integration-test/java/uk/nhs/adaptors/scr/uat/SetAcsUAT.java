@@ -36,6 +36,7 @@ import static org.springframework.http.HttpStatus.BAD_REQUEST;
 import static org.springframework.http.HttpStatus.OK;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static org.springframework.http.MediaType.TEXT_XML_VALUE;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -136,7 +137,7 @@ public class SetAcsUAT {
     }
 
     private ResultActions performRequest(String request) throws Exception {
-        return mockMvc.perform(post(ACS_ENDPOINT)
+        var resultActions = mockMvc.perform(post(ACS_ENDPOINT)
             .contentType(APPLICATION_FHIR_JSON)
             .header(ScrHttpHeaders.NHSD_ASID, NHSD_ASID)
             .header(ScrHttpHeaders.CLIENT_IP, CLIENT_IP)
@@ -144,6 +145,12 @@ public class SetAcsUAT {
             .header(ScrHttpHeaders.NHSD_IDENTITY, NHSD_IDENTITY_UUID)
             .header(AUTHORIZATION, BEARER_TOKEN)
             .content(request));
+        var mvcResult = resultActions.andReturn();
+        // requests rejected before the Spine call are answered without starting async processing
+        if (mvcResult.getRequest().isAsyncStarted()) {
+            return mockMvc.perform(asyncDispatch(mvcResult));
+        }
+        return resultActions;
 
     }
 
@@ -21,6 +21,7 @@ import uk.nhs.adaptors.scr.WireMockInitializer;
 import uk.nhs.adaptors.scr.config.SpineConfiguration;
 import uk.nhs.adaptors.scr.consts.ScrHttpHeaders;
 import uk.nhs.adaptors.scr.consts.SpineHttpHeaders;
+import uk.nhs.adaptors.scr.services.InMemoryUploadIdempotencyStore;
 import uk.nhs.adaptors.scr.uat.common.CustomArgumentsProvider.UploadScrBadRequest;
 import uk.nhs.adaptors.scr.uat.common.CustomArgumentsProvider.UploadScrCaseNotFound;
 import uk.nhs.adaptors.scr.uat.common.CustomArgumentsProvider.UploadScrNoConsent;
@@ -88,9 +89,14 @@ public class UploadScrUAT {
     @Autowired
     private SpineConfiguration spineConfiguration;
 
+    @Autowired
+    private InMemoryUploadIdempotencyStore uploadIdempotencyStore;
+
     @AfterEach
     public void afterEach() {
         this.wireMockServer.resetAll();
+        // the tests upload the same bundles for different Spine responses
+        this.uploadIdempotencyStore.invalidateAll();
     }
 
     @ParameterizedTest(name = "[{index}] - {0}")
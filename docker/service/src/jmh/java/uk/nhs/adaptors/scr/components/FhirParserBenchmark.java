@@ -0,0 +1,90 @@
+package uk.nhs.adaptors.scr.components;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.parser.IParser;
+import org.hl7.fhir.r4.model.Bundle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Cost of encoding the largest test bundle with {@link FhirParser#encodeToJson} and with the post-processing of the
+ * whole encoded document it replaces. Every date in the bundle is turned into a partial date first, so both ways have
+ * dates to rewrite.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FhirParserBenchmark {
+
+    private static final String LARGEST_BUNDLE = "gp_summary/from/fhir/additionalinfo/treatments-plus-risks-to-patient.json";
+    private static final Pattern DATE_TIME = Pattern.compile("(\\d{4}-\\d{2}-\\d{2})T\\d{2}:\\d{2}:\\d{2}\\+00:00");
+    private static final List<String> PARTIAL_DATE_MARKERS = List.of(".001", ".002", ".003");
+
+    private final FhirParser fhirParser = new FhirParser();
+    private final IParser jsonParser = FhirContext.forR4().newJsonParser();
+
+    private Bundle bundle;
+
+    @Setup
+    public void setUp() throws IOException {
+        var json = new String(new ClassPathResource(LARGEST_BUNDLE).getInputStream().readAllBytes(), UTF_8);
+        var withPartialDates = new StringBuilder();
+        var matcher = DATE_TIME.matcher(json);
+        var dates = 0;
+        while (matcher.find()) {
+            var marker = PARTIAL_DATE_MARKERS.get(dates++ % PARTIAL_DATE_MARKERS.size());
+            matcher.appendReplacement(withPartialDates, "$1T00:00:00" + marker + "+00:00");
+        }
+        matcher.appendTail(withPartialDates);
+        bundle = fhirParser.parseResource(withPartialDates.toString(), Bundle.class);
+    }
+
+    @Benchmark
+    public String encodeToJson() {
+        return fhirParser.encodeToJson(bundle);
+    }
+
+    @Benchmark
+    public String encodeToStringAndRewrite() {
+        String output = jsonParser.setPrettyPrint(false).encodeResourceToString(bundle);
+        output = output.replace("<td/>", "<td></td>");
+
+        List<String> days = find(output, "\\d{1,4}\\-\\d{1,2}\\-\\d{2,4}T00:00:00.003");
+        List<String> months = find(output, "\\d{1,4}\\-\\d{1,2}\\-\\d{2,4}T00:00:00.002\\+\\d{2,2}:00");
+        List<String> years = find(output, "\\d{1,4}\\-\\d{1,2}\\-\\d{2,4}T00:00:00.001");
+        for (String day : days) {
+            output = output.replace(day, day.substring(0, "yyyy-MM-dd".length()));
+        }
+        for (String month : months) {
+            output = output.replace(month, month.substring(0, "yyyy-MM".length()));
+        }
+        for (String year : years) {
+            output = output.replace(year, year.substring(0, "yyyy".length()));
+        }
+        return output;
+    }
+
+    private static List<String> find(String json, String regEx) {
+        List<String> occurrences = new ArrayList<>();
+        Matcher matcher = Pattern.compile(regEx).matcher(json);
+        while (matcher.find()) {
+            occurrences.add(matcher.group());
+        }
+        return occurrences;
+    }
+}
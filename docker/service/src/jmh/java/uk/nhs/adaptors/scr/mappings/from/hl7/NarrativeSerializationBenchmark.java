@@ -0,0 +1,71 @@
+package uk.nhs.adaptors.scr.mappings.from.hl7;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.io.ClassPathResource;
+import org.w3c.dom.Document;
+
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import static javax.xml.XMLConstants.ACCESS_EXTERNAL_DTD;
+import static javax.xml.XMLConstants.ACCESS_EXTERNAL_STYLESHEET;
+import static uk.nhs.adaptors.scr.mappings.from.hl7.HtmlParser.createNewDocument;
+import static uk.nhs.adaptors.scr.utils.DocumentBuilderUtil.parseDocument;
+
+/**
+ * Cost of serializing the GP Summary presentation text of the mock event query response as one narrative: with a new
+ * Transformer per call (as before), with the cached per-thread Transformer and with {@link XhtmlWriter}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NarrativeSerializationBenchmark {
+
+    private static final String SCR_RESPONSE = "mock-spine/event-query/success.xml";
+
+    private Document narrative;
+
+    @Setup
+    public void setUp() throws Exception {
+        var response = parseDocument(new ClassPathResource(SCR_RESPONSE).getInputStream());
+        var body = response.getElementsByTagName("body").item(0);
+        narrative = createNewDocument("div", "http://www.w3.org/1999/xhtml");
+        for (var child = body.getFirstChild(); child != null; child = child.getNextSibling()) {
+            narrative.getDocumentElement().appendChild(narrative.importNode(child, true));
+        }
+    }
+
+    @Benchmark
+    public String newTransformerPerCall() throws Exception {
+        TransformerFactory transformerFactory = TransformerFactory.newInstance();
+        transformerFactory.setAttribute(ACCESS_EXTERNAL_DTD, "");
+        transformerFactory.setAttribute(ACCESS_EXTERNAL_STYLESHEET, "");
+        var transformer = transformerFactory.newTransformer();
+        transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
+        transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-16");
+        transformer.setOutputProperty(OutputKeys.INDENT, "no");
+        var xmlOutput = new StreamResult(new StringWriter());
+        transformer.transform(new DOMSource(narrative), xmlOutput);
+        return xmlOutput.getWriter().toString();
+    }
+
+    @Benchmark
+    public String cachedTransformer() {
+        return HtmlParser.serialize(narrative);
+    }
+
+    @Benchmark
+    public String xhtmlWriter() {
+        return XhtmlWriter.write(narrative).orElseThrow();
+    }
+}
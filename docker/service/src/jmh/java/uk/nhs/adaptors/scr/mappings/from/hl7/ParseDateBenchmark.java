@@ -0,0 +1,42 @@
+package uk.nhs.adaptors.scr.mappings.from.hl7;
+
+import org.hl7.fhir.r4.model.BaseDateTimeType;
+import org.hl7.fhir.r4.model.DateTimeType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of parsing one value of each precision found in SCRs, with {@link Hl7TimestampParser} and with the formatter
+ * based parsing it replaces.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ParseDateBenchmark {
+
+    private static final List<String> DATES = List.of("20230713120000", "202307131200", "20230713", "2023-07", "202307", "2023");
+
+    @Benchmark
+    public void parseDate(Blackhole blackhole) {
+        for (var date : DATES) {
+            BaseDateTimeType parsed = XmlToFhirMapper.parseDate(date, DateTimeType.class);
+            blackhole.consume(parsed);
+        }
+    }
+
+    @Benchmark
+    public void parseDateWithFormatters(Blackhole blackhole) {
+        for (var date : DATES) {
+            BaseDateTimeType parsed = XmlToFhirMapper.parseDateWithFormatters(date, DateTimeType.class);
+            blackhole.consume(parsed);
+        }
+    }
+}
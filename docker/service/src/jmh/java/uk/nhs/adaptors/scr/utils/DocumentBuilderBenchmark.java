@@ -0,0 +1,83 @@
+package uk.nhs.adaptors.scr.utils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.io.ClassPathResource;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static javax.xml.XMLConstants.ACCESS_EXTERNAL_DTD;
+import static javax.xml.XMLConstants.ACCESS_EXTERNAL_SCHEMA;
+import static org.apache.commons.lang3.StringUtils.EMPTY;
+
+/**
+ * Cost of parsing one PSIS event query response and creating the documents HtmlParser needs for its H2 sections, with a
+ * new DocumentBuilderFactory per call (as before) and with {@link DocumentBuilderUtil}. Every node of the parsed
+ * response is visited afterwards, like the mappers do.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DocumentBuilderBenchmark {
+
+    private static final String SCR_RESPONSE = "mock-spine/event-query/success.xml";
+    private static final int H2_SECTIONS = 10;
+
+    private byte[] scrResponse;
+
+    @Setup
+    public void setUp() throws IOException {
+        scrResponse = new ClassPathResource(SCR_RESPONSE).getInputStream().readAllBytes();
+    }
+
+    @Benchmark
+    public int newFactoryPerCall() throws Exception {
+        var visited = visit(newFactory().newDocumentBuilder().parse(new ByteArrayInputStream(scrResponse)));
+        for (int i = 0; i < H2_SECTIONS; i++) {
+            visited += newFactory().newDocumentBuilder().newDocument().getChildNodes().getLength();
+        }
+        return visited;
+    }
+
+    @Benchmark
+    public int documentBuilderUtil() {
+        var visited = visit(DocumentBuilderUtil.parseDocument(new ByteArrayInputStream(scrResponse)));
+        for (int i = 0; i < H2_SECTIONS; i++) {
+            visited += DocumentBuilderUtil.newDocument().getChildNodes().getLength();
+        }
+        return visited;
+    }
+
+    private static DocumentBuilderFactory newFactory() {
+        DocumentBuilderFactory df = DocumentBuilderFactory.newInstance();
+        df.setAttribute(ACCESS_EXTERNAL_DTD, EMPTY);
+        df.setAttribute(ACCESS_EXTERNAL_SCHEMA, EMPTY);
+        return df;
+    }
+
+    private static int visit(Document document) {
+        return visit(document.getDocumentElement());
+    }
+
+    private static int visit(Node node) {
+        var visited = 1;
+        if (node instanceof Element) {
+            visited += node.getAttributes().getLength();
+        }
+        for (var child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            visited += visit(child);
+        }
+        return visited;
+    }
+}
@@ -0,0 +1,57 @@
+package uk.nhs.adaptors.scr.clients.spine;
+
+/**
+ * Additive increase, multiplicative decrease concurrency limit. The limit grows by one per limit's worth of successful
+ * responses while it is being used, and shrinks by the backoff ratio for every failed or slower than threshold response.
+ */
+final class AimdLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+
+    private double limit;
+    private int inFlight;
+
+    AimdLimit(int initialLimit, int minLimit, int maxLimit, double backoffRatio, long latencyThresholdNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    synchronized boolean tryAcquire() {
+        if (inFlight >= (int) limit) {
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Returns a permit of a request which was not sent, without adjusting the limit.
+     */
+    synchronized void cancel() {
+        inFlight--;
+    }
+
+    synchronized void release(long latencyNanos, boolean succeeded) {
+        boolean limitUsed = inFlight * 2 >= limit;
+        inFlight--;
+        if (!succeeded || latencyNanos > latencyThresholdNanos) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (limitUsed) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    synchronized int getInFlight() {
+        return inFlight;
+    }
+}
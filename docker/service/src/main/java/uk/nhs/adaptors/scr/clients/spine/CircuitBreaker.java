@@ -0,0 +1,103 @@
+package uk.nhs.adaptors.scr.clients.spine;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Opens after a number of consecutive failed Spine responses and rejects requests until the open duration has passed.
+ * Then a single trial request is let through, which closes the circuit if it succeeds or opens it again if it fails.
+ */
+@Slf4j
+final class CircuitBreaker {
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    enum Admission {
+        REJECTED,
+        ADMITTED,
+        TRIAL
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    CircuitBreaker(String name, int failureThreshold, long openDurationNanos, LongSupplier nanoClock) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDurationNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Returns whether the request may be sent, and if so whether it is the trial request of a half open circuit.
+     */
+    synchronized Admission tryAcquire() {
+        if (state == State.OPEN) {
+            if (getRemainingOpenNanos() > 0) {
+                return Admission.REJECTED;
+            }
+            LOGGER.info("Letting a trial {} request through the circuit breaker", name);
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return Admission.REJECTED;
+            }
+            trialInFlight = true;
+            return Admission.TRIAL;
+        }
+        return Admission.ADMITTED;
+    }
+
+    /**
+     * Returns a permit of a request which was not sent. Only the trial request lets another trial through.
+     */
+    synchronized void cancel(Admission admission) {
+        if (admission == Admission.TRIAL && state == State.HALF_OPEN) {
+            trialInFlight = false;
+        }
+    }
+
+    /**
+     * Records the outcome of a request. Only the trial request closes or reopens a half open circuit, requests admitted
+     * before the circuit opened do not.
+     */
+    synchronized void release(Admission admission, boolean succeeded) {
+        var trial = admission == Admission.TRIAL && state == State.HALF_OPEN;
+        if (succeeded) {
+            consecutiveFailures = 0;
+            if (trial) {
+                LOGGER.info("Closing {} circuit breaker", name);
+                state = State.CLOSED;
+            }
+        } else {
+            consecutiveFailures++;
+            if (trial || state == State.CLOSED && consecutiveFailures >= failureThreshold) {
+                LOGGER.warn("Opening {} circuit breaker after {} consecutive failures", name, consecutiveFailures);
+                state = State.OPEN;
+                openedAt = nanoClock.getAsLong();
+            }
+        }
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    synchronized long getRemainingOpenNanos() {
+        return state == State.OPEN ? Math.max(0, openedAt + openDurationNanos - nanoClock.getAsLong()) : 0;
+    }
+}
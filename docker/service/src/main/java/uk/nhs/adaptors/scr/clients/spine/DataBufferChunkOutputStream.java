@@ -0,0 +1,79 @@
+package uk.nhs.adaptors.scr.clients.spine;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import java.io.OutputStream;
+import java.util.function.Consumer;
+
+/**
+ * Output stream which cuts what is written to it into buffers of a fixed size and hands each one on as soon as it is full.
+ * The last, partly filled buffer is handed on when the stream is closed.
+ */
+class DataBufferChunkOutputStream extends OutputStream {
+
+    private final DataBufferFactory bufferFactory;
+    private final int chunkSize;
+    private final Consumer<DataBuffer> chunkConsumer;
+
+    private DataBuffer buffer;
+
+    DataBufferChunkOutputStream(DataBufferFactory bufferFactory, int chunkSize, Consumer<DataBuffer> chunkConsumer) {
+        this.bufferFactory = bufferFactory;
+        this.chunkSize = chunkSize;
+        this.chunkConsumer = chunkConsumer;
+    }
+
+    @Override
+    public void write(int b) {
+        currentBuffer().write((byte) b);
+        emitIfFull();
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) {
+        while (length > 0) {
+            var current = currentBuffer();
+            var count = Math.min(length, chunkSize - current.writePosition());
+            current.write(bytes, offset, count);
+            offset += count;
+            length -= count;
+            emitIfFull();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (buffer != null) {
+            var last = buffer;
+            buffer = null;
+            chunkConsumer.accept(last);
+        }
+    }
+
+    /**
+     * Releases the buffer being filled without handing it on, for when writing failed part way through.
+     */
+    void discard() {
+        if (buffer != null) {
+            DataBufferUtils.release(buffer);
+            buffer = null;
+        }
+    }
+
+    private DataBuffer currentBuffer() {
+        if (buffer == null) {
+            buffer = bufferFactory.allocateBuffer(chunkSize);
+        }
+        return buffer;
+    }
+
+    private void emitIfFull() {
+        if (buffer.writePosition() >= chunkSize) {
+            var full = buffer;
+            buffer = null;
+            chunkConsumer.accept(full);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package uk.nhs.adaptors.scr.clients.spine;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+
+/**
+ * The latencies of the most recent requests, kept in a ring buffer of a fixed size. The percentile is read on every
+ * query, so it is not computed then: it is sorted out of the buffer when a tenth of the window has been replaced since
+ * the last time, on the thread recording the latency, and read without locking.
+ */
+class LatencyWindow {
+
+    private static final long NO_PERCENTILE = -1;
+    private static final int REFRESH_FRACTION = 10;
+
+    private final long[] samples;
+    private final double percentile;
+    private final int minSamples;
+    private final int refreshInterval;
+    private int next;
+    private int count;
+    private int sinceRefresh;
+    private volatile long cachedPercentile = NO_PERCENTILE;
+
+    LatencyWindow(int size, double percentile, int minSamples) {
+        this.samples = new long[size];
+        this.percentile = percentile;
+        this.minSamples = minSamples;
+        this.refreshInterval = Math.max(1, size / REFRESH_FRACTION);
+    }
+
+    synchronized void record(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % samples.length;
+        count = Math.min(count + 1, samples.length);
+        sinceRefresh++;
+        if (count >= minSamples && (sinceRefresh >= refreshInterval || cachedPercentile == NO_PERCENTILE)) {
+            cachedPercentile = computePercentile();
+            sinceRefresh = 0;
+        }
+    }
+
+    /**
+     * The configured percentile of the recorded latencies, empty until at least {@code minSamples} have been recorded.
+     */
+    OptionalLong getPercentile() {
+        var value = cachedPercentile;
+        return value == NO_PERCENTILE ? OptionalLong.empty() : OptionalLong.of(value);
+    }
+
+    private long computePercentile() {
+        var sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        var index = (int) Math.ceil(percentile * count) - 1;
+        return sorted[Math.max(0, Math.min(index, count - 1))];
+    }
+}
@@ -0,0 +1,229 @@
+package uk.nhs.adaptors.scr.clients.spine;
+
+import lombok.extern.slf4j.Slf4j;
+import uk.nhs.adaptors.scr.exceptions.ParseProcessingResultException;
+import uk.nhs.adaptors.scr.models.ProcessingResult;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+/**
+ * Reads the multipart/related processing result Spine returns for an SCR upload in one pass. Each MIME part is handed to
+ * StAX as a stream which ends at the next boundary, so the response is never held as a String or DOM. Of the
+ * MCCI_IN010000UK13 part only the acknowledgement type code and the justifying detected issue codes are kept.
+ */
+@Slf4j
+public class ProcessingResultReader {
+
+    private static final String DELIMITER_PREFIX = "--";
+    private static final String SOAP_ENVELOPE = "Envelope";
+    private static final String HL7 = "MCCI_IN010000UK13";
+    private static final List<String> ACKNOWLEDGEMENT = List.of(HL7, "acknowledgement");
+    private static final List<String> DETECTED_ISSUE_CODE =
+        List.of(HL7, "ControlActEvent", "reason", "justifyingDetectedIssueEvent", "code");
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    public static ProcessingResult read(InputStream body) {
+        try {
+            return readParts(new BufferedInputStream(body));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (XMLStreamException e) {
+            LOGGER.error("Unable to parse processing result response", e);
+            throw new ParseProcessingResultException("Unable to parse processing result response");
+        }
+    }
+
+    private static ProcessingResult readParts(BufferedInputStream body) throws IOException, XMLStreamException {
+        var delimiter = readDelimiter(body);
+        var soapEnvelopeFound = false;
+        ProcessingResult processingResult = null;
+
+        var part = new PartInputStream(body, delimiter);
+        while (!part.isLast()) {
+            skipHeaders(body);
+            XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(part);
+            try {
+                var root = nextStartElement(reader);
+                if (SOAP_ENVELOPE.equals(root)) {
+                    soapEnvelopeFound = true;
+                } else if (HL7.equals(root)) {
+                    processingResult = readHl7(reader);
+                }
+            } finally {
+                reader.close();
+            }
+            part.next();
+        }
+
+        if (!soapEnvelopeFound) {
+            LOGGER.error("Unable to extract SOAP Envelope from processing result response");
+            throw new ParseProcessingResultException("Unable to extract SOAP Envelope from processing result response");
+        }
+        if (processingResult == null) {
+            LOGGER.error("Unable to extract HL7 from processing result response");
+            throw new ParseProcessingResultException("Unable to extract HL7 from processing result response");
+        }
+        return processingResult;
+    }
+
+    private static ProcessingResult readHl7(XMLStreamReader reader) throws XMLStreamException {
+        var processingResult = new ProcessingResult();
+        List<String> path = new ArrayList<>(List.of(HL7));
+        while (reader.hasNext()) {
+            var event = reader.next();
+            if (event == START_ELEMENT) {
+                path.add(reader.getLocalName());
+                if (path.equals(ACKNOWLEDGEMENT)) {
+                    processingResult.setAcknowledgementTypeCode(reader.getAttributeValue(null, "typeCode"));
+                } else if (path.equals(DETECTED_ISSUE_CODE)) {
+                    processingResult.getDetectedIssues().add(String.format("%s: %s",
+                        reader.getAttributeValue(null, "code"), reader.getAttributeValue(null, "displayName")));
+                }
+            } else if (event == END_ELEMENT) {
+                path.remove(path.size() - 1);
+            }
+        }
+        return processingResult;
+    }
+
+    private static String nextStartElement(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            if (reader.next() == START_ELEMENT) {
+                return reader.getLocalName();
+            }
+        }
+        return null;
+    }
+
+    private static String readDelimiter(InputStream body) throws IOException {
+        String line;
+        do {
+            line = readLine(body);
+            if (line == null) {
+                LOGGER.error("Unable to find MIME boundary in processing result response");
+                throw new ParseProcessingResultException("Unable to find MIME boundary in processing result response");
+            }
+        } while (!line.startsWith(DELIMITER_PREFIX));
+        return line.strip();
+    }
+
+    private static void skipHeaders(InputStream body) throws IOException {
+        String line;
+        do {
+            line = readLine(body);
+        } while (line != null && !line.isEmpty());
+    }
+
+    /**
+     * Reads one line of a MIME header, without the line break. Returns null at the end of the stream.
+     */
+    private static String readLine(InputStream body) throws IOException {
+        var line = new ByteArrayOutputStream();
+        int b;
+        while ((b = body.read()) != '\n') {
+            if (b == -1) {
+                return line.size() == 0 ? null : line.toString(US_ASCII);
+            }
+            if (b != '\r') {
+                line.write(b);
+            }
+        }
+        return line.toString(US_ASCII);
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        var factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    /**
+     * The body of the current MIME part. Ends before the line break that precedes the next delimiter line. The delimiter
+     * line is consumed, {@link #isLast()} tells whether it was the closing one.
+     */
+    private static final class PartInputStream extends InputStream {
+        private final BufferedInputStream body;
+        private final byte[] delimiter;
+        private boolean ended;
+        private boolean last;
+
+        private PartInputStream(BufferedInputStream body, String delimiter) {
+            this.body = body;
+            this.delimiter = delimiter.getBytes(US_ASCII);
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (ended) {
+                return -1;
+            }
+            var b = body.read();
+            if (b == -1) {
+                ended = true;
+                last = true;
+            } else if (b == '\r' || b == '\n') {
+                body.mark(delimiter.length + 1);
+                if ((b == '\n' || body.read() == '\n') && readDelimiter()) {
+                    ended = true;
+                    return -1;
+                }
+                body.reset();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            var count = 0;
+            int b;
+            while (count < length && (b = read()) != -1) {
+                buffer[offset + count++] = (byte) b;
+            }
+            return count == 0 ? -1 : count;
+        }
+
+        /**
+         * Skips what is left of the current part and moves on to the next one.
+         */
+        private void next() throws IOException {
+            int b;
+            do {
+                b = read();
+            } while (b != -1);
+            ended = last;
+        }
+
+        private boolean isLast() {
+            return last;
+        }
+
+        private boolean readDelimiter() throws IOException {
+            for (var expected : delimiter) {
+                if (body.read() != expected) {
+                    return false;
+                }
+            }
+            var rest = readLine(body);
+            last = rest == null || rest.startsWith(DELIMITER_PREFIX);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package uk.nhs.adaptors.scr.clients.spine;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.w3c.dom.Document;
+import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient.Response;
+import uk.nhs.adaptors.scr.config.ScrConfiguration;
+import uk.nhs.adaptors.scr.models.ProcessingResult;
+import uk.nhs.adaptors.scr.utils.FilledTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.delayedExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static uk.nhs.adaptors.scr.mappings.from.hl7.HtmlParser.serialize;
+
+/**
+ * Mock Spine client used to respond successfully to fake Spine calls when scrConfiguration.getSandboxMode() is true. The
+ * canned response is prepared on the calling thread and the future completes after scrConfiguration.getSandboxDelay()
+ * without holding any thread while it waits.
+ */
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class SandboxSpineAsyncClient implements SpineAsyncClientContract {
+
+    private final ScrConfiguration scrConfiguration;
+    private final SandboxSpineResponses sandboxSpineResponses;
+
+    @Override
+    public CompletableFuture<Response<Document>> sendAcsData(String requestBody, String nhsdAsid) {
+        return completedFuture(sandboxSpineResponses.acsData(requestBody));
+    }
+
+    @Override
+    public CompletableFuture<Response<String>> sendScrData(FilledTemplate requestBody, String nhsdAsid, String nhsdIdentity,
+                                                           String nhsdSessionUrid) {
+        return delayed(sandboxSpineResponses.scrData());
+    }
+
+    @Override
+    public CompletableFuture<ProcessingResult> getScrProcessingResult(String contentLocation, long initialWaitTime, String nhsdAsid,
+                                                                      String nhsdIdentity, String nhsdSessionUrid) {
+        return delayed(sandboxSpineResponses.processingResult());
+    }
+
+    @Override
+    public CompletableFuture<Response<Document>> sendGetScrId(String requestBody, String nhsdAsid) {
+        return delayed(sandboxSpineResponses.scrId(requestBody));
+    }
+
+    @Override
+    public CompletableFuture<Response<Document>> sendGetScr(String requestBody, String nhsdAsid) {
+        return delayed(sandboxSpineResponses.scr());
+    }
+
+    @Override
+    public CompletableFuture<Response<byte[]>> sendGetScrRaw(String requestBody, String nhsdAsid) {
+        var response = sandboxSpineResponses.scr();
+        return delayed(new Response<>(response.getStatusCode(), response.getHeaders(), serialize(response.getBody()).getBytes(UTF_8)));
+    }
+
+    @Override
+    public CompletableFuture<Response<String>> sendAlert(String requestBody, String nhsdAsid, String nhsdIdentity,
+                                                         String nhsdSessionUrid) {
+        return completedFuture(sandboxSpineResponses.alert());
+    }
+
+    private <T> CompletableFuture<T> delayed(T response) {
+        Executor delay = delayedExecutor(scrConfiguration.getSandboxDelay(), MILLISECONDS);
+        return CompletableFuture.supplyAsync(() -> response, delay);
+    }
+}
@@ -2,36 +2,28 @@ package uk.nhs.adaptors.scr.clients.spine;
 
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
-import org.apache.commons.io.IOUtils;
 import org.apache.http.Header;
 import org.apache.http.message.BasicHeader;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.w3c.dom.Document;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
 import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient.Response;
-import uk.nhs.adaptors.scr.config.ScrConfiguration;
 import uk.nhs.adaptors.scr.models.ProcessingResult;
 import uk.nhs.adaptors.scr.utils.XmlUtils;
 
-import java.io.IOException;
-import java.io.StringReader;
 
-import static java.lang.Thread.sleep;
-import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.springframework.http.HttpHeaders.CONTENT_LOCATION;
 import static org.springframework.http.HttpHeaders.RETRY_AFTER;
 import static org.springframework.http.HttpStatus.ACCEPTED;
 import static org.springframework.http.HttpStatus.OK;
-import static uk.nhs.adaptors.scr.utils.DocumentBuilderUtil.documentBuilder;
+import static uk.nhs.adaptors.scr.utils.DocumentBuilderUtil.parseDocument;
 
 /**
- * Mock Spine client used to respond successfully to fake Spine calls when scrConfiguration.getSandboxMode() is true.
+ * Canned Spine responses shared by the blocking and asynchronous sandbox clients.
  */
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
-public class SandboxSpineClient implements SpineClientContract {
+public class SandboxSpineResponses {
 
     private static final String GET_SCR_ID_NHS_NUMBER_XPATH = "//nHSNumber/value/@extension";
     private static final String SET_ACS_NHS_NUMBER_XPATH =
@@ -57,12 +49,10 @@ public class SandboxSpineClient implements SpineClientContract {
     @Value("classpath:mock-spine/upload-scr/pollingSuccess.txt")
     private Resource pollingSuccess;
 
-    private final ScrConfiguration scrConfiguration;
     private final XmlUtils xmlUtils;
 
     @SneakyThrows
-    @Override
-    public Response<Document> sendAcsData(String requestBody, String nhsdAsid) {
+    public Response<Document> acsData(String requestBody) {
         Document document = parseXml(requestBody);
         String nhsNumber = xmlUtils.getValueByXPath(document, SET_ACS_NHS_NUMBER_XPATH);
         if (EXISTING_NHS_NUMBER.equals(nhsNumber)) {
@@ -72,30 +62,23 @@ public class SandboxSpineClient implements SpineClientContract {
         }
     }
 
-    @SneakyThrows
-    @Override
-    public Response<String> sendScrData(String requestBody, String nhsdAsid, String nhsdIdentity, String nhsdSessionUrid) {
+    public Response<String> scrData() {
         Header[] headers = {
             new BasicHeader(CONTENT_LOCATION, ""),
             new BasicHeader(RETRY_AFTER, "100")
         };
-        sleep(scrConfiguration.getSandboxDelay());
         return new Response<>(ACCEPTED.value(), headers, null);
     }
 
-    @Override
     @SneakyThrows
-    public ProcessingResult getScrProcessingResult(String contentLocation, long initialWaitTime, String nhsdAsid,
-                                                   String nhsdIdentity, String nhsdSessionUrid) {
-        sleep(scrConfiguration.getSandboxDelay());
-        String responseBody = getResourceAsString(pollingSuccess);
-        return ProcessingResult.parseProcessingResult(responseBody);
+    public ProcessingResult processingResult() {
+        try (var responseBody = pollingSuccess.getInputStream()) {
+            return ProcessingResultReader.read(responseBody);
+        }
     }
 
     @SneakyThrows
-    @Override
-    public Response<Document> sendGetScrId(String requestBody, String nhsdAsid) {
-        sleep(scrConfiguration.getSandboxDelay());
+    public Response<Document> scrId(String requestBody) {
         Document document = parseXml(requestBody);
         String nhsNumber = xmlUtils.getValueByXPath(document, GET_SCR_ID_NHS_NUMBER_XPATH);
 
@@ -107,29 +90,20 @@ public class SandboxSpineClient implements SpineClientContract {
         }
     }
 
-    @SneakyThrows
-    @Override
-    public Response<Document> sendGetScr(String requestBody, String nhsdAsid) {
-        sleep(scrConfiguration.getSandboxDelay());
+    public Response<Document> scr() {
         return new Response<>(OK.value(), null, getResourceAsXmlDocument(getScrSuccess));
     }
 
-    @Override
-    public Response<String> sendAlert(String requestBody, String nhsdAsid, String nhsdIdentity, String nhsdSessionUrid) {
+    public Response<String> alert() {
         return new Response<>(OK.value(), null, null);
     }
 
-    @SneakyThrows
-    private static String getResourceAsString(Resource resource) {
-        return IOUtils.toString(resource.getInputStream(), UTF_8);
-    }
-
     @SneakyThrows
     private static Document getResourceAsXmlDocument(Resource resource) {
-        return documentBuilder().parse(resource.getInputStream());
+        return parseDocument(resource.getInputStream());
     }
 
-    private Document parseXml(String requestBody) throws SAXException, IOException {
-        return documentBuilder().parse(new InputSource(new StringReader(requestBody)));
+    private Document parseXml(String requestBody) {
+        return parseDocument(requestBody);
     }
 }
@@ -0,0 +1,134 @@
+package uk.nhs.adaptors.scr.clients.spine;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient.Response;
+import uk.nhs.adaptors.scr.config.SpineConfiguration;
+import uk.nhs.adaptors.scr.exceptions.NoSpineResultException;
+import uk.nhs.adaptors.scr.exceptions.SpineCallRejectedException;
+import uk.nhs.adaptors.scr.exceptions.UnexpectedSpineResponseException;
+import uk.nhs.adaptors.scr.models.ProcessingResult;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
+import static org.springframework.http.HttpStatus.ACCEPTED;
+import static org.springframework.http.HttpStatus.OK;
+import static uk.nhs.adaptors.scr.logging.MdcPropagation.withMdc;
+
+/**
+ * Polls Spine's Content-Location for SCR upload results. All outstanding polls share one hashed timer wheel, so a pending
+ * upload costs a timer entry rather than a sleeping thread. Each poll fires when the last Retry-After is due and the
+ * returned future completes once Spine answers 200, fails or scrResultRepeatTimeout elapses after the first poll. A 200 body is read by
+ * {@link ProcessingResultReader} straight from the received bytes. A poll rejected by {@link SpineCallGuard} is tried again
+ * after its Retry-After rather than failing an upload Spine has already accepted.
+ */
+@Component
+@Slf4j
+public class ScrProcessingResultPoller implements DisposableBean {
+
+    private static final long TICK_DURATION_MS = 10;
+    private static final String THREAD_NAME = "scr-result-poller";
+
+    private final SpineConfiguration spineConfiguration;
+    private final HashedWheelTimer timer;
+
+    @Autowired
+    public ScrProcessingResultPoller(SpineConfiguration spineConfiguration) {
+        this.spineConfiguration = spineConfiguration;
+        this.timer = new HashedWheelTimer(new DefaultThreadFactory(THREAD_NAME, true), TICK_DURATION_MS, MILLISECONDS);
+    }
+
+    public CompletableFuture<ProcessingResult> poll(long initialWaitTime, Supplier<CompletableFuture<Response<byte[]>>> pollRequest) {
+        LOGGER.info("Starting polling result. First request in {}ms", initialWaitTime);
+        var deadline = System.currentTimeMillis() + initialWaitTime + spineConfiguration.getScrResultRepeatTimeout();
+        var poll = new Poll(pollRequest, deadline);
+        poll.schedule(initialWaitTime);
+        return poll.result;
+    }
+
+    @Override
+    public void destroy() {
+        timer.stop();
+    }
+
+    private final class Poll {
+        private final Supplier<CompletableFuture<Response<byte[]>>> pollRequest;
+        private final long deadline;
+        private final CompletableFuture<ProcessingResult> result = new CompletableFuture<>();
+        private int retryCount;
+
+        private Poll(Supplier<CompletableFuture<Response<byte[]>>> pollRequest, long deadline) {
+            this.pollRequest = pollRequest;
+            this.deadline = deadline;
+        }
+
+        private void schedule(long delay) {
+            Runnable send = withMdc(this::send);
+            timer.newTimeout(timeout -> send.run(), delay, MILLISECONDS);
+        }
+
+        private void send() {
+            if (result.isDone()) {
+                return;
+            }
+            LOGGER.info("Fetching SCR processing result. RetryCount={}", retryCount);
+            CompletableFuture<Response<byte[]>> response;
+            try {
+                response = pollRequest.get();
+            } catch (RuntimeException e) {
+                LOGGER.error("Unable to send polling request", e);
+                result.completeExceptionally(e);
+                return;
+            }
+            response
+                .thenApply(withMdc(this::handleResponse))
+                .exceptionally(withMdc(error -> {
+                    handleError(error instanceof CompletionException ? error.getCause() : error);
+                    return null;
+                }));
+        }
+
+        private void handleError(Throwable error) {
+            if (error instanceof SpineCallRejectedException && System.currentTimeMillis() < deadline) {
+                var retryAfter = SECONDS.toMillis(((SpineCallRejectedException) error).getRetryAfter());
+                LOGGER.info("Polling request rejected, Spine is already busy. NextRetry in {}ms", retryAfter);
+                schedule(retryAfter);
+            } else {
+                result.completeExceptionally(error);
+            }
+        }
+
+        private Void handleResponse(Response<byte[]> response) {
+            int statusCode = response.getStatusCode();
+            if (statusCode == OK.value()) {
+                LOGGER.info("{} processing result received.", statusCode);
+                result.complete(ProcessingResultReader.read(new ByteArrayInputStream(response.getBody())));
+            } else if (statusCode == ACCEPTED.value()) {
+                var nextRetryAfter = Long.parseLong(SpineHttpClient.getHeader(response.getHeaders(), RETRY_AFTER));
+                if (System.currentTimeMillis() >= deadline) {
+                    LOGGER.info("{} received. Polling timed out after {} retries", statusCode, retryCount);
+                    result.completeExceptionally(new NoSpineResultException(nextRetryAfter));
+                } else {
+                    LOGGER.info("{} received. NextRetry in {}ms", statusCode, nextRetryAfter);
+                    retryCount++;
+                    schedule(nextRetryAfter);
+                }
+            } else {
+                LOGGER.error("Unexpected spine polling response: {} {}", statusCode, new String(response.getBody(), UTF_8));
+                throw new UnexpectedSpineResponseException("Unexpected spine polling response " + statusCode);
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package uk.nhs.adaptors.scr.clients.spine;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.w3c.dom.Document;
+import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient.Response;
+import uk.nhs.adaptors.scr.config.SpineConfiguration;
+import uk.nhs.adaptors.scr.exceptions.UnexpectedSpineResponseException;
+import uk.nhs.adaptors.scr.models.ProcessingResult;
+import uk.nhs.adaptors.scr.utils.FilledTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpMethod.POST;
+import static org.springframework.http.HttpStatus.ACCEPTED;
+import static org.springframework.http.HttpStatus.OK;
+import static org.springframework.http.MediaType.TEXT_XML_VALUE;
+import static uk.nhs.adaptors.scr.clients.spine.SpineInteraction.ACS;
+import static uk.nhs.adaptors.scr.clients.spine.SpineInteraction.ALERT;
+import static uk.nhs.adaptors.scr.clients.spine.SpineInteraction.POLLING;
+import static uk.nhs.adaptors.scr.clients.spine.SpineInteraction.PSIS_QUERY;
+import static uk.nhs.adaptors.scr.clients.spine.SpineInteraction.UPLOAD;
+import static uk.nhs.adaptors.scr.config.ConversationIdFilter.CORRELATION_ID_MDC_KEY;
+import static uk.nhs.adaptors.scr.config.RequestIdFilter.REQUEST_ID_MDC_KEY;
+import static uk.nhs.adaptors.scr.consts.SpineHttpHeaders.NHSD_ASID;
+import static uk.nhs.adaptors.scr.consts.SpineHttpHeaders.NHSD_CORRELATION_ID;
+import static uk.nhs.adaptors.scr.consts.SpineHttpHeaders.NHSD_IDENTITY;
+import static uk.nhs.adaptors.scr.consts.SpineHttpHeaders.NHSD_REQUEST_ID;
+import static uk.nhs.adaptors.scr.consts.SpineHttpHeaders.NHSD_SESSION_URID;
+import static uk.nhs.adaptors.scr.consts.SpineHttpHeaders.SOAP_ACTION;
+import static uk.nhs.adaptors.scr.controllers.FhirMediaTypes.APPLICATION_FHIR_JSON_VALUE;
+import static uk.nhs.adaptors.scr.mappings.from.hl7.HtmlParser.serialize;
+import static uk.nhs.adaptors.scr.utils.DocumentBuilderUtil.parseDocument;
+import static uk.nhs.adaptors.scr.utils.FutureUtils.cancelSourceOnCancel;
+
+/**
+ * Spine client built on {@link SpineAsyncHttpClient}. Headers that depend on the MDC are resolved on the calling thread
+ * before the request is sent. PSIS queries are hedged by
+ * {@link SpineQueryHedger}.
+ */
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@Slf4j
+public class SpineAsyncClient implements SpineAsyncClientContract {
+
+    static final String UPLOAD_SCR_SOAP_ACTION = "urn:nhs:names:services:psis/REPC_IN150016SM05";
+    static final String UPLOAD_SCR_CONTENT_TYPE =
+            "multipart/related; boundary=\"--=_MIME-Boundary\"; type=\"text/xml\"; start=\"<ebXMLHeader@spine.nhs.uk>\"";
+    static final String PSIS_EVENT_LIST_QUERY = "urn:nhs:names:services:psisquery/QUPC_IN180000SM04";
+    static final String SET_PERMISSION_SOAP_ACTION = "urn:nhs:names:services:lrs/SET_RESOURCE_PERMISSIONS_INUK01";
+    static final String PSIS_EVENT_QUERY_SOAP_ACTION = "urn:nhs:names:services:psisquery/QUPC_IN190000UK04";
+    private static final String JSON_BODY = "Body: {}";
+    private static final String JSON_RECEIVED = "Received Spine {} interaction response: HTTP status {}";
+
+    private final SpineConfiguration spineConfiguration;
+    private final SpineAsyncHttpClient spineAsyncHttpClient;
+    private final SpineQueryHedger spineQueryHedger;
+    private final ScrProcessingResultPoller scrProcessingResultPoller;
+
+    @Override
+    public CompletableFuture<Response<Document>> sendAcsData(String requestBody, String nhsdAsid) {
+        var url = spineConfiguration.getUrl() + spineConfiguration.getAcsEndpoint();
+        LOGGER.info("Sending ACS Set Permission Spine request. URL: {}", url);
+        LOGGER.debug(JSON_BODY, requestBody);
+        var headers = soapHeaders(SET_PERMISSION_SOAP_ACTION, TEXT_XML_VALUE);
+        headers.set(NHSD_ASID, nhsdAsid);
+
+        return spineAsyncHttpClient.sendRequest(ACS, POST, url, headers, requestBody, SpineAsyncClient::readXml)
+            .thenApply(response -> {
+                var statusCode = response.getStatusCode();
+                if (statusCode != OK.value()) {
+                    LOGGER.error("Unexpected spine ACS set permission response: {}", response);
+                    throw new UnexpectedSpineResponseException("Unexpected spine 'send data' response " + statusCode);
+                }
+                LOGGER.info(JSON_RECEIVED, SET_PERMISSION_SOAP_ACTION, statusCode);
+                return response;
+            });
+    }
+
+    @Override
+    public CompletableFuture<Response<String>> sendScrData(FilledTemplate requestBody, String nhsdAsid, String nhsdIdentity,
+                                                           String nhsdSessionUrid) {
+        var url = spineConfiguration.getUrl() + spineConfiguration.getScrEndpoint();
+        LOGGER.info("Sending SCR Upload request to SPINE. URL: {}", url);
+        LOGGER.debug(JSON_BODY, requestBody);
+        var headers = soapHeaders(UPLOAD_SCR_SOAP_ACTION, UPLOAD_SCR_CONTENT_TYPE);
+        headers.addAll(commonHeaders(nhsdAsid, nhsdIdentity, nhsdSessionUrid));
+
+        return spineAsyncHttpClient.sendTemplate(UPLOAD, POST, url, headers, requestBody, SpineAsyncClient::readString)
+            .thenApply(response -> {
+                var statusCode = response.getStatusCode();
+                if (statusCode != ACCEPTED.value()) {
+                    LOGGER.error("Unexpected spine SCR POST response: {} {}", statusCode, response.getBody());
+                    throw new UnexpectedSpineResponseException("Unexpected spine 'send data' response " + statusCode);
+                }
+                LOGGER.info(JSON_RECEIVED, UPLOAD_SCR_SOAP_ACTION, statusCode);
+                return response;
+            });
+    }
+
+    @Override
+    public CompletableFuture<ProcessingResult> getScrProcessingResult(String contentLocation, long initialWaitTime, String nhsdAsid,
+                                                                      String nhsdIdentity, String nhsdSessionUrid) {
+        var url = spineConfiguration.getUrl() + contentLocation;
+        var headers = commonHeaders(nhsdAsid, nhsdIdentity, nhsdSessionUrid);
+
+        return scrProcessingResultPoller.poll(initialWaitTime,
+            () -> spineAsyncHttpClient.sendRequest(POLLING, GET, url, headers, null, Function.identity()));
+    }
+
+    @Override
+    public CompletableFuture<Response<Document>> sendGetScrId(String requestBody, String nhsdAsid) {
+        LOGGER.info("Sending GET SCR ID Spine request");
+        LOGGER.debug(JSON_BODY, requestBody);
+        var url = spineConfiguration.getUrl() + spineConfiguration.getPsisQueriesEndpoint();
+        var headers = soapHeaders(PSIS_EVENT_LIST_QUERY, TEXT_XML_VALUE);
+
+        var query = spineQueryHedger.sendQuery(PSIS_EVENT_LIST_QUERY,
+            () -> spineAsyncHttpClient.sendRequest(PSIS_QUERY, POST, url, headers, requestBody, SpineAsyncClient::readXml));
+        var checkedResponse = query.thenApply(response -> {
+            var statusCode = response.getStatusCode();
+            if (statusCode != OK.value()) {
+                LOGGER.error("Unexpected spine GET SCR ID response: {} {}", statusCode, serialize(response.getBody()));
+                throw new UnexpectedSpineResponseException("Unexpected spine send response " + statusCode);
+            }
+            LOGGER.info(JSON_RECEIVED, PSIS_EVENT_LIST_QUERY, statusCode);
+            return response;
+        });
+        return cancelSourceOnCancel(checkedResponse, query);
+    }
+
+    @Override
+    public CompletableFuture<Response<Document>> sendGetScr(String requestBody, String nhsdAsid) {
+        return sendGetScrRaw(requestBody, nhsdAsid)
+            .thenApply(response -> new Response<>(response.getStatusCode(), response.getHeaders(), readXml(response.getBody())));
+    }
+
+    @Override
+    public CompletableFuture<Response<byte[]>> sendGetScrRaw(String requestBody, String nhsdAsid) {
+        var url = spineConfiguration.getUrl() + spineConfiguration.getPsisQueriesEndpoint();
+        LOGGER.info("Sending GET SCR Spine request. URL: {}", url);
+        LOGGER.debug(JSON_BODY, requestBody);
+        var headers = soapHeaders(PSIS_EVENT_QUERY_SOAP_ACTION, TEXT_XML_VALUE);
+        headers.set(NHSD_ASID, nhsdAsid);
+
+        return spineQueryHedger.sendQuery(PSIS_EVENT_QUERY_SOAP_ACTION,
+                () -> spineAsyncHttpClient.sendRequest(PSIS_QUERY, POST, url, headers, requestBody, body -> body))
+            .thenApply(response -> {
+                var statusCode = response.getStatusCode();
+                if (statusCode != OK.value()) {
+                    LOGGER.error("Unexpected spine GET SCR response: {} {}", statusCode, readString(response.getBody()));
+                    throw new UnexpectedSpineResponseException("Unexpected spine send response " + statusCode);
+                }
+                LOGGER.info(JSON_RECEIVED, PSIS_EVENT_QUERY_SOAP_ACTION, statusCode);
+                return response;
+            });
+    }
+
+    @Override
+    public CompletableFuture<Response<String>> sendAlert(String requestBody, String nhsdAsid, String nhsdIdentity,
+                                                         String nhsdSessionUrid) {
+        LOGGER.info("Sending ALERT Spine request");
+        LOGGER.debug(JSON_BODY, requestBody);
+        var url = spineConfiguration.getUrl() + spineConfiguration.getAlertEndpoint();
+        var headers = new HttpHeaders();
+        headers.set(CONTENT_TYPE, APPLICATION_FHIR_JSON_VALUE);
+        headers.addAll(commonHeaders(nhsdAsid, nhsdIdentity, nhsdSessionUrid));
+
+        return spineAsyncHttpClient.sendRequest(ALERT, POST, url, headers, requestBody, SpineAsyncClient::readString)
+            .thenApply(response -> {
+                LOGGER.info("Received Spine {} FHIR operation response: HTTP status {}", spineConfiguration.getAlertEndpoint(),
+                    response.getStatusCode());
+                return response;
+            });
+    }
+
+    private static HttpHeaders soapHeaders(String soapAction, String contentType) {
+        var headers = new HttpHeaders();
+        headers.set(SOAP_ACTION, soapAction);
+        headers.set(CONTENT_TYPE, contentType);
+        return headers;
+    }
+
+    private static HttpHeaders commonHeaders(String nhsdAsid, String nhsdIdentity, String nhsdSessionUrid) {
+        var headers = new HttpHeaders();
+        headers.set(NHSD_ASID, nhsdAsid);
+        headers.set(NHSD_IDENTITY, nhsdIdentity);
+        headers.set(NHSD_SESSION_URID, nhsdSessionUrid);
+        headers.set(NHSD_CORRELATION_ID, MDC.get(CORRELATION_ID_MDC_KEY));
+        headers.set(NHSD_REQUEST_ID, MDC.get(REQUEST_ID_MDC_KEY));
+        return headers;
+    }
+
+    private static Document readXml(byte[] body) {
+        return parseDocument(new ByteArrayInputStream(body));
+    }
+
+    private static String readString(byte[] body) {
+        return new String(body, UTF_8);
+    }
+}
@@ -0,0 +1,23 @@
+package uk.nhs.adaptors.scr.clients.spine;
+
+import org.w3c.dom.Document;
+import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient.Response;
+import uk.nhs.adaptors.scr.models.ProcessingResult;
+import uk.nhs.adaptors.scr.utils.FilledTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking Spine client. Returned futures complete once Spine has responded, no thread is held while waiting.
+ */
+public interface SpineAsyncClientContract {
+    CompletableFuture<Response<Document>> sendAcsData(String requestBody, String nhsdAsid);
+    CompletableFuture<Response<String>> sendScrData(FilledTemplate requestBody, String nhsdAsid, String nhsdIdentity,
+                                                    String nhsdSessionUrid);
+    CompletableFuture<ProcessingResult> getScrProcessingResult(String contentLocation, long initialWaitTime, String nhsdAsid,
+                                                               String nhsdIdentity, String nhsdSessionUrid);
+    CompletableFuture<Response<Document>> sendGetScrId(String requestBody, String nhsdAsid);
+    CompletableFuture<Response<Document>> sendGetScr(String requestBody, String nhsdAsid);
+    CompletableFuture<Response<byte[]>> sendGetScrRaw(String requestBody, String nhsdAsid);
+    CompletableFuture<Response<String>> sendAlert(String requestBody, String nhsdAsid, String nhsdIdentity, String nhsdSessionUrid);
+}
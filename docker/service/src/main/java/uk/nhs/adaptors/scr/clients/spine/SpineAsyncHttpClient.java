@@ -0,0 +1,138 @@
+package uk.nhs.adaptors.scr.clients.spine;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.Header;
+import org.apache.http.message.BasicHeader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ReactiveHttpOutputMessage;
+import org.springframework.http.client.reactive.ClientHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient.Response;
+import uk.nhs.adaptors.scr.config.SpineWebClients;
+import uk.nhs.adaptors.scr.exceptions.ScrBaseException;
+import uk.nhs.adaptors.scr.exceptions.SpineCallRejectedException;
+import uk.nhs.adaptors.scr.logging.LogExecutionTime;
+import uk.nhs.adaptors.scr.utils.FilledTemplate;
+
+import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+
+/**
+ * Non-blocking Spine HTTP client. No thread is held while waiting for Spine. Responses are read into memory and handed
+ * to the body reader on the parallel scheduler, so CPU heavy continuations such as HL7 mapping never run on the network
+ * event loop. Cancelling a returned future disposes the exchange.
+ */
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@Slf4j
+public class SpineAsyncHttpClient {
+
+    private static final byte[] EMPTY_BODY = new byte[0];
+    private static final int TEMPLATE_CHUNK_SIZE = 8192;
+
+    private final SpineWebClients spineWebClients;
+    private final SpineCallGuard spineCallGuard;
+
+    @LogExecutionTime
+    public <T> CompletableFuture<Response<T>> sendRequest(SpineInteraction interaction, HttpMethod method, String url,
+                                                          HttpHeaders headers, String body, Function<byte[], T> bodyReader) {
+        var requestBody = body == null ? null : BodyInserters.fromValue(body.getBytes(UTF_8));
+        return exchange(interaction, method, url, headers, requestBody, bodyReader);
+    }
+
+    /**
+     * Sends the filled template as the request body. It is rendered as UTF-8 on the parallel scheduler rather than the
+     * network event loop, into buffers of TEMPLATE_CHUNK_SIZE bytes which are passed to the connection as each one fills.
+     * Rendering does not wait for the connection, so when Spine reads slower than the template renders the chunks are
+     * queued and the whole message may still be held in memory until it is written.
+     */
+    @LogExecutionTime
+    public <T> CompletableFuture<Response<T>> sendTemplate(SpineInteraction interaction, HttpMethod method, String url,
+                                                           HttpHeaders headers, FilledTemplate body, Function<byte[], T> bodyReader) {
+        return exchange(interaction, method, url, headers, render(body), bodyReader);
+    }
+
+    private <T> CompletableFuture<Response<T>> exchange(SpineInteraction interaction, HttpMethod method, String url, HttpHeaders headers,
+                                                        BodyInserter<?, ? super ClientHttpRequest> body, Function<byte[], T> bodyReader) {
+        LOGGER.debug("Attempting to send SPINE request: {} {}", method, url);
+        SpineCallGuard.Permit permit;
+        try {
+            permit = spineCallGuard.acquire(interaction);
+        } catch (SpineCallRejectedException e) {
+            return failedFuture(e);
+        }
+        CompletableFuture<Response<T>> future;
+        try {
+            var requestBodySpec = spineWebClients.getClient(interaction.getPool()).method(method)
+                .uri(url)
+                .headers(requestHeaders -> headers.forEach((name, values) -> values.stream()
+                    .filter(Objects::nonNull)
+                    .forEach(value -> requestHeaders.add(name, value))));
+            WebClient.RequestHeadersSpec<?> request = body == null ? requestBodySpec : requestBodySpec.body(body);
+
+            future = request.exchangeToMono(response -> response.bodyToMono(byte[].class)
+                    .defaultIfEmpty(EMPTY_BODY)
+                    .publishOn(Schedulers.parallel())
+                    .map(responseBody -> new Response<>(response.rawStatusCode(), getHeaders(response), bodyReader.apply(responseBody))))
+                .onErrorMap(e -> !(e instanceof ScrBaseException), e -> {
+                    LOGGER.error("Error while sending SPINE request", e);
+                    return new ScrBaseException("Unexpected exception while sending Spine request", e);
+                })
+                .toFuture();
+        } catch (RuntimeException e) {
+            // nothing was sent, so the request counts towards neither the limit nor the circuit breaker
+            permit.cancel();
+            LOGGER.error("Unable to build SPINE request", e);
+            return failedFuture(new ScrBaseException("Unexpected exception while sending Spine request", e));
+        }
+        future.whenComplete((response, error) -> {
+            if (error instanceof CancellationException) {
+                // cancelled by the caller, such as the losing request of a hedged query, so Spine did not fail it
+                permit.cancel();
+            } else {
+                permit.release(error == null && SpineCallGuard.isSuccessStatus(response.getStatusCode()));
+            }
+        });
+        return future;
+    }
+
+    private static BodyInserter<FilledTemplate, ReactiveHttpOutputMessage> render(FilledTemplate template) {
+        return (message, context) -> message.writeWith(Flux.<DataBuffer>create(sink -> {
+            var output = new DataBufferChunkOutputStream(message.bufferFactory(), TEMPLATE_CHUNK_SIZE, sink::next);
+            try {
+                template.writeTo(new OutputStreamWriter(output, UTF_8));
+                output.close();
+                sink.complete();
+            } catch (RuntimeException e) {
+                output.discard();
+                sink.error(e);
+            }
+        })
+            .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+            .subscribeOn(Schedulers.parallel()));
+    }
+
+    private static Header[] getHeaders(ClientResponse response) {
+        var headers = new ArrayList<Header>();
+        response.headers().asHttpHeaders().forEach((name, values) -> values.forEach(value -> headers.add(new BasicHeader(name, value))));
+        return headers.toArray(new Header[0]);
+    }
+}
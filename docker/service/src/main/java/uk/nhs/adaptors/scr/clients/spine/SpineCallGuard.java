@@ -0,0 +1,151 @@
+package uk.nhs.adaptors.scr.clients.spine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import uk.nhs.adaptors.scr.config.SpineLimiterConfig;
+import uk.nhs.adaptors.scr.exceptions.SpineCallRejectedException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.springframework.http.HttpStatus.INTERNAL_SERVER_ERROR;
+
+/**
+ * Admits Spine requests through an adaptive concurrency limit and a circuit breaker per {@link SpineInteraction}. A
+ * request over the limit, or of an interaction whose circuit is open, is rejected with
+ * {@link SpineCallRejectedException} straight away instead of queueing for a pooled connection. Responses failing with
+ * an error or a 5xx status count as failures. Limits and circuit states are published as {@code spine.limiter.*} and
+ * {@code spine.circuit.state} gauges.
+ */
+@Component
+@Slf4j
+public class SpineCallGuard {
+
+    private static final Permit NO_PERMIT = new Permit() {
+        @Override
+        public void release(boolean succeeded) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    };
+
+    private final SpineLimiterConfig config;
+    private final Map<SpineInteraction, Guard> guards = new EnumMap<>(SpineInteraction.class);
+
+    @Autowired
+    public SpineCallGuard(SpineLimiterConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        for (var interaction : SpineInteraction.values()) {
+            guards.put(interaction, new Guard(interaction, meterRegistry));
+        }
+    }
+
+    /**
+     * Takes a permit to send a request of the given interaction. It has to be released once the response, or the error,
+     * is received.
+     *
+     * @throws SpineCallRejectedException if the request must not be sent now
+     */
+    public Permit acquire(SpineInteraction interaction) {
+        if (!config.isEnabled()) {
+            return NO_PERMIT;
+        }
+        return guards.get(interaction).acquire();
+    }
+
+    public static boolean isSuccessStatus(int statusCode) {
+        return statusCode < INTERNAL_SERVER_ERROR.value();
+    }
+
+    /**
+     * Permission to send one Spine request.
+     */
+    public interface Permit {
+        void release(boolean succeeded);
+
+        /**
+         * Gives the permit back without the request counting as a success or a failure, e.g. when it was aborted.
+         */
+        void cancel();
+    }
+
+    private final class Guard {
+        private final SpineInteraction interaction;
+        private final AimdLimit limit;
+        private final CircuitBreaker circuitBreaker;
+        private final Counter limitRejections;
+        private final Counter circuitRejections;
+
+        private Guard(SpineInteraction interaction, MeterRegistry meterRegistry) {
+            this.interaction = interaction;
+            this.limit = new AimdLimit(config.getInitialLimit(), config.getMinLimit(), config.getMaxLimit(),
+                config.getBackoffRatio(), MILLISECONDS.toNanos(config.getLatencyThreshold()));
+            this.circuitBreaker = new CircuitBreaker(interaction.name(), config.getFailureThreshold(),
+                MILLISECONDS.toNanos(config.getOpenDuration()), System::nanoTime);
+
+            var tag = interaction.name();
+            Gauge.builder("spine.limiter.limit", limit, AimdLimit::getLimit)
+                .tag("interaction", tag)
+                .register(meterRegistry);
+            Gauge.builder("spine.limiter.in.flight", limit, AimdLimit::getInFlight)
+                .tag("interaction", tag)
+                .register(meterRegistry);
+            Gauge.builder("spine.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .tag("interaction", tag)
+                .description("0 - closed, 1 - open, 2 - half open")
+                .register(meterRegistry);
+            this.limitRejections = Counter.builder("spine.limiter.rejected")
+                .tags("interaction", tag, "reason", "limit")
+                .register(meterRegistry);
+            this.circuitRejections = Counter.builder("spine.limiter.rejected")
+                .tags("interaction", tag, "reason", "circuit")
+                .register(meterRegistry);
+        }
+
+        private Permit acquire() {
+            if (!limit.tryAcquire()) {
+                limitRejections.increment();
+                LOGGER.warn("Rejecting {} Spine request, {} requests already in flight", interaction, limit.getInFlight());
+                throw new SpineCallRejectedException("Too many Spine requests in progress", config.getRetryAfter());
+            }
+            var admission = circuitBreaker.tryAcquire();
+            if (admission == CircuitBreaker.Admission.REJECTED) {
+                limit.cancel();
+                circuitRejections.increment();
+                LOGGER.warn("Rejecting {} Spine request, circuit breaker is open", interaction);
+                var retryAfter = Math.max(1, NANOSECONDS.toSeconds(circuitBreaker.getRemainingOpenNanos() + SECONDS.toNanos(1) - 1));
+                throw new SpineCallRejectedException("Spine is currently failing to respond", retryAfter);
+            }
+
+            var start = System.nanoTime();
+            var released = new AtomicBoolean();
+            return new Permit() {
+                @Override
+                public void release(boolean succeeded) {
+                    if (released.compareAndSet(false, true)) {
+                        circuitBreaker.release(admission, succeeded);
+                        limit.release(System.nanoTime() - start, succeeded);
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    if (released.compareAndSet(false, true)) {
+                        circuitBreaker.cancel(admission);
+                        limit.cancel();
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package uk.nhs.adaptors.scr.clients.spine;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Kinds of Spine request, each admitted by its own concurrency limit and circuit breaker and sent through the
+ * connection pool of its {@link SpinePool}.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum SpineInteraction {
+    PSIS_QUERY(SpinePool.QUERY),
+    UPLOAD(SpinePool.UPLOAD),
+    POLLING(SpinePool.UPLOAD),
+    ACS(SpinePool.ACS_ALERT),
+    ALERT(SpinePool.ACS_ALERT);
+
+    private final SpinePool pool;
+}
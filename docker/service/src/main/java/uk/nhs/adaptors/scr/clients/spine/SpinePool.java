@@ -0,0 +1,11 @@
+package uk.nhs.adaptors.scr.clients.spine;
+
+/**
+ * Separately sized Spine connection pools, so that a backlog of one kind of traffic cannot hold the connections another
+ * kind needs. Reads a clinician waits for never queue behind uploads and their polling loops.
+ */
+public enum SpinePool {
+    QUERY,
+    UPLOAD,
+    ACS_ALERT
+}
@@ -0,0 +1,236 @@
+package uk.nhs.adaptors.scr.clients.spine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient.Response;
+import uk.nhs.adaptors.scr.config.SpineHedgingConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static uk.nhs.adaptors.scr.logging.MdcPropagation.withMdc;
+
+/**
+ * Hedges read-only PSIS queries sent through {@link SpineAsyncHttpClient} when {@code spine.hedging.enabled} is set. A
+ * query that has not been answered within the {@code spine.hedging.percentile} of recent latencies of its SOAP action is
+ * sent a second time, on another pooled connection. The first answer, any response but a 5xx, is returned and the other
+ * request is cancelled, which disposes its exchange and gives its permit back. Hedges are paid for from a budget every
+ * query adds {@code spine.hedging.budget} to and are limited to {@code spine.hedging.maxConcurrentHedges} in flight, so
+ * they cannot double the load on a struggling Spine. Cancelling the returned future cancels every request in flight.
+ * Counted by the {@code spine.hedge.*} counters, tagged by SOAP action.
+ */
+@Component
+@Slf4j
+public class SpineQueryHedger implements DisposableBean {
+
+    static final String QUERIES = "spine.hedge.queries";
+    static final String SENT = "spine.hedge.sent";
+    static final String WON = "spine.hedge.won";
+    static final String SKIPPED = "spine.hedge.skipped";
+
+    private final SpineHedgingConfig config;
+    private final MeterRegistry meterRegistry;
+    private final ScheduledThreadPoolExecutor hedgeTimer;
+    private final AtomicInteger hedgesInFlight = new AtomicInteger();
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    private double budget;
+
+    @Autowired
+    public SpineQueryHedger(SpineHedgingConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        var threadFactory = new CustomizableThreadFactory("spine-hedge-timer-");
+        threadFactory.setDaemon(true);
+        this.hedgeTimer = new ScheduledThreadPoolExecutor(1, threadFactory);
+        this.hedgeTimer.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Sends the PSIS query with the given SOAP action. The request is sent again for the hedge, so it must return a new
+     * exchange with {@link SpineAsyncHttpClient} on every call.
+     */
+    public <T> CompletableFuture<Response<T>> sendQuery(String soapAction, Supplier<CompletableFuture<Response<T>>> request) {
+        if (!config.isEnabled()) {
+            return request.get();
+        }
+
+        var latency = latencies.computeIfAbsent(soapAction,
+            key -> new LatencyWindow(config.getLatencyWindow(), config.getPercentile(), config.getMinSamples()));
+        counter(QUERIES, soapAction).increment();
+        earnBudget();
+
+        var query = new HedgedQuery<T>();
+        query.result.whenComplete((response, error) -> {
+            if (error instanceof CancellationException) {
+                // nobody waits for the answer any more
+                query.cancelRequests();
+            }
+        });
+        var hedgeDelay = latency.getPercentile();
+        if (hedgeDelay.isPresent()) {
+            var scheduledHedge = hedgeTimer.schedule(withMdc(() -> hedge(query, request, soapAction, latency)),
+                Math.max(hedgeDelay.getAsLong(), MILLISECONDS.toNanos(config.getMinDelay())), NANOSECONDS);
+            query.result.whenComplete((response, error) -> scheduledHedge.cancel(false));
+        }
+
+        send(query, request, latency, null);
+        return query.result;
+    }
+
+    private <T> void hedge(HedgedQuery<T> query, Supplier<CompletableFuture<Response<T>>> request, String soapAction,
+                           LatencyWindow latency) {
+        if (query.result.isDone()) {
+            return;
+        }
+        if (!spendBudget()) {
+            counter(SKIPPED, soapAction, "reason", "budget").increment();
+            return;
+        }
+        if (hedgesInFlight.incrementAndGet() > config.getMaxConcurrentHedges()) {
+            hedgesInFlight.decrementAndGet();
+            counter(SKIPPED, soapAction, "reason", "capacity").increment();
+            return;
+        }
+        LOGGER.info("Spine {} query not answered in time, sending a hedged request", soapAction);
+        counter(SENT, soapAction).increment();
+        send(query, request, latency, soapAction)
+            .whenComplete((response, error) -> hedgesInFlight.decrementAndGet());
+    }
+
+    /**
+     * Sends one request of the query. The SOAP action is only given for the hedge, to count it when it wins.
+     */
+    private <T> CompletableFuture<Response<T>> send(HedgedQuery<T> query, Supplier<CompletableFuture<Response<T>>> request,
+                                                    LatencyWindow latency, String hedgeSoapAction) {
+        var start = System.nanoTime();
+        CompletableFuture<Response<T>> attempt;
+        try {
+            attempt = request.get();
+        } catch (RuntimeException e) {
+            attempt = CompletableFuture.failedFuture(e);
+        }
+        if (!query.start(attempt)) {
+            attempt.cancel(false);
+            return attempt;
+        }
+        var sent = attempt;
+        sent.whenComplete((response, error) -> {
+            if (error == null && SpineCallGuard.isSuccessStatus(response.getStatusCode())) {
+                latency.record(System.nanoTime() - start);
+                if (query.answer(sent, response) && hedgeSoapAction != null) {
+                    counter(WON, hedgeSoapAction).increment();
+                }
+            } else {
+                query.fail(response, error);
+            }
+        });
+        return sent;
+    }
+
+    private synchronized void earnBudget() {
+        budget = Math.min(config.getBudgetBurst(), budget + config.getBudget());
+    }
+
+    private synchronized boolean spendBudget() {
+        if (budget < 1) {
+            return false;
+        }
+        budget--;
+        return true;
+    }
+
+    private Counter counter(String name, String soapAction, String... tags) {
+        return Counter.builder(name)
+            .tag("soapAction", soapAction)
+            .tags(tags)
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        hedgeTimer.shutdownNow();
+    }
+
+    /**
+     * The requests sent for one query. Completed by the first answer, or by the last failure once every request failed.
+     */
+    private static final class HedgedQuery<T> {
+        private final CompletableFuture<Response<T>> result = new CompletableFuture<>();
+        private final List<CompletableFuture<Response<T>>> requests = new ArrayList<>();
+        private int inFlight;
+        private Response<T> failedResponse;
+        private Throwable error;
+
+        private synchronized boolean start(CompletableFuture<Response<T>> request) {
+            if (result.isDone()) {
+                return false;
+            }
+            requests.add(request);
+            inFlight++;
+            return true;
+        }
+
+        /**
+         * Returns whether the response is the answer to the query. The other requests are cancelled if it is.
+         */
+        private boolean answer(CompletableFuture<Response<T>> request, Response<T> response) {
+            if (!result.complete(response)) {
+                return false;
+            }
+            List<CompletableFuture<Response<T>>> others;
+            synchronized (this) {
+                others = new ArrayList<>(requests);
+            }
+            others.stream()
+                .filter(other -> other != request)
+                .forEach(other -> other.cancel(false));
+            return true;
+        }
+
+        private void cancelRequests() {
+            List<CompletableFuture<Response<T>>> inFlightRequests;
+            synchronized (this) {
+                inFlightRequests = new ArrayList<>(requests);
+            }
+            inFlightRequests.forEach(request -> request.cancel(false));
+        }
+
+        private void fail(Response<T> response, Throwable e) {
+            Response<T> lastResponse;
+            Throwable lastError;
+            synchronized (this) {
+                inFlight--;
+                if (response != null) {
+                    failedResponse = response;
+                } else if (error == null) {
+                    error = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                }
+                if (inFlight > 0) {
+                    return;
+                }
+                lastResponse = failedResponse;
+                lastError = error;
+            }
+            if (lastResponse != null) {
+                result.complete(lastResponse);
+            } else {
+                result.completeExceptionally(lastError);
+            }
+        }
+    }
+}
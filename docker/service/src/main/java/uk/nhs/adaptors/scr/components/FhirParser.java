@@ -1,13 +1,19 @@
 package uk.nhs.adaptors.scr.components;
 
 import ca.uhn.fhir.context.FhirContext;
-import ca.uhn.fhir.parser.IParser;
+import ca.uhn.fhir.parser.JsonParser;
 import ca.uhn.fhir.parser.StrictErrorHandler;
+import ca.uhn.fhir.parser.json.jackson.JacksonStructure;
+import lombok.SneakyThrows;
 import org.hl7.fhir.instance.model.api.IBaseResource;
 import org.springframework.stereotype.Component;
 import uk.nhs.adaptors.scr.exceptions.FhirValidationException;
 import uk.nhs.adaptors.scr.logging.LogExecutionTime;
 
+import java.io.FilterWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Matcher;
@@ -15,18 +21,20 @@ import java.util.regex.Pattern;
 
 /**
  * Main class to parse JSON FHIR payloads.
- * Also used to perform string replacement on the final JSON output, where necessary.
+ * Also used to perform string replacement on the JSON output, where necessary.
  */
 @Component
 public class FhirParser {
 
-    private final IParser jsonParser;
+    private static final Pattern START_WITHOUT_MONTH_SEPARATOR = Pattern.compile("\"start\":\"\\d{4}\\d{2}");
+
+    private final JsonParser jsonParser;
 
     public FhirParser() {
         FhirContext ctx = FhirContext.forR4();
         ctx.newJsonParser();
         ctx.setParserErrorHandler(new StrictErrorHandler());
-        jsonParser = ctx.newJsonParser();
+        jsonParser = (JsonParser) ctx.newJsonParser();
     }
 
     /**
@@ -34,13 +42,12 @@ public class FhirParser {
      * Specifically, year-month combination, which is invalid
      * in SCRs but occasionally present and needs to be preserved for clinical safety.
      * @param json
-     * @param regEx
+     * @param pattern
      * @return
      */
-    private List<String> findDateRegularExpression(String json, String regEx) {
+    private List<String> findDateRegularExpression(String json, Pattern pattern) {
 
         List<String> occurences = new ArrayList<>();
-        Pattern pattern = Pattern.compile(regEx);
         Matcher matcher = pattern.matcher(json);
         while (matcher.find()) {
             String str = matcher.group();
@@ -64,7 +71,7 @@ public class FhirParser {
     public <T extends IBaseResource> T parseResource(String body, Class<T> klass) {
         try {
 
-            List<String> dates = findDateRegularExpression(body, "\"start\":\"\\d{4}\\d{2}");
+            List<String> dates = findDateRegularExpression(body, START_WITHOUT_MONTH_SEPARATOR);
 
             if (!dates.isEmpty()) {
                 for (String date : dates) {
@@ -80,42 +87,50 @@ public class FhirParser {
 
     /**
      * Takes a resource (usually a bundle), and encodes it to JSON for FHIR output.
-     * Afterwards, two transformations occur. One to replace <td/> with <td></td> to help NMEs parse HTML.
-     * The next transformation is related to partial dates which may be present in the SCRs.
+     * Two transformations are applied to string values as they are written. One replaces <td/> with <td></td> to help
+     * NMEs parse HTML.
+     * The other is related to partial dates which may be present in the SCRs.
      * Dates may be received in partial format, e.g. YYYY, YYYY-mm, which are invalid but we still need to preserve
      * them as-is for clinical safety. Due to limitations on the third party FHIR parser code, we instead allocate a
      * microsecond value to each type of partial date. 001, for years only precision amount, 002 for months precision
      * amount (meaning, year and month), and day precision is 003 (year, month, day with no time).
-     * This transformation finds the relevant microseconded datetime in JSON and replaces it with the date with original
-     * accuracy, before finally returning the output/JSON string FHIR bundle.
+     * The microseconded datetime is replaced with the date with original accuracy before it reaches the output, see
+     * {@link PartialDateJsonWriter}.
      * @param resource
      * @return
      */
     public String encodeToJson(IBaseResource resource) {
-        String output = jsonParser.setPrettyPrint(false).encodeResourceToString(resource);
-
-        output = output.replace("<td/>", "<td></td>");
+        var output = new StringWriter();
+        encodeToJson(resource, output);
+        return output.toString();
+    }
 
-        List<String> days = findDateRegularExpression(output, "\\d{1,4}\\-\\d{1,2}\\-\\d{2,4}T00:00:00.003");
-        List<String> months = findDateRegularExpression(output, "\\d{1,4}\\-\\d{1,2}\\-\\d{2,4}T00:00:00.002\\+\\d{2,2}:00");
-        List<String> years = findDateRegularExpression(output, "\\d{1,4}\\-\\d{1,2}\\-\\d{2,4}T00:00:00.001");
+    /**
+     * Same as {@link #encodeToJson(IBaseResource)}, but the JSON is written to the given writer while the resource is
+     * encoded. The writer is flushed, not closed.
+     * @param resource
+     * @param output
+     */
+    @SneakyThrows
+    public void encodeToJson(IBaseResource resource, Writer output) {
+        var writer = new PartialDateJsonWriter(new JacksonStructure().getJsonLikeWriter(new NonClosingWriter(output)));
+        jsonParser.setPrettyPrint(false);
+        jsonParser.encodeResourceToJsonLikeWriter(resource, writer);
+        writer.close();
+    }
 
-        int dayStringCutoff = 10;
-        for (String dayString : days) {
-            output = output.replace(dayString, dayString.substring(0, dayStringCutoff));
-        }
+    /**
+     * Lets HAPI close its JSON writer, which releases its buffers, without closing the writer it writes to.
+     */
+    private static class NonClosingWriter extends FilterWriter {
 
-        int monthStringCutoff = 7;
-        for (String monthString : months) {
-            output = output.replace(monthString, monthString.substring(0, monthStringCutoff));
+        NonClosingWriter(Writer out) {
+            super(out);
         }
 
-        int yearStringCutoff = 4;
-        for (String yearString : years) {
-            output = output.replace(yearString, yearString.substring(0, yearStringCutoff));
+        @Override
+        public void close() throws IOException {
+            flush();
         }
-
-        return output;
     }
-
 }
@@ -22,6 +22,7 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 import org.springframework.web.servlet.NoHandlerFoundException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 import uk.nhs.adaptors.scr.exceptions.OperationOutcomeError;
+import uk.nhs.adaptors.scr.exceptions.ServiceUnavailableException;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.ConstraintViolationException;
@@ -38,6 +39,7 @@ import static org.hl7.fhir.r4.model.OperationOutcome.IssueType.NOTSUPPORTED;
 import static org.hl7.fhir.r4.model.OperationOutcome.IssueType.VALUE;
 import static org.springframework.http.HttpHeaders.ALLOW;
 import static org.springframework.http.HttpHeaders.CONTENT_TYPE;
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
 import static org.springframework.http.HttpMethod.GET;
 import static org.springframework.http.HttpMethod.POST;
 import static org.springframework.http.HttpStatus.BAD_REQUEST;
@@ -56,7 +58,8 @@ public class OperationOutcomeExceptionHandler extends ResponseEntityExceptionHan
         "/DocumentReference", List.of(GET),
         "/$setPermission", List.of(POST),
         "/healthcheck", List.of(GET),
-        "/AuditEvent", List.of(POST)
+        "/AuditEvent", List.of(POST),
+        "/$upload-status", List.of(GET)
     );
 
     @Autowired
@@ -85,8 +88,10 @@ public class OperationOutcomeExceptionHandler extends ResponseEntityExceptionHan
     private String getAllowedMethods(WebRequest request) {
         HttpServletRequest servletReq = ((ServletWebRequest) request).getRequest();
         String requestURI = servletReq.getRequestURI();
-        return ALLOWED_METHODS.get(requestURI)
+        return ALLOWED_METHODS.entrySet()
             .stream()
+            .filter(entry -> requestURI.equals(entry.getKey()) || requestURI.startsWith(entry.getKey() + "/"))
+            .flatMap(entry -> entry.getValue().stream())
             .map(it -> it.name())
             .collect(joining(","));
     }
@@ -138,6 +143,13 @@ public class OperationOutcomeExceptionHandler extends ResponseEntityExceptionHan
         LOGGER.error("Error occurred: {}", ex.getMessage());
         OperationOutcome operationOutcome;
         HttpStatus httpStatus;
+        var headers = new HttpHeaders();
+        if (ex instanceof ServiceUnavailableException) {
+            Long retryAfter = ((ServiceUnavailableException) ex).getRetryAfter();
+            if (retryAfter != null) {
+                headers.set(RETRY_AFTER, String.valueOf(retryAfter));
+            }
+        }
         if (ex instanceof OperationOutcomeError) {
             OperationOutcomeError error = (OperationOutcomeError) ex;
             operationOutcome = error.getOperationOutcome();
@@ -146,7 +158,7 @@ public class OperationOutcomeExceptionHandler extends ResponseEntityExceptionHan
             operationOutcome = createOperationOutcome(EXCEPTION, ERROR, ex.getMessage());
             httpStatus = INTERNAL_SERVER_ERROR;
         }
-        return errorResponse(new HttpHeaders(), httpStatus, operationOutcome);
+        return errorResponse(headers, httpStatus, operationOutcome);
     }
 
     @Override
@@ -0,0 +1,223 @@
+package uk.nhs.adaptors.scr.components;
+
+import ca.uhn.fhir.parser.json.JsonLikeWriter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Wraps the writer HAPI encodes JSON with and rewrites string values before they are written: partial dates marked with
+ * .001 (year), .002 (year and month) or .003 (year, month and day) milliseconds get their original precision back and
+ * {@code <td/>} becomes {@code <td></td>}. Everything else is passed through unchanged.
+ *
+ * <p>Values are checked with {@link String#indexOf} first, so only the few that contain a marker go through the regular
+ * expression.
+ */
+class PartialDateJsonWriter extends JsonLikeWriter {
+
+    private static final String EMPTY_TD = "<td/>";
+    private static final String CLOSED_TD = "<td></td>";
+    private static final String MIDNIGHT = "T00:00:00";
+
+    /**
+     * Matches the dates the JSON output used to be searched for. Where that search allowed any character before the
+     * milliseconds, this one only allows characters that appear unescaped in the JSON output.
+     */
+    private static final Pattern PARTIAL_DATE = Pattern.compile(
+        "\\d{1,4}-\\d{1,2}-\\d{2,4}T00:00:00[^\\x00-\\x1F\"\\\\]00(?:(3)|(2)\\+\\d{2}:00|(1))");
+    private static final int DAY_GROUP = 1;
+    private static final int MONTH_GROUP = 2;
+    private static final int DAY_CUTOFF = 10;
+    private static final int MONTH_CUTOFF = 7;
+    private static final int YEAR_CUTOFF = 4;
+
+    private final JsonLikeWriter delegate;
+
+    PartialDateJsonWriter(JsonLikeWriter delegate) {
+        this.delegate = delegate;
+    }
+
+    static String rewrite(String value) {
+        if (value == null) {
+            return null;
+        }
+        if (value.contains(EMPTY_TD)) {
+            value = value.replace(EMPTY_TD, CLOSED_TD);
+        }
+        if (!value.contains(MIDNIGHT)) {
+            return value;
+        }
+
+        var matcher = PARTIAL_DATE.matcher(value);
+        if (!matcher.find()) {
+            return value;
+        }
+        var rewritten = new StringBuilder(value.length());
+        var end = 0;
+        do {
+            rewritten.append(value, end, matcher.start());
+            rewritten.append(value, matcher.start(), matcher.start() + cutoff(matcher.group(DAY_GROUP) != null,
+                matcher.group(MONTH_GROUP) != null));
+            end = matcher.end();
+        } while (matcher.find());
+        return rewritten.append(value, end, value.length()).toString();
+    }
+
+    private static int cutoff(boolean day, boolean month) {
+        if (day) {
+            return DAY_CUTOFF;
+        }
+        return month ? MONTH_CUTOFF : YEAR_CUTOFF;
+    }
+
+    @Override
+    public void setPrettyPrint(boolean prettyPrint) {
+        super.setPrettyPrint(prettyPrint);
+        delegate.setPrettyPrint(prettyPrint);
+    }
+
+    @Override
+    public JsonLikeWriter init() throws IOException {
+        delegate.init();
+        return this;
+    }
+
+    @Override
+    public JsonLikeWriter flush() throws IOException {
+        delegate.flush();
+        return this;
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    @Override
+    public JsonLikeWriter beginObject() throws IOException {
+        delegate.beginObject();
+        return this;
+    }
+
+    @Override
+    public JsonLikeWriter beginObject(String name) throws IOException {
+        delegate.beginObject(name);
+        return this;
+    }
+
+    @Override
+    public JsonLikeWriter beginArray(String name) throws IOException {
+        delegate.beginArray(name);
+        return this;
+    }
+
+    @Override
+    public JsonLikeWriter write(String value) throws IOException {
+        delegate.write(rewrite(value));
+        return this;
+    }
+
+    @Override
+    public JsonLikeWriter write(BigInteger value) throws IOException {
+        delegate.write(value);
+        return this;
+    }
+
+    @Override
+    public JsonLikeWriter write(BigDecimal value) throws IOException {
+        delegate.write(value);
+        return this;
+    }
+
+    @Override
+    public JsonLikeWriter write(long value) throws IOException {
+        delegate.write(value);
+        return this;
+    }
+
+    @Override
+    public JsonLikeWriter write(double value) throws IOException {
+        delegate.write(value);
+        return this;
+    }
+
+    @Override
+    public JsonLikeWriter write(Boolean value) throws IOException {
+        delegate.write(value);
+        return this;
+    }
+
+    @Override
+    public JsonLikeWriter write(boolean value) throws IOException {
+        delegate.write(value);
+        return this;
+    }
+
+    @Override
+    public JsonLikeWriter writeNull() throws IOException {
+        delegate.writeNull();
+        return this;
+    }
+
+    @Override
+    public JsonLikeWriter write(String name, String value) throws IOException {
+        delegate.write(name, rewrite(value));
+        return this;
+    }
+
+    @Override
+    public JsonLikeWriter write(String name, BigInteger value) throws IOException {
+        delegate.write(name, value);
+        return this;
+    }
+
+    @Override
+    public JsonLikeWriter write(String name, BigDecimal value) throws IOException {
+        delegate.write(name, value);
+        return this;
+    }
+
+    @Override
+    public JsonLikeWriter write(String name, long value) throws IOException {
+        delegate.write(name, value);
+        return this;
+    }
+
+    @Override
+    public JsonLikeWriter write(String name, double value) throws IOException {
+        delegate.write(name, value);
+        return this;
+    }
+
+    @Override
+    public JsonLikeWriter write(String name, Boolean value) throws IOException {
+        delegate.write(name, value);
+        return this;
+    }
+
+    @Override
+    public JsonLikeWriter write(String name, boolean value) throws IOException {
+        delegate.write(name, value);
+        return this;
+    }
+
+    @Override
+    public JsonLikeWriter endObject() throws IOException {
+        delegate.endObject();
+        return this;
+    }
+
+    @Override
+    public JsonLikeWriter endArray() throws IOException {
+        delegate.endArray();
+        return this;
+    }
+
+    @Override
+    public JsonLikeWriter endBlock() throws IOException {
+        delegate.endBlock();
+        return this;
+    }
+}
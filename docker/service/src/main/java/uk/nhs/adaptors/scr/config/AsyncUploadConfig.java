@@ -0,0 +1,18 @@
+package uk.nhs.adaptors.scr.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Component;
+
+@Component
+@Configuration
+@ConfigurationProperties(prefix = "scr.async-upload")
+@Getter
+@Setter
+public class AsyncUploadConfig {
+    private long jobRetention;
+    private long statusRetryAfter;
+    private long maxWait;
+}
@@ -0,0 +1,9 @@
+package uk.nhs.adaptors.scr.config;
+
+/**
+ * How PSIS event query responses are mapped to FHIR, see {@link uk.nhs.adaptors.scr.mappings.from.hl7.StreamingScrMapper}.
+ */
+public enum MappingEngine {
+    DOM,
+    STAX
+}
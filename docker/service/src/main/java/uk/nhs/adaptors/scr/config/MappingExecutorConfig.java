@@ -0,0 +1,16 @@
+package uk.nhs.adaptors.scr.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Component;
+
+@Component
+@Configuration
+@ConfigurationProperties(prefix = "scr.mapping-executor")
+@Getter
+@Setter
+public class MappingExecutorConfig {
+    private int parallelism;
+}
@@ -0,0 +1,39 @@
+package uk.nhs.adaptors.scr.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Fork-join pool the GP Summary sections of a GET /Bundle response are mapped on. Its parallelism bounds the number of
+ * threads mapping at once across all requests.
+ */
+@Configuration
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class MappingTaskExecutorConfig {
+
+    private static final String EXECUTOR_NAME = "scr.mapping";
+    private static final String THREAD_NAME_PREFIX = "scr-mapping-";
+
+    private final MappingExecutorConfig mappingExecutorConfig;
+
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool mappingExecutor() {
+        return new ForkJoinPool(mappingExecutorConfig.getParallelism(), pool -> {
+            var thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(THREAD_NAME_PREFIX + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    @Bean
+    public MeterBinder mappingExecutorMetrics(ForkJoinPool mappingExecutor) {
+        return registry -> new ExecutorServiceMetrics(mappingExecutor, EXECUTOR_NAME, List.of()).bindTo(registry);
+    }
+}
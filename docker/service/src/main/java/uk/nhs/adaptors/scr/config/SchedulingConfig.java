@@ -0,0 +1,12 @@
+package uk.nhs.adaptors.scr.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Runs {@code @Scheduled} housekeeping, such as purging expired upload jobs, on Spring Boot's default task scheduler.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,21 @@
+package uk.nhs.adaptors.scr.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Component;
+
+@Component
+@Configuration
+@ConfigurationProperties(prefix = "scr.cache")
+@Getter
+@Setter
+public class ScrCacheConfig {
+    private long scrEventMaxSize;
+    private long scrEventTtl;
+    private long eventListMaxSize;
+    private long eventListTtl;
+    private long uploadMaxSize;
+    private long uploadTtl;
+}
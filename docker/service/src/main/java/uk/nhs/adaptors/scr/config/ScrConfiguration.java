@@ -17,4 +17,5 @@ public class ScrConfiguration {
     private String baseUrl;
     private String serviceBasePath;
     private long sandboxDelay;
+    private MappingEngine mappingEngine = MappingEngine.DOM;
 }
@@ -1,56 +1,83 @@
 package uk.nhs.adaptors.scr.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import uk.nhs.adaptors.scr.clients.identity.IdentityServiceClient;
 import uk.nhs.adaptors.scr.clients.identity.IdentityServiceContract;
 import uk.nhs.adaptors.scr.clients.identity.SandboxIdentityServiceClient;
-import uk.nhs.adaptors.scr.clients.spine.SandboxSpineClient;
-import uk.nhs.adaptors.scr.clients.spine.SpineClient;
-import uk.nhs.adaptors.scr.clients.spine.SpineClientContract;
-import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient;
-import uk.nhs.adaptors.scr.clients.spine.SpineStringResponseHandler;
-import uk.nhs.adaptors.scr.clients.spine.SpineXmlResponseHandler;
+import uk.nhs.adaptors.scr.clients.spine.SandboxSpineAsyncClient;
+import uk.nhs.adaptors.scr.clients.spine.SandboxSpineResponses;
+import uk.nhs.adaptors.scr.clients.spine.ScrProcessingResultPoller;
+import uk.nhs.adaptors.scr.clients.spine.SpineAsyncClient;
+import uk.nhs.adaptors.scr.clients.spine.SpineAsyncClientContract;
+import uk.nhs.adaptors.scr.clients.spine.SpineAsyncHttpClient;
+import uk.nhs.adaptors.scr.clients.spine.SpineQueryHedger;
+import uk.nhs.adaptors.scr.services.InMemoryUploadIdempotencyStore;
+import uk.nhs.adaptors.scr.services.InMemoryUploadJobStore;
+import uk.nhs.adaptors.scr.services.UploadIdempotencyStore;
+import uk.nhs.adaptors.scr.services.UploadJobStore;
 import uk.nhs.adaptors.scr.utils.XmlUtils;
 
 @Configuration
 public class ScrSpringConfiguration {
 
     private final ScrConfiguration scrConfiguration;
-    private final SpineXmlResponseHandler xmlResponseHandler;
-    private final SpineStringResponseHandler stringResponseHandler;
-    private final SpineHttpClient spineHttpClient;
+    private final SpineQueryHedger spineQueryHedger;
+    private final SpineAsyncHttpClient spineAsyncHttpClient;
+    private final ScrProcessingResultPoller scrProcessingResultPoller;
     private final SpineConfiguration spineConfiguration;
     private final IdentityServiceConfiguration identityServiceConfiguration;
     private final XmlUtils xmlUtils;
 
     @Autowired
+    @SuppressWarnings("checkstyle:parameternumber")
     public ScrSpringConfiguration(ScrConfiguration scrConfiguration,
-                                  SpineXmlResponseHandler xmlResponseHandler,
-                                  SpineStringResponseHandler stringResponseHandler,
-                                  SpineHttpClient spineHttpClient,
+                                  SpineQueryHedger spineQueryHedger,
+                                  SpineAsyncHttpClient spineAsyncHttpClient,
+                                  ScrProcessingResultPoller scrProcessingResultPoller,
                                   SpineConfiguration spineConfiguration,
                                   IdentityServiceConfiguration identityServiceConfiguration,
                                   XmlUtils xmlUtils) {
         this.scrConfiguration = scrConfiguration;
-        this.xmlResponseHandler = xmlResponseHandler;
-        this.stringResponseHandler = stringResponseHandler;
-        this.spineHttpClient = spineHttpClient;
+        this.spineQueryHedger = spineQueryHedger;
+        this.spineAsyncHttpClient = spineAsyncHttpClient;
+        this.scrProcessingResultPoller = scrProcessingResultPoller;
         this.spineConfiguration = spineConfiguration;
         this.identityServiceConfiguration = identityServiceConfiguration;
         this.xmlUtils = xmlUtils;
     }
 
     @Bean
-    public SpineClientContract spineClient() {
+    public SpineAsyncClientContract spineAsyncClient() {
         if (scrConfiguration.getSandboxMode()) {
-            return new SandboxSpineClient(scrConfiguration, xmlUtils);
+            return new SandboxSpineAsyncClient(scrConfiguration, sandboxSpineResponses());
         } else {
-            return new SpineClient(spineConfiguration, spineHttpClient, stringResponseHandler, xmlResponseHandler);
+            return new SpineAsyncClient(spineConfiguration, spineAsyncHttpClient, spineQueryHedger, scrProcessingResultPoller);
         }
     }
 
+    @Bean
+    @Lazy
+    public SandboxSpineResponses sandboxSpineResponses() {
+        return new SandboxSpineResponses(xmlUtils);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(UploadJobStore.class)
+    public UploadJobStore uploadJobStore(AsyncUploadConfig asyncUploadConfig) {
+        return new InMemoryUploadJobStore(asyncUploadConfig);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(UploadIdempotencyStore.class)
+    public UploadIdempotencyStore uploadIdempotencyStore(ScrCacheConfig scrCacheConfig, MeterRegistry meterRegistry) {
+        return new InMemoryUploadIdempotencyStore(scrCacheConfig, meterRegistry);
+    }
+
     @Bean
     public IdentityServiceContract identityServiceClient() {
         if (scrConfiguration.getSandboxMode()) {
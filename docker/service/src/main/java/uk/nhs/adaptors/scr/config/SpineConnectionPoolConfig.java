@@ -5,6 +5,10 @@ import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.stereotype.Component;
+import uk.nhs.adaptors.scr.clients.spine.SpinePool;
+
+import java.util.EnumMap;
+import java.util.Map;
 
 @Component
 @Configuration
@@ -12,10 +16,23 @@ import org.springframework.stereotype.Component;
 @Getter
 @Setter
 public class SpineConnectionPoolConfig {
-    private int maxTotalConnections;
-    private int defaultKeepAliveTime;
     private int connectionTimeout;
-    private int requestTimeout;
-    private int socketTimeout;
     private int idleConnectionWaitTime;
+    private Map<SpinePool, Pool> pools = new EnumMap<>(SpinePool.class);
+
+    public Pool getPool(SpinePool pool) {
+        var poolConfig = pools.get(pool);
+        if (poolConfig == null) {
+            throw new IllegalStateException("Missing spine.connectionPool.pools configuration of " + pool + " pool");
+        }
+        return poolConfig;
+    }
+
+    @Getter
+    @Setter
+    public static class Pool {
+        private int maxConnections;
+        private int requestTimeout;
+        private int socketTimeout;
+    }
 }
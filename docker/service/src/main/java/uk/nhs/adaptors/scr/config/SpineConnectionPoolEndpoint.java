@@ -0,0 +1,72 @@
+package uk.nhs.adaptors.scr.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import uk.nhs.adaptors.scr.clients.spine.SpinePool;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Actuator view of the Spine WebClient connection pools, in total and per route, to size
+ * {@code spine.connectionPool.pools} from. reactor-netty applies the configured size to each route, so the total maximum
+ * is the sum over the routes opened so far.
+ */
+@Component
+@Endpoint(id = "spineConnectionPool")
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class SpineConnectionPoolEndpoint {
+
+    private final SpineConnectionPoolMetrics spineConnectionPoolMetrics;
+
+    @ReadOperation
+    public Map<SpinePool, ConnectionPool> connectionPools() {
+        var connectionPools = new EnumMap<SpinePool, ConnectionPool>(SpinePool.class);
+        for (var pool : SpinePool.values()) {
+            connectionPools.put(pool, connectionPool(spineConnectionPoolMetrics.getRoutes(pool)));
+        }
+        return connectionPools;
+    }
+
+    private static ConnectionPool connectionPool(Map<String, ConnectionPoolMetrics> poolRoutes) {
+        var routes = new TreeMap<String, Connections>();
+        var total = new Connections(0, 0, 0, 0);
+        for (var route : poolRoutes.entrySet()) {
+            var connections = new Connections(route.getValue());
+            routes.put(route.getKey(), connections);
+            total = total.plus(connections);
+        }
+        return new ConnectionPool(total, routes);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class ConnectionPool {
+        private final Connections total;
+        private final Map<String, Connections> routes;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Connections {
+        private final int leased;
+        private final int available;
+        private final int pending;
+        private final int max;
+
+        Connections(ConnectionPoolMetrics metrics) {
+            this(metrics.acquiredSize(), metrics.idleSize(), metrics.pendingAcquireSize(), metrics.maxAllocatedSize());
+        }
+
+        Connections plus(Connections other) {
+            return new Connections(leased + other.leased, available + other.available, pending + other.pending, max + other.max);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package uk.nhs.adaptors.scr.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+import uk.nhs.adaptors.scr.clients.spine.SpinePool;
+
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Gauges of the Spine WebClient connection pools: {@code spine.connection.pool.connections} by state and
+ * {@code spine.connection.pool.max}, tagged by pool, in total and per route, and the {@code spine.connection.pool.lease}
+ * timer of how long each request waits for a connection. reactor-netty opens one pool per remote address, and each is
+ * registered here as a route when it is created. Gauges are only read when metrics are scraped.
+ */
+@Component
+public class SpineConnectionPoolMetrics {
+
+    static final String CONNECTIONS = "spine.connection.pool.connections";
+    static final String MAX = "spine.connection.pool.max";
+    static final String LEASE_TIMER_NAME = "spine.connection.pool.lease";
+    private static final String POOL_TAG = "pool";
+    private static final String ROUTE_TAG = "route";
+    private static final String TOTAL = "total";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<SpinePool, Map<String, ConnectionPoolMetrics>> routes = new EnumMap<>(SpinePool.class);
+
+    @Autowired
+    public SpineConnectionPoolMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (var pool : SpinePool.values()) {
+            Map<String, ConnectionPoolMetrics> poolRoutes = new ConcurrentHashMap<>();
+            routes.put(pool, poolRoutes);
+            register(Tags.of(POOL_TAG, pool.name(), ROUTE_TAG, TOTAL), metric -> poolRoutes.values().stream().mapToInt(metric).sum());
+        }
+    }
+
+    /**
+     * Registers the gauges of each route the pool opens, to be passed to the pool's {@link ConnectionProvider.Builder}.
+     */
+    public ConnectionProvider.MeterRegistrar registrar(SpinePool pool) {
+        return (poolName, id, remoteAddress, poolMetrics) -> {
+            var route = route(remoteAddress);
+            if (routes.get(pool).putIfAbsent(route, poolMetrics) == null) {
+                register(Tags.of(POOL_TAG, pool.name(), ROUTE_TAG, route), metric -> metric.applyAsInt(poolMetrics));
+            }
+        };
+    }
+
+    /**
+     * Wraps the pool so that the time each request waits for a connection, including opening a new one when none is idle,
+     * is recorded by the lease timer.
+     */
+    public ConnectionProvider timed(SpinePool pool, ConnectionProvider connectionProvider) {
+        var leaseTimer = Timer.builder(LEASE_TIMER_NAME)
+            .description("Time spent waiting for a Spine connection from the pool")
+            .tag(POOL_TAG, pool.name())
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        return new TimedConnectionProvider(connectionProvider, leaseTimer);
+    }
+
+    /**
+     * Metrics of each route the pool has opened, keyed by host and port.
+     */
+    public Map<String, ConnectionPoolMetrics> getRoutes(SpinePool pool) {
+        return routes.get(pool);
+    }
+
+    private void register(Tags tags, ToIntFunction<ToIntFunction<ConnectionPoolMetrics>> value) {
+        Map<String, ToIntFunction<ConnectionPoolMetrics>> states = Map.of(
+            "leased", ConnectionPoolMetrics::acquiredSize,
+            "available", ConnectionPoolMetrics::idleSize,
+            "pending", ConnectionPoolMetrics::pendingAcquireSize);
+        states.forEach((state, metric) ->
+            Gauge.builder(CONNECTIONS, () -> value.applyAsInt(metric))
+                .tags(tags.and("state", state))
+                .register(meterRegistry));
+        Gauge.builder(MAX, () -> value.applyAsInt(ConnectionPoolMetrics::maxAllocatedSize))
+            .tags(tags)
+            .register(meterRegistry);
+    }
+
+    private static String route(SocketAddress remoteAddress) {
+        if (remoteAddress instanceof InetSocketAddress) {
+            var address = (InetSocketAddress) remoteAddress;
+            return address.getHostString() + ":" + address.getPort();
+        }
+        return String.valueOf(remoteAddress);
+    }
+}
@@ -0,0 +1,23 @@
+package uk.nhs.adaptors.scr.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Component;
+
+@Component
+@Configuration
+@ConfigurationProperties(prefix = "spine.hedging")
+@Getter
+@Setter
+public class SpineHedgingConfig {
+    private boolean enabled;
+    private double percentile;
+    private long minDelay;
+    private int latencyWindow;
+    private int minSamples;
+    private double budget;
+    private double budgetBurst;
+    private int maxConcurrentHedges;
+}
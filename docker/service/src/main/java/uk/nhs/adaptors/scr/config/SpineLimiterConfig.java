@@ -0,0 +1,24 @@
+package uk.nhs.adaptors.scr.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Component;
+
+@Component
+@Configuration
+@ConfigurationProperties(prefix = "spine.limiter")
+@Getter
+@Setter
+public class SpineLimiterConfig {
+    private boolean enabled;
+    private int initialLimit;
+    private int minLimit;
+    private int maxLimit;
+    private long latencyThreshold;
+    private double backoffRatio;
+    private long retryAfter;
+    private int failureThreshold;
+    private long openDuration;
+}
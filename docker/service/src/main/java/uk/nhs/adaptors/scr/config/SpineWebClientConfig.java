@@ -0,0 +1,70 @@
+package uk.nhs.adaptors.scr.config;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ClientAuth;
+import io.netty.handler.ssl.IdentityCipherSuiteFilter;
+import io.netty.handler.ssl.JdkSslContext;
+import lombok.RequiredArgsConstructor;
+import org.apache.http.ssl.SSLContexts;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import uk.nhs.adaptors.scr.clients.spine.SpinePool;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Non-blocking HTTP clients used by {@link uk.nhs.adaptors.scr.clients.spine.SpineAsyncHttpClient}, one connection pool
+ * per {@link SpinePool}. Pool sizes and timeouts come from {@link SpineConnectionPoolConfig}.
+ * Each pool publishes its gauges and lease timer through {@link SpineConnectionPoolMetrics}.
+ */
+@Configuration
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class SpineWebClientConfig {
+
+    private static final String CONNECTION_POOL_NAME_PREFIX = "spine-";
+    private static final int MAX_IN_MEMORY_RESPONSE_SIZE = 16 * 1024 * 1024;
+
+    private final SpineConfiguration spineConfiguration;
+    private final SpineConnectionPoolConfig connectionPoolConfig;
+    private final SpineConnectionPoolMetrics connectionPoolMetrics;
+
+    @Bean
+    public SpineWebClients spineWebClients() {
+        Map<SpinePool, WebClient> clients = new EnumMap<>(SpinePool.class);
+        for (var pool : SpinePool.values()) {
+            clients.put(pool, webClient(pool, connectionPoolConfig.getPool(pool)));
+        }
+        return new SpineWebClients(clients);
+    }
+
+    private WebClient webClient(SpinePool pool, SpineConnectionPoolConfig.Pool poolConfig) {
+        var connectionProvider = ConnectionProvider.builder(CONNECTION_POOL_NAME_PREFIX + pool.name().toLowerCase())
+            .maxConnections(poolConfig.getMaxConnections())
+            .pendingAcquireTimeout(Duration.ofMillis(poolConfig.getRequestTimeout()))
+            .maxIdleTime(Duration.ofMillis(connectionPoolConfig.getIdleConnectionWaitTime()))
+            .metrics(true, () -> connectionPoolMetrics.registrar(pool))
+            .build();
+
+        var httpClient = HttpClient.create(connectionPoolMetrics.timed(pool, connectionProvider))
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectionPoolConfig.getConnectionTimeout())
+            .responseTimeout(Duration.ofMillis(poolConfig.getSocketTimeout()));
+        if (spineConfiguration.isTlsEnabled()) {
+            var sslContext = new JdkSslContext(SSLContexts.createSystemDefault(), true, null, IdentityCipherSuiteFilter.INSTANCE,
+                ApplicationProtocolConfig.DISABLED, ClientAuth.NONE, null, false);
+            httpClient = httpClient.secure(spec -> spec.sslContext(sslContext));
+        }
+
+        return WebClient.builder()
+            .clientConnector(new ReactorClientHttpConnector(httpClient))
+            .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(MAX_IN_MEMORY_RESPONSE_SIZE))
+            .build();
+    }
+}
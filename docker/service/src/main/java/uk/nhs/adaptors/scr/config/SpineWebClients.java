@@ -0,0 +1,20 @@
+package uk.nhs.adaptors.scr.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.reactive.function.client.WebClient;
+import uk.nhs.adaptors.scr.clients.spine.SpinePool;
+
+import java.util.Map;
+
+/**
+ * Non-blocking Spine clients, each with its own connection pool, one per {@link SpinePool}.
+ */
+@RequiredArgsConstructor
+public class SpineWebClients {
+
+    private final Map<SpinePool, WebClient> clients;
+
+    public WebClient getClient(SpinePool pool) {
+        return clients.get(pool);
+    }
+}
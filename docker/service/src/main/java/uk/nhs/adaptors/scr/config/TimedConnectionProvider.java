@@ -0,0 +1,70 @@
+package uk.nhs.adaptors.scr.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.netty.resolver.AddressResolverGroup;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
+import reactor.netty.ConnectionObserver;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.transport.TransportConfig;
+
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Spine WebClient connection pool which records how long each request waits to acquire a connection, whether it ends
+ * with a connection, an error or the request being cancelled. Everything else is left to the wrapped pool.
+ */
+@RequiredArgsConstructor
+class TimedConnectionProvider implements ConnectionProvider {
+
+    private final ConnectionProvider connectionProvider;
+    private final Timer leaseTimer;
+
+    @Override
+    public Mono<? extends Connection> acquire(TransportConfig config, ConnectionObserver connectionObserver,
+                                              Supplier<? extends SocketAddress> remoteAddress, AddressResolverGroup<?> resolverGroup) {
+        return Mono.defer(() -> {
+            var sample = Timer.start();
+            return connectionProvider.acquire(config, connectionObserver, remoteAddress, resolverGroup)
+                .doFinally(signal -> sample.stop(leaseTimer));
+        });
+    }
+
+    @Override
+    public void disposeWhen(SocketAddress address) {
+        connectionProvider.disposeWhen(address);
+    }
+
+    @Override
+    public void dispose() {
+        connectionProvider.dispose();
+    }
+
+    @Override
+    public Mono<Void> disposeLater() {
+        return connectionProvider.disposeLater();
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return connectionProvider.isDisposed();
+    }
+
+    @Override
+    public int maxConnections() {
+        return connectionProvider.maxConnections();
+    }
+
+    @Override
+    public Map<SocketAddress, Integer> maxConnectionsPerHost() {
+        return connectionProvider.maxConnectionsPerHost();
+    }
+
+    @Override
+    public String name() {
+        return connectionProvider.name();
+    }
+}
@@ -0,0 +1,19 @@
+package uk.nhs.adaptors.scr.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.stereotype.Component;
+
+@Component
+@Configuration
+@ConfigurationProperties(prefix = "scr.upload-executor")
+@Getter
+@Setter
+public class UploadExecutorConfig {
+    private int corePoolSize;
+    private int maxPoolSize;
+    private int queueCapacity;
+    private long retryAfter;
+}
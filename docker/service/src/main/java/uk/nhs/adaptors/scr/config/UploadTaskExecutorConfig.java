@@ -0,0 +1,57 @@
+package uk.nhs.adaptors.scr.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import uk.nhs.adaptors.scr.logging.MdcPropagation;
+
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Executor for the blocking part of SCR uploads (parsing, mapping and the permission check). The pool and its queue are
+ * bounded so a burst of uploads is rejected with a 503 instead of growing the number of threads without limit.
+ */
+@Configuration
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class UploadTaskExecutorConfig {
+
+    private static final String EXECUTOR_NAME = "scr.upload";
+    private static final String THREAD_NAME_PREFIX = "scr-upload-";
+
+    private final UploadExecutorConfig uploadExecutorConfig;
+
+    private final LongAdder rejectedTasks = new LongAdder();
+
+    @Bean
+    public ThreadPoolTaskExecutor uploadTaskExecutor() {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(uploadExecutorConfig.getCorePoolSize());
+        executor.setMaxPoolSize(uploadExecutorConfig.getMaxPoolSize());
+        executor.setQueueCapacity(uploadExecutorConfig.getQueueCapacity());
+        executor.setThreadNamePrefix(THREAD_NAME_PREFIX);
+        executor.setTaskDecorator(MdcPropagation::withMdc);
+        executor.setRejectedExecutionHandler((task, threadPoolExecutor) -> {
+            rejectedTasks.increment();
+            new ThreadPoolExecutor.AbortPolicy().rejectedExecution(task, threadPoolExecutor);
+        });
+        return executor;
+    }
+
+    @Bean
+    public MeterBinder uploadTaskExecutorMetrics(ThreadPoolTaskExecutor uploadTaskExecutor) {
+        return registry -> {
+            new ExecutorServiceMetrics(uploadTaskExecutor.getThreadPoolExecutor(), EXECUTOR_NAME, List.of()).bindTo(registry);
+            FunctionCounter.builder("executor.rejected", rejectedTasks, LongAdder::sum)
+                .description("The number of tasks rejected because the executor and its queue were full")
+                .tag("name", EXECUTOR_NAME)
+                .register(registry);
+        };
+    }
+}
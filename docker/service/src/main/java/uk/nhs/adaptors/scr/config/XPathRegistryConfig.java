@@ -0,0 +1,31 @@
+package uk.nhs.adaptors.scr.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import uk.nhs.adaptors.scr.utils.XPathRegistry;
+
+import java.util.function.LongSupplier;
+
+@Configuration
+public class XPathRegistryConfig {
+
+    private static final String LOOKUPS_METRIC = "xpath.registry.lookups";
+
+    @Bean
+    public MeterBinder xpathRegistryMetrics() {
+        return registry -> {
+            bindLookups(registry, "hit", XPathRegistry::getHits);
+            bindLookups(registry, "miss", XPathRegistry::getMisses);
+        };
+    }
+
+    private static void bindLookups(MeterRegistry registry, String result, LongSupplier count) {
+        FunctionCounter.builder(LOOKUPS_METRIC, count, LongSupplier::getAsLong)
+            .description("XPath expression lookups, a miss means the expression was compiled")
+            .tag("result", result)
+            .register(registry);
+    }
+}
@@ -7,4 +7,6 @@ public class ScrHttpHeaders {
     public static final String NHSD_IDENTITY = "NHSD-Identity-UUID";
     public static final String NHSD_SESSION_URID = "NHSD-Session-URID";
     public static final String CLIENT_IP = "client-ip";
+    public static final String PREFER = "Prefer";
+    public static final String PREFERENCE_APPLIED = "Preference-Applied";
 }
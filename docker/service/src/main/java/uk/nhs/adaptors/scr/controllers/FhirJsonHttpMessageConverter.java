@@ -0,0 +1,53 @@
+package uk.nhs.adaptors.scr.controllers;
+
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+import uk.nhs.adaptors.scr.components.FhirParser;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static uk.nhs.adaptors.scr.controllers.FhirMediaTypes.APPLICATION_FHIR_JSON;
+
+/**
+ * Writes FHIR resources returned by controllers as application/fhir+json. The resource is encoded straight to the response
+ * body, so the JSON is never held in memory as a whole.
+ */
+@Component
+public class FhirJsonHttpMessageConverter extends AbstractHttpMessageConverter<IBaseResource> {
+
+    private final FhirParser fhirParser;
+
+    @Autowired
+    public FhirJsonHttpMessageConverter(FhirParser fhirParser) {
+        super(UTF_8, APPLICATION_FHIR_JSON);
+        this.fhirParser = fhirParser;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return IBaseResource.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected IBaseResource readInternal(Class<? extends IBaseResource> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Reading FHIR resources is not supported", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(IBaseResource resource, HttpOutputMessage outputMessage) throws IOException {
+        fhirParser.encodeToJson(resource, new OutputStreamWriter(outputMessage.getBody(), UTF_8));
+    }
+}
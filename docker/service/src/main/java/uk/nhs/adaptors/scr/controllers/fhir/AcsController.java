@@ -14,6 +14,7 @@ import uk.nhs.adaptors.scr.models.RequestData;
 import uk.nhs.adaptors.scr.services.AcsService;
 
 import javax.validation.constraints.NotNull;
+import java.util.concurrent.CompletableFuture;
 
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 import static org.springframework.http.HttpStatus.CREATED;
@@ -36,12 +37,12 @@ public class AcsController {
         consumes = {APPLICATION_FHIR_JSON_VALUE},
         produces = {APPLICATION_FHIR_JSON_VALUE})
     @ResponseStatus(CREATED)
-    public void setPermission(@RequestBody @AcsRequest String parameters,
-                              @RequestHeader(NHSD_ASID) @NotNull String nhsdAsid,
-                              @RequestHeader(CLIENT_IP) @NotNull String clientIp,
-                              @RequestHeader(NHSD_SESSION_URID) @NotNull String nhsdSessionUrid,
-                              @RequestHeader(NHSD_IDENTITY) @NotNull String nhsdIdentity,
-                              @RequestHeader(AUTHORIZATION) @NotNull String authorization) {
+    public CompletableFuture<Void> setPermission(@RequestBody @AcsRequest String parameters,
+                                                 @RequestHeader(NHSD_ASID) @NotNull String nhsdAsid,
+                                                 @RequestHeader(CLIENT_IP) @NotNull String clientIp,
+                                                 @RequestHeader(NHSD_SESSION_URID) @NotNull String nhsdSessionUrid,
+                                                 @RequestHeader(NHSD_IDENTITY) @NotNull String nhsdIdentity,
+                                                 @RequestHeader(AUTHORIZATION) @NotNull String authorization) {
         LOGGER.info("Received ACS Set Permission request for NHSD Identity" + nhsdIdentity);
         RequestData requestData = new RequestData().setBody(parameters)
             .setClientIp(clientIp)
@@ -49,6 +50,6 @@ public class AcsController {
             .setNhsdSessionUrid(nhsdSessionUrid)
             .setNhsdIdentity(nhsdIdentity)
             .setAuthorization(authorization);
-        acsService.setPermission(requestData);
+        return acsService.setPermission(requestData);
     }
 }
@@ -13,6 +13,7 @@ import uk.nhs.adaptors.scr.controllers.validation.alert.AlertRequest;
 import uk.nhs.adaptors.scr.services.AlertService;
 
 import javax.validation.constraints.NotNull;
+import java.util.concurrent.CompletableFuture;
 
 import static org.springframework.http.HttpStatus.CREATED;
 import static uk.nhs.adaptors.scr.consts.ScrHttpHeaders.NHSD_ASID;
@@ -32,11 +33,11 @@ public class AlertController {
         produces = APPLICATION_FHIR_JSON_VALUE,
         consumes = APPLICATION_FHIR_JSON_VALUE)
     @ResponseStatus(CREATED)
-    public void sendAlert(@RequestHeader(NHSD_ASID) @NotNull String nhsdAsid,
-                          @RequestHeader(NHSD_IDENTITY) @NotNull String nhsdIdentity,
-                          @RequestHeader(NHSD_SESSION_URID) @NotNull String nhsdSessionUrid,
-                          @RequestBody @AlertRequest String body) {
+    public CompletableFuture<Void> sendAlert(@RequestHeader(NHSD_ASID) @NotNull String nhsdAsid,
+                                             @RequestHeader(NHSD_IDENTITY) @NotNull String nhsdIdentity,
+                                             @RequestHeader(NHSD_SESSION_URID) @NotNull String nhsdSessionUrid,
+                                             @RequestBody @AlertRequest String body) {
         LOGGER.info("Received ALERT request");
-        alertService.sendAlert(body, nhsdAsid, nhsdIdentity, nhsdSessionUrid);
+        return alertService.sendAlert(body, nhsdAsid, nhsdIdentity, nhsdSessionUrid);
     }
 }
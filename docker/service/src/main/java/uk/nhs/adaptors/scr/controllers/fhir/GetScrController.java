@@ -9,7 +9,6 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import uk.nhs.adaptors.scr.components.FhirParser;
 import uk.nhs.adaptors.scr.controllers.validation.scr.PatientId;
 import uk.nhs.adaptors.scr.controllers.validation.scr.RecordCount;
 import uk.nhs.adaptors.scr.controllers.validation.scr.SortMethod;
@@ -22,6 +21,7 @@ import uk.nhs.adaptors.scr.services.SdsService;
 //import java.net.URISyntaxException;
 
 import javax.validation.constraints.NotNull;
+import java.util.concurrent.CompletableFuture;
 
 import static uk.nhs.adaptors.scr.consts.ScrHttpHeaders.CLIENT_IP;
 import static uk.nhs.adaptors.scr.consts.ScrHttpHeaders.NHSD_ASID;
@@ -38,7 +38,6 @@ public class GetScrController {
     private static final String COMPOSITION_PATIENT_ID_PREFIX =
         "composition.subject:Patient.identifier=https://fhir.nhs.uk/Id/nhs-number|";
 
-    private final FhirParser fhirParser;
     private final GetScrService getScrService;
     private final SdsService sdsService;
 
@@ -46,7 +45,7 @@ public class GetScrController {
         produces = {APPLICATION_FHIR_JSON_VALUE})
     @SuppressWarnings("checkstyle:parameternumber")
     @LogExecutionTime
-    public String getScrId(@RequestHeader(NHSD_ASID) @NotNull String nhsdAsid,
+    public CompletableFuture<Bundle> getScrId(@RequestHeader(NHSD_ASID) @NotNull String nhsdAsid,
                            @RequestHeader(CLIENT_IP) @NotNull String clientIp,
                            @RequestParam("patient") @NotNull @PatientId String patient,
                            @RequestParam(required = false) @TypeCode String type,
@@ -54,9 +53,8 @@ public class GetScrController {
                            @RequestParam(name = "_count", required = false) @RecordCount Integer count) {
         LOGGER.info("Received GET SCR ID request");
         String nhsNumber = extractNhsNumber(patient);
-        Bundle bundle = getScrService.getScrId(nhsNumber, nhsdAsid, clientIp);
 
-        return fhirParser.encodeToJson(bundle);
+        return getScrService.getScrIdAsync(nhsNumber, nhsdAsid, clientIp);
     }
 
     private String extractNhsNumber(String patientId) {
@@ -66,7 +64,7 @@ public class GetScrController {
     @GetMapping(path = "/Bundle",
         produces = {APPLICATION_FHIR_JSON_VALUE})
     @LogExecutionTime
-    public String getScr(
+    public CompletableFuture<Bundle> getScr(
         @RequestHeader("Nhsd-Asid") @NotNull String nhsdAsid,
         @RequestHeader("client-ip") @NotNull String clientIp,
         @RequestParam("composition.identifier") @NotNull String compositionId,
@@ -74,9 +72,7 @@ public class GetScrController {
     ) {
         LOGGER.info("Received GET SCR request");
 
-        var bundle = getScrService.getScr(extractNhsNumber(nhsNumber), compositionId, nhsdAsid, clientIp);
-
-        return fhirParser.encodeToJson(bundle);
+        return getScrService.getScrAsync(extractNhsNumber(nhsNumber), compositionId, nhsdAsid, clientIp);
     }
 
     /*
@@ -2,36 +2,46 @@ package uk.nhs.adaptors.scr.controllers.fhir;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.context.request.async.DeferredResult;
+import uk.nhs.adaptors.scr.config.AsyncUploadConfig;
 import uk.nhs.adaptors.scr.config.ScrConfiguration;
 import uk.nhs.adaptors.scr.config.SpineConfiguration;
 import uk.nhs.adaptors.scr.exceptions.ScrTimeoutException;
 import uk.nhs.adaptors.scr.logging.LogExecutionTime;
 import uk.nhs.adaptors.scr.models.RequestData;
+import uk.nhs.adaptors.scr.services.UploadJobService;
 import uk.nhs.adaptors.scr.services.UploadScrService;
 
 import javax.validation.constraints.NotNull;
-import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionException;
 
+import static org.springframework.http.HttpHeaders.CONTENT_LOCATION;
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
+import static org.springframework.http.HttpStatus.ACCEPTED;
 import static org.springframework.http.HttpStatus.CREATED;
 import static uk.nhs.adaptors.scr.consts.ScrHttpHeaders.CLIENT_IP;
 import static uk.nhs.adaptors.scr.consts.ScrHttpHeaders.NHSD_ASID;
 import static uk.nhs.adaptors.scr.consts.ScrHttpHeaders.NHSD_IDENTITY;
 import static uk.nhs.adaptors.scr.consts.ScrHttpHeaders.NHSD_SESSION_URID;
+import static uk.nhs.adaptors.scr.consts.ScrHttpHeaders.PREFER;
+import static uk.nhs.adaptors.scr.consts.ScrHttpHeaders.PREFERENCE_APPLIED;
 import static uk.nhs.adaptors.scr.controllers.FhirMediaTypes.APPLICATION_FHIR_JSON_VALUE;
+import static uk.nhs.adaptors.scr.utils.PreferHeaderUtils.RESPOND_ASYNC;
+import static uk.nhs.adaptors.scr.utils.PreferHeaderUtils.isRespondAsync;
 
 @RestController
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 @Slf4j
 public class SendScrController {
     private final UploadScrService uploadScrService;
+    private final UploadJobService uploadJobService;
+    private final AsyncUploadConfig asyncUploadConfig;
     private final SpineConfiguration spineConfiguration;
     private final ScrConfiguration scrConfiguration;
 
@@ -40,11 +50,12 @@ public class SendScrController {
         consumes = {APPLICATION_FHIR_JSON_VALUE},
         produces = {APPLICATION_FHIR_JSON_VALUE})
     @LogExecutionTime
-    public WebAsyncTask<ResponseEntity<SendScrController>> sendScr(
+    public DeferredResult<ResponseEntity<SendScrController>> sendScr(
         @RequestHeader(NHSD_ASID) @NotNull String nhsdAsid,
         @RequestHeader(CLIENT_IP) @NotNull String clientIp,
         @RequestHeader(NHSD_IDENTITY) @NotNull String nhsdIdentity,
         @RequestHeader(NHSD_SESSION_URID) @NotNull String nhsdSessionUrid,
+        @RequestHeader(value = PREFER, required = false) String prefer,
         @RequestBody String body) {
         LOGGER.info("Received Upload SCR request");
         LOGGER.debug("Using cfg: asid-from={} party-from={} asid-to={} party-to={} client-ip={} NHSD-Identity-UUID={} NHSD-Session-URID={}",
@@ -63,20 +74,35 @@ public class SendScrController {
             .setNhsdIdentity(nhsdIdentity)
             .setNhsdSessionUrid(nhsdSessionUrid);
 
-        var mdcContextMap = MDC.getCopyOfContextMap();
-        Callable<ResponseEntity<SendScrController>> callable = () -> {
-            MDC.setContextMap(mdcContextMap);
-            uploadScrService.uploadScr(requestData);
-            return ResponseEntity
-                .status(CREATED)
-                .build();
-        };
+        var result = new DeferredResult<ResponseEntity<SendScrController>>(spineConfiguration.getScrResultTimeout());
+        if (isRespondAsync(prefer)) {
+            var job = uploadJobService.submit(requestData);
+            result.setResult(ResponseEntity
+                .status(ACCEPTED)
+                .header(CONTENT_LOCATION, getUploadStatusUrl(job.getId()))
+                .header(RETRY_AFTER, String.valueOf(asyncUploadConfig.getStatusRetryAfter()))
+                .header(PREFERENCE_APPLIED, RESPOND_ASYNC)
+                .build());
+            return result;
+        }
 
-        var task = new WebAsyncTask<>(spineConfiguration.getScrResultTimeout(), callable);
-        task.onTimeout(() -> {
-            throw new ScrTimeoutException();
-        });
+        result.onTimeout(() -> result.setErrorResult(new ScrTimeoutException()));
 
-        return task;
+        uploadScrService.uploadScr(requestData)
+            .whenComplete((processingResult, error) -> {
+                if (error != null) {
+                    result.setErrorResult(error instanceof CompletionException ? error.getCause() : error);
+                } else {
+                    result.setResult(ResponseEntity
+                        .status(CREATED)
+                        .build());
+                }
+            });
+
+        return result;
+    }
+
+    private String getUploadStatusUrl(String jobId) {
+        return String.format("%s/%s/$upload-status/%s", scrConfiguration.getBaseUrl(), scrConfiguration.getServiceBasePath(), jobId);
     }
 }
@@ -0,0 +1,77 @@
+package uk.nhs.adaptors.scr.controllers.fhir;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import uk.nhs.adaptors.scr.config.AsyncUploadConfig;
+import uk.nhs.adaptors.scr.models.UploadJob;
+import uk.nhs.adaptors.scr.services.UploadJobService;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
+import static org.springframework.http.HttpStatus.ACCEPTED;
+import static org.springframework.http.HttpStatus.CREATED;
+import static uk.nhs.adaptors.scr.consts.ScrHttpHeaders.PREFER;
+import static uk.nhs.adaptors.scr.controllers.FhirMediaTypes.APPLICATION_FHIR_JSON_VALUE;
+import static uk.nhs.adaptors.scr.models.UploadJobStatus.FAILED;
+import static uk.nhs.adaptors.scr.models.UploadJobStatus.IN_PROGRESS;
+import static uk.nhs.adaptors.scr.utils.PreferHeaderUtils.getWait;
+
+/**
+ * Status of uploads accepted with {@code Prefer: respond-async}. Returns 202 while Spine is still processing, 201 once
+ * the SCR has been stored and the original error otherwise. {@code Prefer: wait=N} holds the request for up to N seconds
+ * (capped by {@code scr.asyncUpload.maxWait}) until the job finishes.
+ */
+@RestController
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+@Slf4j
+public class UploadStatusController {
+    private final UploadJobService uploadJobService;
+    private final AsyncUploadConfig asyncUploadConfig;
+
+    @GetMapping(
+        path = "/$upload-status/{jobId}",
+        produces = {APPLICATION_FHIR_JSON_VALUE})
+    public DeferredResult<ResponseEntity<Void>> getUploadStatus(
+        @PathVariable String jobId,
+        @RequestHeader(value = PREFER, required = false) String prefer) {
+        LOGGER.info("Received Upload status request for job {}", jobId);
+
+        var waitSeconds = Math.min(getWait(prefer).orElse(0L), asyncUploadConfig.getMaxWait());
+        if (waitSeconds == 0) {
+            var result = new DeferredResult<ResponseEntity<Void>>();
+            setResult(result, uploadJobService.getJob(jobId));
+            return result;
+        }
+
+        var result = new DeferredResult<ResponseEntity<Void>>(SECONDS.toMillis(waitSeconds), inProgress());
+        uploadJobService.awaitJob(jobId)
+            .thenAccept(job -> setResult(result, job));
+        return result;
+    }
+
+    private void setResult(DeferredResult<ResponseEntity<Void>> result, UploadJob job) {
+        if (job.getStatus() == FAILED) {
+            result.setErrorResult(job.getError());
+        } else if (job.getStatus() == IN_PROGRESS) {
+            result.setResult(inProgress());
+        } else {
+            result.setResult(ResponseEntity
+                .status(CREATED)
+                .build());
+        }
+    }
+
+    private ResponseEntity<Void> inProgress() {
+        return ResponseEntity
+            .status(ACCEPTED)
+            .header(RETRY_AFTER, String.valueOf(asyncUploadConfig.getStatusRetryAfter()))
+            .build();
+    }
+}
@@ -0,0 +1,32 @@
+package uk.nhs.adaptors.scr.exceptions;
+
+import org.hl7.fhir.r4.model.CodeableConcept;
+import org.hl7.fhir.r4.model.OperationOutcome;
+import org.springframework.http.HttpStatus;
+
+import static org.hl7.fhir.r4.model.OperationOutcome.IssueSeverity.ERROR;
+import static org.hl7.fhir.r4.model.OperationOutcome.IssueType.NOTFOUND;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
+
+public class NotFoundException extends ScrBaseException implements OperationOutcomeError {
+    public NotFoundException(String message) {
+        super(message);
+    }
+
+    @Override
+    public OperationOutcome getOperationOutcome() {
+        var operationOutcome = new OperationOutcome();
+
+        operationOutcome.addIssue()
+            .setSeverity(ERROR)
+            .setCode(NOTFOUND)
+            .setDetails(new CodeableConcept().setText(getMessage()));
+
+        return operationOutcome;
+    }
+
+    @Override
+    public HttpStatus getStatusCode() {
+        return NOT_FOUND;
+    }
+}
@@ -1,5 +1,6 @@
 package uk.nhs.adaptors.scr.exceptions;
 
+import lombok.Getter;
 import org.hl7.fhir.r4.model.CodeableConcept;
 import org.hl7.fhir.r4.model.OperationOutcome;
 import org.springframework.http.HttpStatus;
@@ -8,9 +9,21 @@ import static org.hl7.fhir.r4.model.OperationOutcome.IssueSeverity.ERROR;
 import static org.hl7.fhir.r4.model.OperationOutcome.IssueType.TRANSIENT;
 import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
 
+@Getter
 public class ServiceUnavailableException extends ScrBaseException implements OperationOutcomeError {
+
+    /**
+     * Seconds after which the client may retry, returned as Retry-After when set.
+     */
+    private final Long retryAfter;
+
     public ServiceUnavailableException(String message) {
+        this(message, null);
+    }
+
+    public ServiceUnavailableException(String message, Long retryAfter) {
         super(message);
+        this.retryAfter = retryAfter;
     }
 
     @Override
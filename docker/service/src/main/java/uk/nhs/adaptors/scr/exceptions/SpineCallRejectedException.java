@@ -0,0 +1,12 @@
+package uk.nhs.adaptors.scr.exceptions;
+
+/**
+ * Thrown instead of sending a Spine request when the concurrency limit for its interaction is reached or its circuit
+ * breaker is open.
+ */
+public class SpineCallRejectedException extends ServiceUnavailableException {
+
+    public SpineCallRejectedException(String message, long retryAfter) {
+        super(message, retryAfter);
+    }
+}
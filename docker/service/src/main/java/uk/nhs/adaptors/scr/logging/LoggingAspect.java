@@ -1,31 +1,121 @@
 package uk.nhs.adaptors.scr.logging;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
-import org.springframework.util.StopWatch;
+import org.springframework.web.context.request.async.DeferredResult;
+import uk.nhs.adaptors.scr.config.ExecutionTimeConfig;
 
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+import static uk.nhs.adaptors.scr.consts.SpineHttpHeaders.SOAP_ACTION;
+
+/**
+ * Records the execution time of methods annotated with {@link LogExecutionTime} as the {@code scr.execution.time} timer,
+ * tagged by class, method, outcome and, for Spine requests, SOAP action. A method returning a {@link CompletableFuture}
+ * is timed until the future completes, and one returning a {@link DeferredResult} until the request completes, so such
+ * a method must not register its own completion callback. A future cancelled by its caller, such as the losing request
+ * of a hedged query, has the CANCELLED outcome rather than ERROR. Timers publish a percentile histogram, so p99 per
+ * interaction can be read from the metrics actuator endpoint. Logging each call at INFO is off unless
+ * {@code scr.execution-time.logEnabled} is set.
+ */
 @Aspect
 @Component
 @Slf4j
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class LoggingAspect {
+    static final String TIMER_NAME = "scr.execution.time";
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+    private static final String NONE = "none";
+    private static final String SUCCESS = "SUCCESS";
+    private static final String ERROR = "ERROR";
+    private static final String CANCELLED = "CANCELLED";
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final MeterRegistry meterRegistry;
+    private final ExecutionTimeConfig executionTimeConfig;
+
     @Around("@annotation(uk.nhs.adaptors.scr.logging.LogExecutionTime)")
     public Object methodTimeLogger(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
         MethodSignature methodSignature = (MethodSignature) proceedingJoinPoint.getSignature();
 
         String className = methodSignature.getDeclaringType().getSimpleName();
         String methodName = methodSignature.getName();
+        String soapAction = getSoapAction(proceedingJoinPoint.getArgs());
 
-        StopWatch stopWatch = new StopWatch(className + "->" + methodName);
-        stopWatch.start(methodName);
-        Object result = proceedingJoinPoint.proceed();
-        stopWatch.stop();
-        if (LOGGER.isInfoEnabled()) {
-            LOGGER.info(String.format("Execution time of %s: %f seconds", stopWatch.getId(), stopWatch.getTotalTimeSeconds()));
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = proceedingJoinPoint.proceed();
+        } catch (Throwable e) {
+            record(className, methodName, soapAction, outcome(e), start);
+            throw e;
+        }
+        if (result instanceof CompletableFuture) {
+            ((CompletableFuture<?>) result).whenComplete((value, error) ->
+                record(className, methodName, soapAction, outcome(error), start));
+        } else if (result instanceof DeferredResult) {
+            var deferredResult = (DeferredResult<?>) result;
+            deferredResult.onCompletion(() -> record(className, methodName, soapAction, outcome(deferredResult), start));
+        } else {
+            record(className, methodName, soapAction, SUCCESS, start);
         }
         return result;
     }
+
+    private void record(String className, String methodName, String soapAction, String outcome, long start) {
+        long duration = System.nanoTime() - start;
+        Timer.builder(TIMER_NAME)
+            .tag("class", className)
+            .tag("method", methodName)
+            .tag("outcome", outcome)
+            .tag("soapAction", soapAction)
+            .publishPercentileHistogram()
+            .publishPercentiles(PERCENTILES)
+            .register(meterRegistry)
+            .record(duration, TimeUnit.NANOSECONDS);
+        if (executionTimeConfig.isLogEnabled() && LOGGER.isInfoEnabled()) {
+            LOGGER.info("Execution time of {}->{}: {} seconds", className, methodName, duration / NANOS_PER_SECOND);
+        }
+    }
+
+    private static String outcome(DeferredResult<?> deferredResult) {
+        if (!deferredResult.hasResult()) {
+            // the request ended, e.g. the client went away, before a result was set
+            return ERROR;
+        }
+        var value = deferredResult.getResult();
+        return value instanceof Throwable ? outcome((Throwable) value) : SUCCESS;
+    }
+
+    private static String outcome(Throwable error) {
+        if (error == null) {
+            return SUCCESS;
+        }
+        var cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof CancellationException ? CANCELLED : ERROR;
+    }
+
+    private static String getSoapAction(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof HttpHeaders) {
+                var soapAction = ((HttpHeaders) arg).getFirst(SOAP_ACTION);
+                if (soapAction != null) {
+                    return soapAction;
+                }
+            }
+        }
+        return NONE;
+    }
 }
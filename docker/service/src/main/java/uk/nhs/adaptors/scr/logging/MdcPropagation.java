@@ -0,0 +1,61 @@
+package uk.nhs.adaptors.scr.logging;
+
+import org.slf4j.MDC;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Carries the MDC of the calling thread over to the thread that completes an asynchronous stage, so log lines written
+ * after a Spine response arrives keep the request's correlation and request ids.
+ */
+public class MdcPropagation {
+
+    public static <T, R> Function<T, R> withMdc(Function<T, R> function) {
+        var mdcContext = MDC.getCopyOfContextMap();
+        return input -> {
+            var previousMdcContext = MDC.getCopyOfContextMap();
+            setContextMap(mdcContext);
+            try {
+                return function.apply(input);
+            } finally {
+                setContextMap(previousMdcContext);
+            }
+        };
+    }
+
+    public static Runnable withMdc(Runnable runnable) {
+        var mdcContext = MDC.getCopyOfContextMap();
+        return () -> {
+            var previousMdcContext = MDC.getCopyOfContextMap();
+            setContextMap(mdcContext);
+            try {
+                runnable.run();
+            } finally {
+                setContextMap(previousMdcContext);
+            }
+        };
+    }
+
+    public static <T> Supplier<T> withMdc(Supplier<T> supplier) {
+        var mdcContext = MDC.getCopyOfContextMap();
+        return () -> {
+            var previousMdcContext = MDC.getCopyOfContextMap();
+            setContextMap(mdcContext);
+            try {
+                return supplier.get();
+            } finally {
+                setContextMap(previousMdcContext);
+            }
+        };
+    }
+
+    private static void setContextMap(Map<String, String> mdcContext) {
+        if (mdcContext == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(mdcContext);
+        }
+    }
+}
@@ -1,21 +1,20 @@
 package uk.nhs.adaptors.scr.mappings.from.fhir;
 
-import org.hl7.fhir.r4.model.Bundle;
 import org.hl7.fhir.r4.model.Composition;
 import uk.nhs.adaptors.scr.models.GpSummary;
 import uk.nhs.adaptors.scr.models.xml.Participant;
+import uk.nhs.adaptors.scr.utils.IndexedBundle;
 
 import static uk.nhs.adaptors.scr.mappings.from.fhir.ParticipantAgentMapper.setParticipantAgents;
 import static uk.nhs.adaptors.scr.utils.DateUtil.formatTimestampToHl7;
-import static uk.nhs.adaptors.scr.utils.FhirHelper.getDomainResource;
 
 /**
  * Map the author section from FHIR's "composition" resource type, into HL7.
  * Called by BundleMapper's call to GpSummary.fromBundle.
  */
 public class AuthorMapper {
-    public static void mapAuthor(GpSummary gpSummary, Bundle bundle) {
-        var composition = getDomainResource(bundle, Composition.class);
+    public static void mapAuthor(GpSummary gpSummary, IndexedBundle bundle) {
+        var composition = bundle.getDomainResource(Composition.class);
 
         var author = new Participant.Author();
 
@@ -9,13 +9,15 @@ import uk.nhs.adaptors.scr.config.ScrConfiguration;
 import uk.nhs.adaptors.scr.exceptions.FhirMappingException;
 import uk.nhs.adaptors.scr.logging.LogExecutionTime;
 import uk.nhs.adaptors.scr.models.GpSummary;
+import uk.nhs.adaptors.scr.utils.FilledTemplate;
+import uk.nhs.adaptors.scr.utils.IndexedBundle;
 import uk.nhs.adaptors.scr.utils.TemplateUtils;
 
 /**
  * This is the origin mapper which subsequently calls all the other mappers (through GpSummary.fomBundle).
  * It fills in a template file which contains the encompassing SOAP envelope for the HL7 document.
  * FHIR to HL7 conversion involves extracting values from parsable FHIR (JSON) and using it to fill in
- * mustache templates.
+ * mustache templates. The filled template is rendered when the request is written to Spine.
  */
 @Component
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
@@ -26,14 +28,14 @@ public class BundleMapper {
     private final ScrConfiguration scrConfiguration;
 
     @LogExecutionTime
-    public String map(Bundle bundle, String nhsdAsid) {
+    public FilledTemplate map(Bundle bundle, String nhsdAsid) {
         try {
             // Call mappers for each resource type.
-            GpSummary gpSummary = GpSummary.fromBundle(bundle, nhsdAsid);
+            GpSummary gpSummary = GpSummary.fromBundle(new IndexedBundle(bundle), nhsdAsid);
             gpSummary.setPartyIdFrom(scrConfiguration.getPartyIdFrom());
             gpSummary.setPartyIdTo(scrConfiguration.getPartyIdTo());
             gpSummary.setNhsdAsidTo(scrConfiguration.getNhsdAsidTo());
-            return TemplateUtils.fillTemplate(REPC_RM150007UK05_TEMPLATE, gpSummary);
+            return TemplateUtils.prepareTemplate(REPC_RM150007UK05_TEMPLATE, gpSummary);
 
         } catch (Exception ex) {
             throw new FhirMappingException(ex.getMessage());
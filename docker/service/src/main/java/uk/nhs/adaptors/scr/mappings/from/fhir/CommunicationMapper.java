@@ -1,6 +1,5 @@
 package uk.nhs.adaptors.scr.mappings.from.fhir;
 
-import org.hl7.fhir.r4.model.Bundle;
 import org.hl7.fhir.r4.model.Communication;
 import uk.nhs.adaptors.scr.exceptions.FhirValidationException;
 import uk.nhs.adaptors.scr.models.GpSummary;
@@ -8,15 +7,13 @@ import uk.nhs.adaptors.scr.models.xml.CareProfessionalDocumentation;
 import uk.nhs.adaptors.scr.models.xml.PatientCarerCorrespondence;
 import uk.nhs.adaptors.scr.models.xml.ProvisionOfAdviceAndInformation;
 import uk.nhs.adaptors.scr.models.xml.ThirdPartyCorrespondence;
+import uk.nhs.adaptors.scr.utils.IndexedBundle;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
-import static uk.nhs.adaptors.scr.utils.FhirHelper.getDomainResourceList;
-
 /**
  * Many of the non-core CREs have a parent category (the basis of the CRE).
  * "Communication" is the parent category of:
@@ -28,28 +25,24 @@ import static uk.nhs.adaptors.scr.utils.FhirHelper.getDomainResourceList;
  * Consider this mapper a parent or container for the sub-mappers.
  * In SNOMED terms, the Communication is a "qualifier value".
  * In FHIR terms, the Communication is a "resourceType".
- * This method uses the Java "Predicate" interface to help with comparisons.
+ * Resources are picked by their SNOMED category code, see IndexedBundle.
  *
  * See: src/test/resources/third_party_correspondence/example.json
  */
 public class CommunicationMapper {
     // Documentation of SNOMED code, see: https://bit.ly/3R6QKLi
-    private static final Predicate<Communication> IS_PATIENT_CARER_CORRESPONDENCE =
-        communication -> "163181000000107".equals(communication.getCategoryFirstRep().getCodingFirstRep().getCode());
+    private static final String PATIENT_CARER_CORRESPONDENCE_CODE = "163181000000107";
 
     // Documentation of SNOMED code, see: https://bit.ly/3SQSv0A
-    private static final Predicate<Communication> IS_CARE_PROFESSIONAL_DOCUMENTATION =
-        communication -> "163171000000105".equals(communication.getCategoryFirstRep().getCodingFirstRep().getCode());
+    private static final String CARE_PROFESSIONAL_DOCUMENTATION_CODE = "163171000000105";
 
      // Documentation of SNOMED code, see: https://bit.ly/46hORji
-    private static final Predicate<Communication> IS_THIRD_PARTY_CORRESPONDENCE =
-        communication -> "163191000000109".equals(communication.getCategoryFirstRep().getCodingFirstRep().getCode());
+    private static final String THIRD_PARTY_CORRESPONDENCE_CODE = "163191000000109";
 
     // Documentation of SNOMED code, see: https://bit.ly/3szy6lZ
-    private static final Predicate<Communication> IS_PROVISION_OF_ADVICE_AND_INFORMATION =
-        communication -> "163101000000102".equals(communication.getCategoryFirstRep().getCodingFirstRep().getCode());
+    private static final String PROVISION_OF_ADVICE_AND_INFORMATION_CODE = "163101000000102";
 
-    public static void mapCommunications(GpSummary gpSummary, Bundle bundle) {
+    public static void mapCommunications(GpSummary gpSummary, IndexedBundle bundle) {
         validate(bundle);
         gpSummary.getPatientCarerCorrespondences()
             .addAll(mapPatientAndCarersCorrespondence(bundle));
@@ -57,7 +50,7 @@ public class CommunicationMapper {
             .addAll(mapProvisionOfAdviceAndInformation(bundle));
     }
 
-    public static void mapCommunicationsWithAdditionalInfoButton(GpSummary gpSummary, Bundle bundle,
+    public static void mapCommunicationsWithAdditionalInfoButton(GpSummary gpSummary, IndexedBundle bundle,
                                                                  Map<String, String> additionalInformationHeaders) {
         validate(bundle);
         gpSummary.getThirdPartyCorrespondences()
@@ -74,10 +67,9 @@ public class CommunicationMapper {
      * @param bundle
      * @return PatientCarerCorrespondence List
      */
-    private static List<PatientCarerCorrespondence> mapPatientAndCarersCorrespondence(Bundle bundle) {
+    private static List<PatientCarerCorrespondence> mapPatientAndCarersCorrespondence(IndexedBundle bundle) {
         var patientAndCarersCorrespondenceMapper = new PatientAndCarersCorrespondenceMapper();
-        return getDomainResourceList(bundle, Communication.class).stream()
-            .filter(IS_PATIENT_CARER_CORRESPONDENCE)
+        return bundle.getDomainResourceList(Communication.class, PATIENT_CARER_CORRESPONDENCE_CODE).stream()
             .map(communication -> patientAndCarersCorrespondenceMapper.mapPatientCarerCorrespondence(communication))
             .collect(Collectors.toList());
     }
@@ -87,10 +79,9 @@ public class CommunicationMapper {
      * @param bundle
      * @return ProvisionOfAdviceAndInformation List
      */
-    private static List<ProvisionOfAdviceAndInformation> mapProvisionOfAdviceAndInformation(Bundle bundle) {
+    private static List<ProvisionOfAdviceAndInformation> mapProvisionOfAdviceAndInformation(IndexedBundle bundle) {
         var provisionOfAdviceAndInformationMapper = new ProvisionOfAdviceAndInfoMapper();
-        return getDomainResourceList(bundle, Communication.class).stream()
-            .filter(IS_PROVISION_OF_ADVICE_AND_INFORMATION)
+        return bundle.getDomainResourceList(Communication.class, PROVISION_OF_ADVICE_AND_INFORMATION_CODE).stream()
             .map(communication -> provisionOfAdviceAndInformationMapper.mapProvisionOfAdviceInfo(communication))
             .collect(Collectors.toList());
     }
@@ -100,11 +91,10 @@ public class CommunicationMapper {
      * @param bundle
      * @return ProvisionOfAdviceAndInformation List
      */
-    private static List<ThirdPartyCorrespondence> mapThirdPartyCorrespondence(Bundle bundle) {
+    private static List<ThirdPartyCorrespondence> mapThirdPartyCorrespondence(IndexedBundle bundle) {
         var thirdPartyCorrespondenceMapper = new ThirdPartyCorrespondenceMapper();
 
-        return getDomainResourceList(bundle, Communication.class).stream()
-            .filter(IS_THIRD_PARTY_CORRESPONDENCE)
+        return bundle.getDomainResourceList(Communication.class, THIRD_PARTY_CORRESPONDENCE_CODE).stream()
             .map(communication -> thirdPartyCorrespondenceMapper.mapThirdPartyCorrespondence(communication))
             .collect(Collectors.toList());
     }
@@ -115,7 +105,7 @@ public class CommunicationMapper {
      * @return ProvisionOfAdviceAndInformation List
      */
     private static ThirdPartyCorrespondence mapAdditionalInformationButton(
-            Bundle bundle,
+            IndexedBundle bundle,
             Map<String, String> additionalInformationHeaders) {
         var thirdPartyCorrespondenceMapper = new ThirdPartyCorrespondenceMapper();
 
@@ -137,16 +127,15 @@ public class CommunicationMapper {
      * @param bundle
      * @return CareProfessionalDocumentation List
      */
-    private static List<CareProfessionalDocumentation> mapCareProfessionalDocumentation(Bundle bundle) {
+    private static List<CareProfessionalDocumentation> mapCareProfessionalDocumentation(IndexedBundle bundle) {
         var careProfessionalDocumentationMapper = new CareProfessionalDocumentationMapper();
-        return getDomainResourceList(bundle, Communication.class).stream()
-            .filter(IS_CARE_PROFESSIONAL_DOCUMENTATION)
+        return bundle.getDomainResourceList(Communication.class, CARE_PROFESSIONAL_DOCUMENTATION_CODE).stream()
             .map(communication -> careProfessionalDocumentationMapper.map(communication))
             .collect(Collectors.toList());
     }
 
-    private static void validate(Bundle bundle) {
-        getDomainResourceList(bundle, Communication.class).stream()
+    private static void validate(IndexedBundle bundle) {
+        bundle.getDomainResourceList(Communication.class).stream()
             .forEach(it -> {
                 if (!it.hasId()) {
                     throw new FhirValidationException("Communication.id is missing");
@@ -1,12 +1,12 @@
 package uk.nhs.adaptors.scr.mappings.from.fhir;
 
-import org.hl7.fhir.r4.model.Bundle;
 import org.hl7.fhir.r4.model.Coding;
 import org.hl7.fhir.r4.model.Composition;
 import uk.nhs.adaptors.scr.exceptions.FhirMappingException;
 import uk.nhs.adaptors.scr.exceptions.FhirValidationException;
 import uk.nhs.adaptors.scr.models.GpSummary;
 import uk.nhs.adaptors.scr.models.xml.Presentation;
+import uk.nhs.adaptors.scr.utils.IndexedBundle;
 
 import static org.hl7.fhir.r4.model.Composition.CompositionStatus.FINAL;
 import static org.hl7.fhir.r4.model.Composition.DocumentRelationshipType.REPLACES;
@@ -16,7 +16,6 @@ import static uk.nhs.adaptors.scr.mappings.from.hl7.HtmlParser.serialize;
 import static uk.nhs.adaptors.scr.mappings.from.hl7.XmlToFhirMapper.SNOMED_SYSTEM;
 import static uk.nhs.adaptors.scr.utils.DateUtil.formatDateToHl7;
 import static uk.nhs.adaptors.scr.utils.DocumentBuilderUtil.parseDocument;
-import static uk.nhs.adaptors.scr.utils.FhirHelper.getDomainResource;
 import static uk.nhs.adaptors.scr.utils.FhirHelper.randomUUID;
 
 /**
@@ -34,8 +33,8 @@ public class CompositionMapper {
     private static final String GP_SUMMARY_TYPE_DISPLAY = "General Practice Summary";
     private static final String IDENTIFIER_SYSTEM = "https://tools.ietf.org/html/rfc4122";
 
-    public static void mapComposition(GpSummary gpSummary, Bundle bundle) throws FhirMappingException {
-        var composition = getDomainResource(bundle, Composition.class);
+    public static void mapComposition(GpSummary gpSummary, IndexedBundle bundle) throws FhirMappingException {
+        var composition = bundle.getDomainResource(Composition.class);
         validateCategory(composition);
         validateType(composition);
         validateStatus(composition);
@@ -2,7 +2,6 @@ package uk.nhs.adaptors.scr.mappings.from.fhir;
 
 import io.micrometer.core.instrument.util.StringUtils;
 import lombok.extern.slf4j.Slf4j;
-import org.hl7.fhir.r4.model.Bundle;
 import org.hl7.fhir.r4.model.CodeableConcept;
 import org.hl7.fhir.r4.model.Coding;
 import org.hl7.fhir.r4.model.Condition;
@@ -13,18 +12,16 @@ import uk.nhs.adaptors.scr.exceptions.FhirValidationException;
 import uk.nhs.adaptors.scr.models.GpSummary;
 import uk.nhs.adaptors.scr.models.xml.Diagnosis;
 import uk.nhs.adaptors.scr.models.xml.Problem;
+import uk.nhs.adaptors.scr.utils.IndexedBundle;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static uk.nhs.adaptors.scr.mappings.from.fhir.ParticipantAgentMapper.mapAuthor;
 import static uk.nhs.adaptors.scr.mappings.from.fhir.ParticipantAgentMapper.mapInformant;
 import static uk.nhs.adaptors.scr.mappings.from.hl7.XmlToFhirMapper.SNOMED_SYSTEM;
 import static uk.nhs.adaptors.scr.utils.DateUtil.formatDateToHl7;
-import static uk.nhs.adaptors.scr.utils.FhirHelper.getDomainResourceList;
-import static uk.nhs.adaptors.scr.utils.FhirHelper.getResourceByReference;
 
 @Slf4j
 /**
@@ -38,12 +35,10 @@ import static uk.nhs.adaptors.scr.utils.FhirHelper.getResourceByReference;
 public class ConditionMapper {
 
     private static final String PARTICIPATION_TYPE_SYSTEM = "http://terminology.hl7.org/CodeSystem/v3-ParticipationType";
-    private static final Predicate<Condition> IS_DIAGNOSES =
-        condition -> "163001000000103".equals(condition.getCategoryFirstRep().getCodingFirstRep().getCode());
-    private static final Predicate<Condition> IS_PROBLEM =
-        condition -> "162991000000102".equals(condition.getCategoryFirstRep().getCodingFirstRep().getCode());
+    private static final String DIAGNOSES_CODE = "163001000000103";
+    private static final String PROBLEM_CODE = "162991000000102";
 
-    public static void mapConditions(GpSummary gpSummary, Bundle bundle) {
+    public static void mapConditions(GpSummary gpSummary, IndexedBundle bundle) {
         validate(bundle);
 
         gpSummary.getDiagnoses()
@@ -53,8 +48,8 @@ public class ConditionMapper {
             .addAll(mapProblems(bundle));
     }
 
-    private static void validate(Bundle bundle) {
-        getDomainResourceList(bundle, Condition.class).stream()
+    private static void validate(IndexedBundle bundle) {
+        bundle.getDomainResourceList(Condition.class).stream()
             .forEach(it -> {
                 if (!it.getIdentifierFirstRep().hasValue()) {
                     throw new FhirValidationException("Condition.identifier.value is missing");
@@ -76,9 +71,8 @@ public class ConditionMapper {
      * @param bundle
      * @return
      */
-    private static List<Diagnosis> mapDiagnoses(Bundle bundle) {
-        return getDomainResourceList(bundle, Condition.class).stream()
-            .filter(IS_DIAGNOSES)
+    private static List<Diagnosis> mapDiagnoses(IndexedBundle bundle) {
+        return bundle.getDomainResourceList(Condition.class, DIAGNOSES_CODE).stream()
             .map(condition -> mapDiagnosis(condition, bundle))
             .collect(Collectors.toList());
     }
@@ -88,10 +82,9 @@ public class ConditionMapper {
      * @param bundle
      * @return
      */
-    private static List<Problem> mapProblems(Bundle bundle) {
+    private static List<Problem> mapProblems(IndexedBundle bundle) {
         var mapper = new ProblemMapper();
-        return getDomainResourceList(bundle, Condition.class).stream()
-            .filter(IS_PROBLEM)
+        return bundle.getDomainResourceList(Condition.class, PROBLEM_CODE).stream()
             .map(condition -> mapper.mapProblem(condition))
             .collect(Collectors.toList());
     }
@@ -103,7 +96,7 @@ public class ConditionMapper {
      * @return
      * @throws FhirMappingException
      */
-    private static Diagnosis mapDiagnosis(Condition condition, Bundle bundle) throws FhirMappingException {
+    private static Diagnosis mapDiagnosis(Condition condition, IndexedBundle bundle) throws FhirMappingException {
         var diagnosis = new Diagnosis();
 
         diagnosis.setIdRoot(condition.getIdentifierFirstRep().getValue());
@@ -126,7 +119,7 @@ public class ConditionMapper {
         LOGGER.debug("Looking up Encounter for Condition.id={}", condition.getIdElement().getIdPart());
         var encounterReference = condition.getEncounter().getReference();
         if (StringUtils.isNotBlank(encounterReference)) {
-            var encounter = getResourceByReference(bundle, encounterReference, Encounter.class)
+            var encounter = bundle.getResourceByReference(encounterReference, Encounter.class)
                 .orElseThrow(() ->
                     new FhirValidationException(String.format("Bundle is Missing Encounter %s that is linked to Condition %s",
                         condition.getEncounter().getReference(), condition.getId())));
@@ -2,7 +2,6 @@ package uk.nhs.adaptors.scr.mappings.from.fhir;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.hl7.fhir.r4.model.Bundle;
 import org.hl7.fhir.r4.model.Coding;
 import org.hl7.fhir.r4.model.DateTimeType;
 import org.hl7.fhir.r4.model.Encounter;
@@ -16,9 +15,9 @@ import uk.nhs.adaptors.scr.models.xml.Finding;
 import uk.nhs.adaptors.scr.models.xml.Lifestyle;
 import uk.nhs.adaptors.scr.models.xml.RiskToPatient;
 import uk.nhs.adaptors.scr.models.xml.SocialOrPersonalCircumstance;
+import uk.nhs.adaptors.scr.utils.IndexedBundle;
 
 import java.util.List;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static uk.nhs.adaptors.scr.mappings.from.fhir.ParticipantAgentMapper.mapAuthor1;
@@ -26,8 +25,6 @@ import static uk.nhs.adaptors.scr.mappings.from.fhir.ParticipantAgentMapper.mapI
 import static uk.nhs.adaptors.scr.mappings.from.fhir.ParticipantAgentMapper.mapPerformer;
 import static uk.nhs.adaptors.scr.mappings.from.hl7.XmlToFhirMapper.SNOMED_SYSTEM;
 import static uk.nhs.adaptors.scr.utils.DateUtil.formatDateToHl7;
-import static uk.nhs.adaptors.scr.utils.FhirHelper.getDomainResourceList;
-import static uk.nhs.adaptors.scr.utils.FhirHelper.getResourceByReference;
 
 /**
  * Map the Observation "resourceType" from FHIR, into HL7.
@@ -43,20 +40,14 @@ import static uk.nhs.adaptors.scr.utils.FhirHelper.getResourceByReference;
 @Slf4j
 public class ObservationMapper {
     private static final String PARTICIPATION_TYPE_SYSTEM = "http://terminology.hl7.org/CodeSystem/v3-ParticipationType";
-    private static final Predicate<Observation> IS_CLINICAL_OBSERVATION_AND_FINDING =
-        observation -> "163131000000108".equals(observation.getCategoryFirstRep().getCodingFirstRep().getCode());
-    private static final Predicate<Observation> IS_INVESTIGATION_RESULT =
-        observation -> "163141000000104".equals(observation.getCategoryFirstRep().getCodingFirstRep().getCode());
-    private static final Predicate<Observation> IS_RISK_TO_PATIENT =
-        observation -> "163231000000100".equals(observation.getCategoryFirstRep().getCodingFirstRep().getCode());
-    private static final Predicate<Observation> IS_SOCIAL_OR_PERSONAL_CIRCUMSTANCES =
-        observation -> "163021000000107".equals(observation.getCategoryFirstRep().getCodingFirstRep().getCode());
-    private static final Predicate<Observation> IS_FAMILY_HISTORY =
-        observation -> "163051000000102".equals(observation.getCategoryFirstRep().getCodingFirstRep().getCode());
-    private static final Predicate<Observation> IS_LIFESTYLE =
-        observation -> "163021000000107".equals(observation.getCategoryFirstRep().getCodingFirstRep().getCode());
-
-    public static void mapObservations(GpSummary gpSummary, Bundle bundle) {
+    private static final String CLINICAL_OBSERVATION_AND_FINDING_CODE = "163131000000108";
+    private static final String INVESTIGATION_RESULT_CODE = "163141000000104";
+    private static final String RISK_TO_PATIENT_CODE = "163231000000100";
+    private static final String SOCIAL_OR_PERSONAL_CIRCUMSTANCES_CODE = "163021000000107";
+    private static final String FAMILY_HISTORY_CODE = "163051000000102";
+    private static final String LIFESTYLE_CODE = "163021000000107";
+
+    public static void mapObservations(GpSummary gpSummary, IndexedBundle bundle) {
         validate(bundle);
         gpSummary.getClinicalObservationsAndFindings()
             .addAll(mapClinicalObservationsAndFindings(bundle));
@@ -72,8 +63,8 @@ public class ObservationMapper {
             .addAll(mapLifestyles(bundle));
     }
 
-    private static void validate(Bundle bundle) {
-        getDomainResourceList(bundle, Observation.class).stream()
+    private static void validate(IndexedBundle bundle) {
+        bundle.getDomainResourceList(Observation.class).stream()
             .forEach(it -> {
                 if (!it.getIdentifierFirstRep().hasValue()) {
                     throw new FhirValidationException("Observation.identifier.value is missing");
@@ -90,48 +81,42 @@ public class ObservationMapper {
             });
     }
 
-    private static List<Finding> mapClinicalObservationsAndFindings(Bundle bundle) {
-        return getDomainResourceList(bundle, Observation.class).stream()
-            .filter(IS_CLINICAL_OBSERVATION_AND_FINDING)
+    private static List<Finding> mapClinicalObservationsAndFindings(IndexedBundle bundle) {
+        return bundle.getDomainResourceList(Observation.class, CLINICAL_OBSERVATION_AND_FINDING_CODE).stream()
             .map(observation -> mapFinding(observation, bundle))
             .collect(Collectors.toList());
     }
 
-    private static List<Finding> mapInvestigationResults(Bundle bundle) {
-        return getDomainResourceList(bundle, Observation.class).stream()
-            .filter(IS_INVESTIGATION_RESULT)
+    private static List<Finding> mapInvestigationResults(IndexedBundle bundle) {
+        return bundle.getDomainResourceList(Observation.class, INVESTIGATION_RESULT_CODE).stream()
             .map(observation -> mapFinding(observation, bundle))
             .collect(Collectors.toList());
     }
 
-    private static List<RiskToPatient> mapRisksToPatient(Bundle bundle) {
+    private static List<RiskToPatient> mapRisksToPatient(IndexedBundle bundle) {
         var mapper = new RiskToPatientMapper();
-        return getDomainResourceList(bundle, Observation.class).stream()
-            .filter(IS_RISK_TO_PATIENT)
+        return bundle.getDomainResourceList(Observation.class, RISK_TO_PATIENT_CODE).stream()
             .map(observation -> mapper.map(observation))
             .collect(Collectors.toList());
     }
 
-    private static List<SocialOrPersonalCircumstance> mapSocialOrPersonalCircumstances(Bundle bundle) {
+    private static List<SocialOrPersonalCircumstance> mapSocialOrPersonalCircumstances(IndexedBundle bundle) {
         var mapper = new SocialOrPersonalCircumstanceMapper();
-        return getDomainResourceList(bundle, Observation.class).stream()
-            .filter(IS_SOCIAL_OR_PERSONAL_CIRCUMSTANCES)
+        return bundle.getDomainResourceList(Observation.class, SOCIAL_OR_PERSONAL_CIRCUMSTANCES_CODE).stream()
             .map(observation -> mapper.map(observation))
             .collect(Collectors.toList());
     }
 
-    private static List<FamilyHistory> mapFamilyHistories(Bundle bundle) {
+    private static List<FamilyHistory> mapFamilyHistories(IndexedBundle bundle) {
         var mapper = new FamilyHistoryMapper();
-        return getDomainResourceList(bundle, Observation.class).stream()
-            .filter(IS_FAMILY_HISTORY)
+        return bundle.getDomainResourceList(Observation.class, FAMILY_HISTORY_CODE).stream()
             .map(observation -> mapper.map(observation))
             .collect(Collectors.toList());
     }
 
-    private static List<Lifestyle> mapLifestyles(Bundle bundle) {
+    private static List<Lifestyle> mapLifestyles(IndexedBundle bundle) {
         var mapper = new LifestyleMapper();
-        return getDomainResourceList(bundle, Observation.class).stream()
-            .filter(IS_LIFESTYLE)
+        return bundle.getDomainResourceList(Observation.class, LIFESTYLE_CODE).stream()
             .map(observation -> mapper.map(observation))
             .collect(Collectors.toList());
     }
@@ -159,12 +144,12 @@ public class ObservationMapper {
         return finding;
     }
 
-    private static Finding mapFinding(Observation observation, Bundle bundle) {
+    private static Finding mapFinding(Observation observation, IndexedBundle bundle) {
         var finding = setupFindings(observation);
 
         var encounterReference = observation.getEncounter().getReference();
         if (StringUtils.isNotBlank(encounterReference)) {
-            var encounter = getResourceByReference(bundle, encounterReference, Encounter.class)
+            var encounter = bundle.getResourceByReference(encounterReference, Encounter.class)
                 .orElseThrow(() ->
                     new FhirValidationException(String.format("Bundle is Missing Encounter %s that is linked to Condition %s",
                         observation.getEncounter().getReference(), observation.getId())));
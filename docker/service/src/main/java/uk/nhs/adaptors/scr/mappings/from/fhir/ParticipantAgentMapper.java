@@ -2,7 +2,6 @@ package uk.nhs.adaptors.scr.mappings.from.fhir;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
-import org.hl7.fhir.r4.model.Bundle;
 import org.hl7.fhir.r4.model.CodeableConcept;
 import org.hl7.fhir.r4.model.Coding;
 import org.hl7.fhir.r4.model.ContactPoint;
@@ -25,6 +24,7 @@ import uk.nhs.adaptors.scr.models.xml.OrganizationSDS;
 import uk.nhs.adaptors.scr.models.xml.Participant;
 import uk.nhs.adaptors.scr.models.xml.Person;
 import uk.nhs.adaptors.scr.models.xml.PersonSDS;
+import uk.nhs.adaptors.scr.utils.IndexedBundle;
 
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -33,8 +33,6 @@ import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 import static org.hl7.fhir.r4.model.Device.DeviceNameType.MANUFACTURERNAME;
 import static org.hl7.fhir.r4.model.Device.DeviceNameType.OTHER;
 import static uk.nhs.adaptors.scr.utils.DateUtil.formatDateToHl7;
-import static uk.nhs.adaptors.scr.utils.FhirHelper.getDomainResourceList;
-import static uk.nhs.adaptors.scr.utils.FhirHelper.getResourceByReference;
 
 /**
  * Used by AuthorMapper and other places where author needs mapped.
@@ -50,7 +48,7 @@ public class ParticipantAgentMapper {
     private static final String USER_SDS_SYSTEM = "https://fhir.nhs.uk/Id/sds-user-id";
     private static final String ID_ROOT = "1.2.826.0.1285.0.1.10";
 
-    public static Participant.Author mapAuthor(Bundle bundle, EncounterParticipantComponent encounterParticipant) {
+    public static Participant.Author mapAuthor(IndexedBundle bundle, EncounterParticipantComponent encounterParticipant) {
         var author = new Participant.Author();
         if (!encounterParticipant.getPeriod().hasStart()) {
             throw new FhirValidationException("Encounter.participant.period.start element is missing");
@@ -60,12 +58,12 @@ public class ParticipantAgentMapper {
         return author;
     }
 
-    public static Participant.Author1 mapAuthor1(Bundle bundle, EncounterParticipantComponent encounterParticipant) {
+    public static Participant.Author1 mapAuthor1(IndexedBundle bundle, EncounterParticipantComponent encounterParticipant) {
         var author = new Participant.Author1();
         author.setTime(formatDateToHl7(encounterParticipant.getPeriod().getStartElement()));
 
         var practitionerRoleReference = encounterParticipant.getIndividual().getReference();
-        var practitionerRole = getResourceByReference(bundle, practitionerRoleReference, PractitionerRole.class)
+        var practitionerRole = bundle.getResourceByReference(practitionerRoleReference, PractitionerRole.class)
                 .orElseThrow(() -> new FhirValidationException(String.format(
                         "Bundle is missing PractitionerRole %s that is linked to Encounter", practitionerRoleReference)));
 
@@ -77,11 +75,11 @@ public class ParticipantAgentMapper {
         return author;
     }
 
-    private static void setAgentDevice(Bundle bundle, Reference individual, Participant.Author1 author) {
+    private static void setAgentDevice(IndexedBundle bundle, Reference individual, Participant.Author1 author) {
         var organizationReference = individual.getReference();
-        var organization = getResourceByReference(bundle, organizationReference, org.hl7.fhir.r4.model.Organization.class)
+        var organization = bundle.getResourceByReference(organizationReference, org.hl7.fhir.r4.model.Organization.class)
                 .orElseThrow(() -> new FhirValidationException("Bundle is missing Organization %s that is linked to PractitionerRole"));
-        var device = getDomainResourceList(bundle, org.hl7.fhir.r4.model.Device.class).stream()
+        var device = bundle.getDomainResourceList(org.hl7.fhir.r4.model.Device.class).stream()
                 .filter(dev -> organizationReference.equals(dev.getOwner().getReference()))
                 .reduce((a, b) -> {
                     throw new FhirValidationException(String.format("Bundle has more than 1 Device resource referencing %s",
@@ -161,7 +159,7 @@ public class ParticipantAgentMapper {
 
     }
 
-    public static Participant.Informant mapInformant(Bundle bundle, EncounterParticipantComponent encounterParticipant) {
+    public static Participant.Informant mapInformant(IndexedBundle bundle, EncounterParticipantComponent encounterParticipant) {
         var informant = new Participant.Informant();
         informant.setTime(formatDateToHl7(encounterParticipant.getPeriod().getStartElement()));
 
@@ -169,7 +167,7 @@ public class ParticipantAgentMapper {
         if (PractitionerRole.class.getSimpleName().equals(participantType)) {
             setParticipantAgents(bundle, encounterParticipant.getIndividual(), informant);
         } else if (RelatedPerson.class.getSimpleName().equals(participantType)) {
-            var relatedPerson = getResourceByReference(bundle, encounterParticipant.getIndividual().getReference(),
+            var relatedPerson = bundle.getResourceByReference(encounterParticipant.getIndividual().getReference(),
                     RelatedPerson.class)
                     .orElseThrow(() -> new FhirValidationException(
                             String.format("Bundle is missing RelatedPerson %s that is linked to Encounter",
@@ -208,7 +206,7 @@ public class ParticipantAgentMapper {
         }
     }
 
-    public static Participant.Performer mapPerformer(Bundle bundle, EncounterParticipantComponent encounterParticipant) {
+    public static Participant.Performer mapPerformer(IndexedBundle bundle, EncounterParticipantComponent encounterParticipant) {
         var performer = new Participant.Performer();
         performer.setTime(formatDateToHl7(encounterParticipant.getPeriod().getStartElement()));
         var modeCodeExtension = encounterParticipant.getExtensionByUrl(MODE_CODE_URL);
@@ -220,8 +218,8 @@ public class ParticipantAgentMapper {
         return performer;
     }
 
-    public static void setParticipantAgents(Bundle bundle, Reference individual, Participant participant) {
-        var practitionerRole = getResourceByReference(bundle, individual.getReference(), PractitionerRole.class)
+    public static void setParticipantAgents(IndexedBundle bundle, Reference individual, Participant participant) {
+        var practitionerRole = bundle.getResourceByReference(individual.getReference(), PractitionerRole.class)
                 .orElseThrow(() -> new FhirValidationException(
                         String.format("Bundle is missing PractitionerRole %s that is linked to Encounter", individual.getReference())));
 
@@ -230,7 +228,7 @@ public class ParticipantAgentMapper {
             throw new FhirValidationException(
                 String.format("PractitionerRole %s is missing Practitioner reference", practitionerRole.getId()));
         }
-        var practitioner = getResourceByReference(bundle, practitionerRole.getPractitioner().getReference(),
+        var practitioner = bundle.getResourceByReference(practitionerRole.getPractitioner().getReference(),
                 Practitioner.class)
                 .orElseThrow(() -> new FhirValidationException(
                         String.format("Bundle is missing Practitioner %s that is linked to PractitionerRole %s",
@@ -267,12 +265,12 @@ public class ParticipantAgentMapper {
         participant.setAgentPersonSDS(agentPersonSDS);
     }
 
-    private static void setupWithJobRoleName(Bundle bundle,
+    private static void setupWithJobRoleName(IndexedBundle bundle,
                                              PractitionerRole practitionerRole,
                                              Practitioner practitioner,
                                              Participant participant) {
 
-        var organization = getResourceByReference(bundle, practitionerRole.getOrganization().getReference(),
+        var organization = bundle.getResourceByReference(practitionerRole.getOrganization().getReference(),
             org.hl7.fhir.r4.model.Organization.class)
             .orElseThrow(() -> new FhirValidationException(
                 String.format("Bundle is missing Organization %s that is linked to PractitionerRole %s",
@@ -1,7 +1,6 @@
 package uk.nhs.adaptors.scr.mappings.from.fhir;
 
 import org.apache.commons.lang3.StringUtils;
-import org.hl7.fhir.r4.model.Bundle;
 import org.hl7.fhir.r4.model.Composition;
 import org.hl7.fhir.r4.model.Identifier;
 import org.hl7.fhir.r4.model.Patient;
@@ -9,9 +8,9 @@ import org.springframework.stereotype.Component;
 import uk.nhs.adaptors.scr.exceptions.FhirMappingException;
 import uk.nhs.adaptors.scr.exceptions.FhirValidationException;
 import uk.nhs.adaptors.scr.models.GpSummary;
+import uk.nhs.adaptors.scr.utils.IndexedBundle;
 
 import static uk.nhs.adaptors.scr.utils.FhirHelper.NHS_NUMBER_IDENTIFIER_SYSTEM;
-import static uk.nhs.adaptors.scr.utils.FhirHelper.getDomainResource;
 
 /**
  * Map the patient section from FHIR's "entry.patient" resource type, into HL7.
@@ -20,10 +19,10 @@ import static uk.nhs.adaptors.scr.utils.FhirHelper.getDomainResource;
 @Component
 public class PatientMapper {
 
-    public static void mapPatient(GpSummary gpSummary, Bundle bundle) throws FhirMappingException {
-        Patient patient = getDomainResource(bundle, Patient.class);
+    public static void mapPatient(GpSummary gpSummary, IndexedBundle bundle) throws FhirMappingException {
+        Patient patient = bundle.getDomainResource(Patient.class);
         setPatientIds(gpSummary, patient);
-        var composition = getDomainResource(bundle, Composition.class);
+        var composition = bundle.getDomainResource(Composition.class);
         if (!composition.hasSubject() || !patient.getId().contains(composition.getSubject().getReference())) {
             throw new FhirValidationException("Composition.subject reference is missing or invalid");
         }
@@ -1,17 +1,14 @@
 package uk.nhs.adaptors.scr.mappings.from.fhir;
 
-import org.hl7.fhir.r4.model.Bundle;
 import org.hl7.fhir.r4.model.Procedure;
 import uk.nhs.adaptors.scr.exceptions.FhirValidationException;
 import uk.nhs.adaptors.scr.models.GpSummary;
 import uk.nhs.adaptors.scr.models.xml.Treatment;
+import uk.nhs.adaptors.scr.utils.IndexedBundle;
 
 import java.util.List;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
-import static uk.nhs.adaptors.scr.utils.FhirHelper.getDomainResourceList;
-
 /**
  * Many of the non-core CREs have a parent category (the basis of the CRE).
  * "Procedure" is the parent category of:
@@ -19,7 +16,7 @@ import static uk.nhs.adaptors.scr.utils.FhirHelper.getDomainResourceList;
  * Consider this mapper a parent or container for the sub-mappers.
  * In SNOMED terms, the Communication is a "qualifier value".
  * In FHIR terms, the Communication is a "resourceType".
- * This method uses the Java "Predicate" interface to help with comparisons.
+ * Resources are picked by their SNOMED category code, see IndexedBundle.
  *
  * CMET: UKCT_MT144055UK01
  * Snomed: 163071000000106
@@ -27,25 +24,23 @@ import static uk.nhs.adaptors.scr.utils.FhirHelper.getDomainResourceList;
  * @see: src/test/resources/treatments/example.html
  */
 public class ProcedureMapper {
-    private static final Predicate<Procedure> IS_TREATMENT =
-        procedure -> "163071000000106".equals(procedure.getCategory().getCodingFirstRep().getCode());
+    private static final String TREATMENT_CODE = "163071000000106";
 
-    public static void mapProcedures(GpSummary gpSummary, Bundle bundle) {
+    public static void mapProcedures(GpSummary gpSummary, IndexedBundle bundle) {
         validate(bundle);
         gpSummary.getTreatments()
             .addAll(mapTreatments(bundle));
     }
 
-    private static List<Treatment> mapTreatments(Bundle bundle) {
+    private static List<Treatment> mapTreatments(IndexedBundle bundle) {
         var treatmentMapper = new TreatmentMapper();
-        return getDomainResourceList(bundle, Procedure.class).stream()
-            .filter(IS_TREATMENT)
+        return bundle.getDomainResourceList(Procedure.class, TREATMENT_CODE).stream()
             .map(procedure -> treatmentMapper.mapTreatment(procedure))
             .collect(Collectors.toList());
     }
 
-    private static void validate(Bundle bundle) {
-        getDomainResourceList(bundle, Procedure.class).stream()
+    private static void validate(IndexedBundle bundle) {
+        bundle.getDomainResourceList(Procedure.class).stream()
             .forEach(it -> {
                 if (!it.hasId()) {
                     throw new FhirValidationException("Procedure.id is missing");
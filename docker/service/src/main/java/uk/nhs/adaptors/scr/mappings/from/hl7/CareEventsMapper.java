@@ -44,7 +44,6 @@ public class CareEventsMapper implements XmlToFhirMapper {
     private static final String CARE_EVENT_BASE_PATH = "./component/UKCT_MT144037UK01.CareEvent";
     private static final String UK_CORE_OBSERVATION_META = "https://fhir.hl7.org.uk/StructureDefinition/UKCore-Encounter";
     private static final String ENCOUNTER_CLASS_SYSTEM = "http://terminology.hl7.org/CodeSystem/v3-ActCode";
-    private List<CodeableConcept> coding = new ArrayList<>();
 
 
     public List<Resource> map(Node document) {
@@ -81,13 +80,11 @@ public class CareEventsMapper implements XmlToFhirMapper {
             .setSystem(ENCOUNTER_CLASS_SYSTEM)
             .setDisplay("General"));
 
-        coding.add(new CodeableConcept().addCoding(new Coding()
+        careEvent.addType(new CodeableConcept().addCoding(new Coding()
             .setCode(entry.getCodeValue())
             .setSystem(SNOMED_SYSTEM)
             .setDisplay(entry.getCodeDisplay())));
 
-        careEvent.setType(coding);
-
         resources.add(careEvent);
     }
 
@@ -84,8 +84,18 @@ public class GpSummaryMapper implements XmlToFhirMapper {
     private final HtmlParser htmlParser;
     private final XmlUtils xmlUtils;
 
-    @SneakyThrows
     public List<Resource> map(Node document) {
+        Map<String, List<String>> references = new HashMap<>();
+        collectSectionReferences(document, references);
+        return map(document, references);
+    }
+
+    /**
+     * Maps the GP Summary using section references already collected from its pertinentCREType elements, which lets the
+     * streaming engine map the summary after the CREs themselves have been mapped and discarded.
+     */
+    @SneakyThrows
+    public List<Resource> map(Node document, Map<String, List<String>> references) {
         var gpSummaryId =
                 xmlUtils.getValueByXPath(document, GP_SUMMARY_ID_XPATH);
         var gpSummaryCodeCode =
@@ -143,8 +153,6 @@ public class GpSummaryMapper implements XmlToFhirMapper {
                         .setSystem(SNOMED_SYSTEM)
                         .setDisplay(pertinentRootCreTypeCodeDisplayName)));
 
-        Map<String, List<String>> references = sectionReferences(document);
-
         presentationTextValue
                 .map(htmlParser::parse)
                 .map(Collection::stream)
@@ -166,8 +174,7 @@ public class GpSummaryMapper implements XmlToFhirMapper {
         return resources;
     }
 
-    private Map<String, List<String>> sectionReferences(Node document) {
-        Map<String, List<String>> references = new HashMap<>();
+    public void collectSectionReferences(Node document, Map<String, List<String>> references) {
         for (Node pertinentNode : xmlUtils.getNodesByXPath(document, PERTINENT_CRET_BASE_PATH)) {
             for (Node component : xmlUtils.getNodesByXPath(pertinentNode, COMPONENT_XPATH)) {
                 String code = xmlUtils.getValueByXPath(component, CODED_ENTRY_CODE_XPATH);
@@ -178,8 +185,6 @@ public class GpSummaryMapper implements XmlToFhirMapper {
                 }
             }
         }
-
-        return references;
     }
 
     private static void putToMap(Map<String, List<String>> map, String key, String value) {
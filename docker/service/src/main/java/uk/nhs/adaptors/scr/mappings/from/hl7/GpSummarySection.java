@@ -0,0 +1,18 @@
+package uk.nhs.adaptors.scr.mappings.from.hl7;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.w3c.dom.Document;
+
+import java.util.Set;
+
+/**
+ * One GPSummary/pertinentInformation2 element in a document of its own, under copies of its ancestors without their
+ * other children. Sections share no nodes, so they can be mapped on different threads.
+ */
+@Getter
+@RequiredArgsConstructor
+class GpSummarySection {
+    private final Document document;
+    private final Set<String> elementNames;
+}
@@ -0,0 +1,161 @@
+package uk.nhs.adaptors.scr.mappings.from.hl7;
+
+import lombok.RequiredArgsConstructor;
+import org.hl7.fhir.r4.model.Resource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import uk.nhs.adaptors.scr.utils.XmlUtils;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+import static java.util.stream.Collectors.toList;
+import static uk.nhs.adaptors.scr.logging.MdcPropagation.withMdc;
+import static uk.nhs.adaptors.scr.utils.DocumentBuilderUtil.newDocument;
+
+/**
+ * Maps the GP Summary and its CREs. The mappers detach the nodes they have read, so they cannot share one document
+ * between threads. Instead each GPSummary/pertinentInformation2 section is moved into a {@link GpSummarySection} of its
+ * own and the sections are mapped in parallel on the mapping executor, each by the mappers for the CMETs it contains.
+ * The results are merged in mapper order and, for each mapper, in document order, same as running every mapper over
+ * the whole document one after another. Nothing here waits for the sections: the merge runs on the thread that
+ * completes the last of them.
+ */
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class GpSummarySectionsMapper {
+
+    private static final String SECTIONS_XPATH = "//QUPC_IN210000UK04/ControlActEvent/subject//GPSummary/pertinentInformation2";
+
+    private final ForkJoinPool mappingExecutor;
+    private final XmlUtils xmlUtils;
+    private final GpSummaryMapper gpSummaryMapper;
+    private final CareEventsMapper careEventsMapper;
+    private final DiagnosesMapper diagnosesMapper;
+    private final FamilyHistoriesMapper familyHistoriesMapper;
+    private final FindingsMapper findingsMapper;
+    private final InvestigationsMapper investigationsMapper;
+    private final LifestylesMapper lifestylesMapper;
+    private final PatientAndCarerCorrespondenceMapper patientAndCarerCorrespondenceMapper;
+    private final PersonalPreferencesMapper personalPreferencesMapper;
+    private final ProblemsMapper problemsMapper;
+    private final ProvisionsOfAdviceAndInfoMapper provisionsOfAdviceAndInfoMapper;
+    private final RisksToPatientMapper risksToPatientMapper;
+    private final SocialOrPersonalCircumstancesMapper socialOrPersonalCircumstancesMapper;
+    private final TreatmentsMapper treatmentsMapper;
+
+    /**
+     * Maps the GP Summary, which always comes first as it holds the core patient data, followed by the resources of all
+     * its sections. The sections are removed from the document and mapped on the mapping executor, the GP Summary is
+     * mapped on the calling thread meanwhile.
+     */
+    public CompletableFuture<List<Resource>> mapAsync(Document document) {
+        Map<String, List<String>> references = new HashMap<>();
+        var mappedSections = new ArrayList<CompletableFuture<List<List<Resource>>>>();
+        for (var section : split(document)) {
+            gpSummaryMapper.collectSectionReferences(section.getDocument(), references);
+            mappedSections.add(mapSectionAsync(section));
+        }
+
+        var gpSummary = gpSummaryMapper.map(document, references);
+        return merge(mappedSections).thenApply(creResources -> {
+            var resources = new ArrayList<>(gpSummary);
+            resources.addAll(creResources);
+            return resources;
+        });
+    }
+
+    /**
+     * Starts mapping the section on the mapping executor. The result holds one list of resources per CRE mapper.
+     */
+    CompletableFuture<List<List<Resource>>> mapSectionAsync(GpSummarySection section) {
+        return CompletableFuture.supplyAsync(withMdc(() -> mapSection(section)), mappingExecutor);
+    }
+
+    /**
+     * Merges the resources of the sections in mapper order once all of them are mapped. If a mapper throws, the result
+     * completes with its exception.
+     */
+    CompletableFuture<List<Resource>> merge(List<CompletableFuture<List<List<Resource>>>> mappedSections) {
+        return CompletableFuture.allOf(mappedSections.toArray(CompletableFuture[]::new))
+            .thenApply(ignored -> mergeInMapperOrder(mappedSections.stream().map(CompletableFuture::join).collect(toList())));
+    }
+
+    private List<Resource> mergeInMapperOrder(List<List<List<Resource>>> sections) {
+        var resources = new ArrayList<Resource>();
+        var creMapperCount = creMappers().size();
+        for (int i = 0; i < creMapperCount; i++) {
+            for (var section : sections) {
+                resources.addAll(section.get(i));
+            }
+        }
+        return resources;
+    }
+
+    private List<List<Resource>> mapSection(GpSummarySection section) {
+        return creMappers().stream()
+            .map(creMapper -> section.getElementNames().contains(creMapper.cmet)
+                ? creMapper.mapper.map(section.getDocument())
+                : List.<Resource>of())
+            .collect(toList());
+    }
+
+    private List<GpSummarySection> split(Document document) {
+        return xmlUtils.getNodesByXPath(document, SECTIONS_XPATH).stream()
+            .map(GpSummarySectionsMapper::toSection)
+            .collect(toList());
+    }
+
+    private static GpSummarySection toSection(Node pertinentInformation) {
+        var ancestors = new ArrayDeque<Node>();
+        for (var parent = pertinentInformation.getParentNode(); parent instanceof Element; parent = parent.getParentNode()) {
+            ancestors.push(parent);
+        }
+
+        Document document = newDocument();
+        Node parent = document;
+        for (var ancestor : ancestors) {
+            parent = parent.appendChild(document.importNode(ancestor, false));
+        }
+        parent.appendChild(document.adoptNode(pertinentInformation));
+
+        var elementNames = new HashSet<String>();
+        var elements = ((Element) pertinentInformation).getElementsByTagName("*");
+        for (int i = 0; i < elements.getLength(); i++) {
+            elementNames.add(elements.item(i).getNodeName());
+        }
+        return new GpSummarySection(document, elementNames);
+    }
+
+    private List<CreMapper> creMappers() {
+        return List.of(
+            new CreMapper("UKCT_MT144037UK01.CareEvent", careEventsMapper),
+            new CreMapper("UKCT_MT144042UK01.Diagnosis", diagnosesMapper),
+            new CreMapper("UKCT_MT144044UK01.FamilyHistory", familyHistoriesMapper),
+            new CreMapper("UKCT_MT144043UK02.Finding", findingsMapper),
+            new CreMapper("UKCT_MT144045UK01.Investigation", investigationsMapper),
+            new CreMapper("UKCT_MT144036UK01.LifeStyle", lifestylesMapper),
+            new CreMapper("UKCT_MT144035UK01.PatientCarerCorrespondence", patientAndCarerCorrespondenceMapper),
+            new CreMapper("UKCT_MT144046UK01.PersonalPreference", personalPreferencesMapper),
+            new CreMapper("UKCT_MT144038UK02.Problem", problemsMapper),
+            new CreMapper("UKCT_MT144049UK01.ProvisionOfAdviceAndInformation", provisionsOfAdviceAndInfoMapper),
+            new CreMapper("UKCT_MT144054UK01.RiskToPatient", risksToPatientMapper),
+            new CreMapper("UKCT_MT144036UK01.SocialOrPersonalCircumstance", socialOrPersonalCircumstancesMapper),
+            new CreMapper("UKCT_MT144055UK01.Treatment", treatmentsMapper));
+    }
+
+    @RequiredArgsConstructor
+    private static class CreMapper {
+        private final String cmet;
+        private final XmlToFhirMapper mapper;
+    }
+}
@@ -0,0 +1,186 @@
+package uk.nhs.adaptors.scr.mappings.from.hl7;
+
+import org.hl7.fhir.r4.model.BaseDateTimeType;
+
+import java.time.Year;
+import java.util.TimeZone;
+
+import static ca.uhn.fhir.model.api.TemporalPrecisionEnum.DAY;
+import static ca.uhn.fhir.model.api.TemporalPrecisionEnum.MILLI;
+import static ca.uhn.fhir.model.api.TemporalPrecisionEnum.MINUTE;
+import static ca.uhn.fhir.model.api.TemporalPrecisionEnum.SECOND;
+import static ca.uhn.fhir.model.api.TemporalPrecisionEnum.YEAR;
+
+/**
+ * Single pass parser for the HL7 TS values found in SCRs. The precision is worked out from the length of the value and
+ * the digits are read in place, so no formatter is created and no exception is thrown for values of another precision.
+ *
+ * <p>Only well formed values are handled here: digits only (or yyyy-MM), every field in range and a real calendar date.
+ * For anything else {@link #parse} returns false and {@link XmlToFhirMapper#parseDate} falls back to
+ * {@link XmlToFhirMapper#parseDateWithFormatters}, which keeps deciding how unusual values are treated. The fields are set
+ * on the target in the same order as the formatter based parsing, so both give the same result.
+ */
+public class Hl7TimestampParser {
+
+    private static final TimeZone TIMEZONE = TimeZone.getTimeZone(XmlToFhirMapper.TIMEZONE);
+
+    private static final int DATE_TIME_SECONDS_LENGTH = 14;
+    private static final int DATE_TIME_MINUTES_LENGTH = 12;
+    private static final int DATE_LENGTH = 8;
+    private static final int YEAR_MONTH_DASH_LENGTH = 7;
+    private static final int YEAR_MONTH_LENGTH = 6;
+    private static final int YEAR_LENGTH = 4;
+
+    private static final int MONTH_INDEX = 4;
+    private static final int DAY_INDEX = 6;
+    private static final int HOUR_INDEX = 8;
+    private static final int MINUTE_INDEX = 10;
+    private static final int SECOND_INDEX = 12;
+
+    private static final int MONTHS = 12;
+    private static final int HOURS = 24;
+    private static final int MINUTES = 60;
+    private static final int SECONDS = 60;
+    private static final int FEBRUARY = 2;
+    private static final int DAYS_IN_FEBRUARY = 28;
+    private static final int DAYS_IN_SHORT_MONTH = 30;
+    private static final int DAYS_IN_LONG_MONTH = 31;
+    private static final int[] SHORT_MONTHS = {4, 6, 9, 11};
+
+    private static final int YEAR_PRECISION_MILLIS = 1;
+    private static final int MONTH_PRECISION_MILLIS = 2;
+    private static final int DAY_PRECISION_MILLIS = 3;
+
+    private static final int NOT_A_NUMBER = -1;
+    private static final int RADIX = 10;
+
+    /**
+     * Sets the value on the target and returns true, or returns false without touching the target when the value is not
+     * a well formed timestamp of one of the supported precisions.
+     */
+    public static boolean parse(String date, BaseDateTimeType target) {
+        switch (date.length()) {
+            case DATE_TIME_SECONDS_LENGTH:
+                return parseDateTime(date, true, target);
+            case DATE_TIME_MINUTES_LENGTH:
+                return parseDateTime(date, false, target);
+            case DATE_LENGTH:
+                return parseDate(date, target);
+            case YEAR_MONTH_DASH_LENGTH:
+                return date.charAt(YEAR_LENGTH) == '-' && parseYearMonth(date, YEAR_LENGTH + 1, target);
+            case YEAR_MONTH_LENGTH:
+                return parseYearMonth(date, MONTH_INDEX, target);
+            case YEAR_LENGTH:
+                return parseYear(date, target);
+            default:
+                return false;
+        }
+    }
+
+    private static boolean parseDateTime(String date, boolean withSeconds, BaseDateTimeType target) {
+        var year = number(date, 0, YEAR_LENGTH);
+        var month = number(date, MONTH_INDEX, DAY_INDEX);
+        var day = number(date, DAY_INDEX, HOUR_INDEX);
+        var hour = number(date, HOUR_INDEX, MINUTE_INDEX);
+        var minute = number(date, MINUTE_INDEX, SECOND_INDEX);
+        var second = withSeconds ? number(date, SECOND_INDEX, DATE_TIME_SECONDS_LENGTH) : 0;
+        if (!isDate(year, month, day) || !inRange(hour, HOURS) || !inRange(minute, MINUTES) || !inRange(second, SECONDS)) {
+            return false;
+        }
+
+        target.setPrecision(withSeconds ? SECOND : MINUTE);
+        target.setTimeZone(TIMEZONE);
+        if (withSeconds) {
+            target.setSecond(second);
+        }
+        target.setMinute(minute);
+        target.setHour(hour);
+        setDatePart(target, year, month, day);
+        return true;
+    }
+
+    private static boolean parseDate(String date, BaseDateTimeType target) {
+        var year = number(date, 0, YEAR_LENGTH);
+        var month = number(date, MONTH_INDEX, DAY_INDEX);
+        var day = number(date, DAY_INDEX, DATE_LENGTH);
+        if (!isDate(year, month, day)) {
+            return false;
+        }
+
+        target.setPrecision(DAY);
+        target.setTimeZone(TIMEZONE);
+        setDatePart(target, year, month, day);
+        target.setMillis(DAY_PRECISION_MILLIS);
+        return true;
+    }
+
+    private static boolean parseYearMonth(String date, int monthIndex, BaseDateTimeType target) {
+        var year = number(date, 0, YEAR_LENGTH);
+        var month = number(date, monthIndex, date.length());
+        if (year == NOT_A_NUMBER || month < 1 || month > MONTHS) {
+            return false;
+        }
+
+        // precision MILLI with a millisecond marker, see XmlToFhirMapper#parseDateWithFormatters
+        target.setPrecision(MILLI);
+        target.setTimeZone(TIMEZONE);
+        target.setMillis(MONTH_PRECISION_MILLIS);
+        target.setYear(year);
+        target.setMonth(month - 1);
+        return true;
+    }
+
+    private static boolean parseYear(String date, BaseDateTimeType target) {
+        var year = number(date, 0, YEAR_LENGTH);
+        if (year == NOT_A_NUMBER) {
+            return false;
+        }
+
+        target.setPrecision(YEAR);
+        target.setTimeZone(TIMEZONE);
+        target.setYear(year + 1);
+        target.setMillis(YEAR_PRECISION_MILLIS);
+        return true;
+    }
+
+    private static void setDatePart(BaseDateTimeType target, int year, int month, int day) {
+        target.setDay(day);
+        target.setMonth(month - 1);
+        target.setYear(year);
+    }
+
+    /**
+     * The decimal number between the indexes, or {@link #NOT_A_NUMBER} if there is anything but ASCII digits.
+     */
+    private static int number(String date, int from, int to) {
+        var value = 0;
+        for (int i = from; i < to; i++) {
+            var c = date.charAt(i);
+            if (c < '0' || c > '9') {
+                return NOT_A_NUMBER;
+            }
+            value = value * RADIX + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean inRange(int value, int limit) {
+        return value >= 0 && value < limit;
+    }
+
+    private static boolean isDate(int year, int month, int day) {
+        return year >= 1 && month >= 1 && month <= MONTHS && day >= 1 && day <= daysInMonth(year, month);
+    }
+
+    private static int daysInMonth(int year, int month) {
+        if (month == FEBRUARY) {
+            return Year.isLeap(year) ? DAYS_IN_FEBRUARY + 1 : DAYS_IN_FEBRUARY;
+        }
+        for (var shortMonth : SHORT_MONTHS) {
+            if (shortMonth == month) {
+                return DAYS_IN_SHORT_MONTH;
+            }
+        }
+        return DAYS_IN_LONG_MONTH;
+    }
+}
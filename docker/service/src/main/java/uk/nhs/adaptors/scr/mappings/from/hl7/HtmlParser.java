@@ -14,17 +14,16 @@ import org.springframework.stereotype.Component;
 import org.w3c.dom.Document;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
+import uk.nhs.adaptors.scr.utils.XPathRegistry;
 import uk.nhs.adaptors.scr.utils.XmlUtils;
 
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathExpression;
-import javax.xml.xpath.XPathFactory;
 import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
@@ -33,7 +32,7 @@ import java.util.stream.Collectors;
 
 import static javax.xml.XMLConstants.ACCESS_EXTERNAL_DTD;
 import static javax.xml.XMLConstants.ACCESS_EXTERNAL_STYLESHEET;
-import static uk.nhs.adaptors.scr.utils.DocumentBuilderUtil.documentBuilder;
+import static uk.nhs.adaptors.scr.utils.DocumentBuilderUtil.newDocument;
 
 @Component
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
@@ -41,6 +40,9 @@ public class HtmlParser {
 
     private static final String H2 = "h2";
 
+    private static final TransformerFactory TRANSFORMER_FACTORY = createTransformerFactory();
+    private static final ThreadLocal<Transformer> TRANSFORMER = ThreadLocal.withInitial(HtmlParser::createTransformer);
+
     private final XmlUtils xmlUtils;
 
     @SneakyThrows
@@ -77,7 +79,7 @@ public class HtmlParser {
         return items.stream()
             .map(kv -> ParsedHtml
                 .builder()
-                .html(serialize(kv.getValue()))
+                .html(serializeNarrative(kv.getValue()))
                 .h2Value(kv.getKey().getTextContent())
                 .h2Id(Optional.ofNullable(kv.getKey().getAttributes())
                     .map(h2IdAttribute -> h2IdAttribute.getNamedItem("id"))
@@ -88,9 +90,8 @@ public class HtmlParser {
             .collect(Collectors.toList());
     }
 
-    @SneakyThrows
     public static Document createNewDocument(String tag, String xmlns) {
-        var document = documentBuilder().newDocument();
+        var document = newDocument();
         var rootNode = document.createElement(tag);
         rootNode.setAttribute("xmlns", xmlns);
         document.appendChild(rootNode);
@@ -100,14 +101,18 @@ public class HtmlParser {
     @SneakyThrows
     public static String serialize(Document document) {
         var xmlOutput = new StreamResult(new StringWriter());
-        transformer().transform(new DOMSource(document), xmlOutput);
+        TRANSFORMER.get().transform(new DOMSource(document), xmlOutput);
         return xmlOutput.getWriter().toString();
     }
 
+    private static String serializeNarrative(Document document) {
+        return XhtmlWriter.write(document)
+            .orElseGet(() -> serialize(document));
+    }
+
     @SneakyThrows
     public static void removeEmptyNodes(Node document) {
-        XPathExpression xpathExp = XPathFactory.newInstance().newXPath()
-            .compile("//text()[normalize-space(.) = '']");
+        XPathExpression xpathExp = XPathRegistry.compile("//text()[normalize-space(.) = '']");
         NodeList emptyTextNodes = (NodeList) xpathExp.evaluate(document, XPathConstants.NODESET);
         for (int i = 0; i < emptyTextNodes.getLength(); i++) {
             Node emptyTextNode = emptyTextNodes.item(i);
@@ -153,11 +158,23 @@ public class HtmlParser {
         private final String html;
     }
 
-    private static Transformer transformer() throws TransformerConfigurationException {
+    private static TransformerFactory createTransformerFactory() {
         TransformerFactory transformerFactory = TransformerFactory.newInstance();
         transformerFactory.setAttribute(ACCESS_EXTERNAL_DTD, "");
         transformerFactory.setAttribute(ACCESS_EXTERNAL_STYLESHEET, "");
-        var transformer = transformerFactory.newTransformer();
+        return transformerFactory;
+    }
+
+    /**
+     * The factory is not thread safe, and neither are the transformers it creates, so each thread gets its own. The
+     * identity transformer keeps no state between transformations.
+     */
+    @SneakyThrows
+    private static Transformer createTransformer() {
+        Transformer transformer;
+        synchronized (TRANSFORMER_FACTORY) {
+            transformer = TRANSFORMER_FACTORY.newTransformer();
+        }
         transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
         // Set encoding to UTF-16 to support emojis.
         transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-16");
@@ -0,0 +1,27 @@
+package uk.nhs.adaptors.scr.mappings.from.hl7;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.hl7.fhir.r4.model.Resource;
+import org.w3c.dom.Document;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Result of {@link StreamingScrMapper}: the response without its CREs, the resources being mapped from the CREs and the
+ * deferred GP Summary mapping.
+ */
+@RequiredArgsConstructor
+public class StreamedScr {
+    @Getter
+    private final Document skeleton;
+    @Getter
+    private final CompletableFuture<List<Resource>> creResources;
+    private final Supplier<List<Resource>> gpSummary;
+
+    public List<Resource> mapGpSummary() {
+        return gpSummary.get();
+    }
+}
@@ -0,0 +1,191 @@
+package uk.nhs.adaptors.scr.mappings.from.hl7;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.hl7.fhir.r4.model.Resource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.w3c.dom.CDATASection;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.Text;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static javax.xml.stream.XMLStreamConstants.CDATA;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.COMMENT;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.SPACE;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+import static org.apache.commons.lang3.StringUtils.isEmpty;
+import static uk.nhs.adaptors.scr.utils.DocumentBuilderUtil.newDocument;
+
+/**
+ * Alternative to parsing the whole QUPC_IN210000UK04 response into one DOM. The response is read once with StAX. Each
+ * GPSummary/pertinentInformation2 element is read into its own small document and handed to {@link GpSummarySectionsMapper},
+ * which maps it on the mapping executor while the rest of the response is read. Everything else (message header, record
+ * target, the GP Summary itself) is kept in a skeleton document for the header mappers and {@link GpSummaryMapper}.
+ *
+ * <p>The documents built here match the ones {@link uk.nhs.adaptors.scr.utils.DocumentBuilderUtil} produces, so the existing
+ * mappers and their XPaths run unchanged. Section documents keep the chain of ancestor elements down to GPSummary, and
+ * resources are returned in the same order as the DOM based mapping.
+ */
+@Component
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class StreamingScrMapper {
+
+    private static final String GP_SUMMARY = "GPSummary";
+    private static final String PERTINENT_INFORMATION_2 = "pertinentInformation2";
+    private static final String XMLNS = "xmlns";
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    private final GpSummaryMapper gpSummaryMapper;
+    private final GpSummarySectionsMapper gpSummarySectionsMapper;
+
+    /**
+     * Reads the response and starts mapping all CREs. The GP Summary itself is not mapped yet: callers check the skeleton
+     * for detected issues first and then call {@link StreamedScr#mapGpSummary()}.
+     */
+    @SneakyThrows
+    public StreamedScr map(InputStream xml) {
+        var mappedSections = new ArrayList<CompletableFuture<List<List<Resource>>>>();
+        Map<String, List<String>> sectionReferences = new HashMap<>();
+
+        Document skeleton = newDocument();
+        Deque<Node> openElements = new ArrayDeque<>();
+        openElements.push(skeleton);
+
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(xml);
+        try {
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case START_ELEMENT:
+                        var element = createElement(skeleton, reader);
+                        if (PERTINENT_INFORMATION_2.equals(element.getTagName()) && isGpSummary(openElements.peek())) {
+                            var section = readSection(reader, element, openElements);
+                            gpSummaryMapper.collectSectionReferences(section.getDocument(), sectionReferences);
+                            mappedSections.add(gpSummarySectionsMapper.mapSectionAsync(section));
+                        } else {
+                            openElements.peek().appendChild(element);
+                            openElements.push(element);
+                        }
+                        break;
+                    case END_ELEMENT:
+                        openElements.pop();
+                        break;
+                    default:
+                        appendContent(skeleton, openElements.peek(), reader);
+                }
+            }
+        } finally {
+            reader.close();
+        }
+
+        return new StreamedScr(skeleton, gpSummarySectionsMapper.merge(mappedSections),
+            () -> gpSummaryMapper.map(skeleton, sectionReferences));
+    }
+
+    private static boolean isGpSummary(Node node) {
+        return node instanceof Element && GP_SUMMARY.equals(((Element) node).getTagName());
+    }
+
+    /**
+     * Reads one pertinentInformation2 element into a new document under copies of its ancestors, without their children.
+     */
+    private static GpSummarySection readSection(XMLStreamReader reader, Element pertinentInformation, Deque<Node> ancestors)
+        throws XMLStreamException {
+        Document document = newDocument();
+        Node parent = document;
+        var chain = new ArrayList<>(ancestors);
+        for (int i = chain.size() - 2; i >= 0; i--) {
+            parent = parent.appendChild(document.importNode(chain.get(i), false));
+        }
+
+        var elementNames = new HashSet<String>();
+        Deque<Node> openElements = new ArrayDeque<>();
+        openElements.push(parent.appendChild(document.importNode(pertinentInformation, false)));
+        while (!openElements.isEmpty()) {
+            switch (reader.next()) {
+                case START_ELEMENT:
+                    var element = createElement(document, reader);
+                    elementNames.add(element.getTagName());
+                    openElements.peek().appendChild(element);
+                    openElements.push(element);
+                    break;
+                case END_ELEMENT:
+                    openElements.pop();
+                    break;
+                default:
+                    appendContent(document, openElements.peek(), reader);
+            }
+        }
+        return new GpSummarySection(document, elementNames);
+    }
+
+    /**
+     * Creates the element the way a namespace unaware DocumentBuilder would: qualified names, and namespace declarations
+     * as ordinary attributes.
+     */
+    private static Element createElement(Document document, XMLStreamReader reader) {
+        var element = document.createElement(qualifiedName(reader.getPrefix(), reader.getLocalName()));
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            var prefix = reader.getNamespacePrefix(i);
+            element.setAttribute(isEmpty(prefix) ? XMLNS : XMLNS + ":" + prefix, reader.getNamespaceURI(i));
+        }
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            element.setAttribute(qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+                reader.getAttributeValue(i));
+        }
+        return element;
+    }
+
+    private static String qualifiedName(String prefix, String localName) {
+        return isEmpty(prefix) ? localName : prefix + ":" + localName;
+    }
+
+    private static void appendContent(Document document, Node parent, XMLStreamReader reader) {
+        if (parent == document) {
+            return;
+        }
+        switch (reader.getEventType()) {
+            case CHARACTERS:
+            case SPACE:
+                var lastChild = parent.getLastChild();
+                if (lastChild instanceof Text && !(lastChild instanceof CDATASection)) {
+                    ((Text) lastChild).appendData(reader.getText());
+                } else {
+                    parent.appendChild(document.createTextNode(reader.getText()));
+                }
+                break;
+            case CDATA:
+                parent.appendChild(document.createCDATASection(reader.getText()));
+                break;
+            case COMMENT:
+                parent.appendChild(document.createComment(reader.getText()));
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        var factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
@@ -0,0 +1,201 @@
+package uk.nhs.adaptors.scr.mappings.from.hl7;
+
+import org.w3c.dom.Attr;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import java.util.Optional;
+
+/**
+ * Writes a narrative div to a string exactly as {@link HtmlParser#serialize} would, but walks the DOM directly instead of
+ * going through a {@link javax.xml.transform.Transformer}. Only the subset found in SCR narratives is supported: elements
+ * and attributes without prefixes, namespace declarations on the root element, text and comments. For anything else
+ * {@link #write} returns empty and the caller falls back to the transformer.
+ *
+ * <p>Characters outside the BMP, such as emojis, are written as they are, like the transformer does with UTF-16 output.
+ */
+public class XhtmlWriter {
+
+    private static final String XMLNS = "xmlns";
+    private static final String XMLNS_PREFIX = "xmlns:";
+    private static final char SPACE = ' ';
+    private static final char DELETE = 0x7F;
+    private static final char LAST_C1_CONTROL = 0x9F;
+
+    public static Optional<String> write(Document document) {
+        var output = new StringBuilder();
+        if (writeElement(document.getDocumentElement(), true, output)) {
+            return Optional.of(output.toString());
+        }
+        return Optional.empty();
+    }
+
+    private static boolean writeElement(Element element, boolean root, StringBuilder output) {
+        var tagName = element.getTagName();
+        if (isPrefixed(tagName)) {
+            return false;
+        }
+
+        output.append('<').append(tagName);
+        // the transformer writes namespace declarations before the other attributes
+        if (!writeAttributes(element, true, root, output) || !writeAttributes(element, false, root, output)) {
+            return false;
+        }
+
+        var startTagOpen = true;
+        for (var child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            switch (child.getNodeType()) {
+                case Node.ELEMENT_NODE:
+                    startTagOpen = closeStartTag(startTagOpen, output);
+                    if (!writeElement((Element) child, false, output)) {
+                        return false;
+                    }
+                    break;
+                case Node.TEXT_NODE:
+                    var text = child.getNodeValue();
+                    if (!text.isEmpty()) {
+                        startTagOpen = closeStartTag(startTagOpen, output);
+                        if (!appendText(text, output)) {
+                            return false;
+                        }
+                    }
+                    break;
+                case Node.COMMENT_NODE:
+                    startTagOpen = closeStartTag(startTagOpen, output);
+                    output.append("<!--").append(child.getNodeValue()).append("-->");
+                    break;
+                default:
+                    return false;
+            }
+        }
+
+        if (startTagOpen) {
+            output.append("/>");
+        } else {
+            output.append("</").append(tagName).append('>');
+        }
+        return true;
+    }
+
+    private static boolean writeAttributes(Element element, boolean namespaceDeclarations, boolean root, StringBuilder output) {
+        var attributes = element.getAttributes();
+        for (int i = 0; i < attributes.getLength(); i++) {
+            var attribute = (Attr) attributes.item(i);
+            var name = attribute.getName();
+            var namespaceDeclaration = XMLNS.equals(name) || name.startsWith(XMLNS_PREFIX);
+            if (namespaceDeclaration != namespaceDeclarations) {
+                continue;
+            }
+            if (namespaceDeclaration ? !root : isPrefixed(name)) {
+                return false;
+            }
+            output.append(SPACE).append(name).append("=\"");
+            if (!appendAttributeValue(attribute.getValue(), output)) {
+                return false;
+            }
+            output.append('"');
+        }
+        return true;
+    }
+
+    private static boolean closeStartTag(boolean startTagOpen, StringBuilder output) {
+        if (startTagOpen) {
+            output.append('>');
+        }
+        return false;
+    }
+
+    private static boolean appendText(String text, StringBuilder output) {
+        for (int i = 0; i < text.length(); i++) {
+            var c = text.charAt(i);
+            switch (c) {
+                case '&':
+                    output.append("&amp;");
+                    break;
+                case '<':
+                    output.append("&lt;");
+                    break;
+                case '>':
+                    output.append("&gt;");
+                    break;
+                case '\t':
+                case '\n':
+                    output.append(c);
+                    break;
+                default:
+                    if (isControl(c) || c >= DELETE && c <= LAST_C1_CONTROL) {
+                        appendCharacterReference(c, output);
+                    } else if (!appendCharacter(text, i, output)) {
+                        return false;
+                    } else if (Character.isHighSurrogate(c)) {
+                        i++;
+                    }
+            }
+        }
+        return true;
+    }
+
+    private static boolean appendAttributeValue(String value, StringBuilder output) {
+        for (int i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            switch (c) {
+                case '&':
+                    output.append("&amp;");
+                    break;
+                case '<':
+                    output.append("&lt;");
+                    break;
+                case '>':
+                    output.append("&gt;");
+                    break;
+                case '"':
+                    output.append("&quot;");
+                    break;
+                default:
+                    if (isControl(c)) {
+                        appendCharacterReference(c, output);
+                    } else if (c >= DELETE && c <= LAST_C1_CONTROL) {
+                        // the transformer drops or mangles these in attribute values
+                        return false;
+                    } else if (!appendCharacter(value, i, output)) {
+                        return false;
+                    } else if (Character.isHighSurrogate(c)) {
+                        i++;
+                    }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Appends the character at the index, or the surrogate pair starting there. Unpaired surrogates are not supported.
+     */
+    private static boolean appendCharacter(String value, int index, StringBuilder output) {
+        var c = value.charAt(index);
+        if (Character.isHighSurrogate(c)) {
+            if (index + 1 == value.length() || !Character.isLowSurrogate(value.charAt(index + 1))) {
+                return false;
+            }
+            output.append(c).append(value.charAt(index + 1));
+            return true;
+        }
+        if (Character.isLowSurrogate(c)) {
+            return false;
+        }
+        output.append(c);
+        return true;
+    }
+
+    private static boolean isControl(char c) {
+        return c < SPACE;
+    }
+
+    private static void appendCharacterReference(char c, StringBuilder output) {
+        output.append("&#").append((int) c).append(';');
+    }
+
+    private static boolean isPrefixed(String name) {
+        return name.indexOf(':') >= 0;
+    }
+}
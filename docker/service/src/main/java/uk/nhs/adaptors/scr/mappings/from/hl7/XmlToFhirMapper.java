@@ -43,20 +43,27 @@ public interface XmlToFhirMapper {
      * them as-is for clinical safety. Due to limitations on the third party FHIR parser code, we instead allocate a
      * microsecond value to each type of partial date. 001, for years only precision amount, 002 for months precision
      * amount (meaning, year and month), and day precision is 003 (year, month, day with no time).
+     * Well formed values are parsed by {@link Hl7TimestampParser}, anything else by {@link #parseDateWithFormatters}.
      * @param date
      * @return
      */
-
-    @SneakyThrows
     static <T extends BaseDateTimeType> T parseDate(String date, Class<T> clazz) {
-        BaseDateTimeType baseDateTimeType;
-        if (clazz.equals(DateTimeType.class)) {
-            baseDateTimeType = new DateTimeType();
-        } else if (clazz.equals(InstantType.class)) {
-            baseDateTimeType = new InstantType();
-        } else {
-            throw new ScrBaseException("Invalid target class: " + clazz.getName());
+        BaseDateTimeType baseDateTimeType = newDateTimeType(clazz);
+        if (Hl7TimestampParser.parse(date, baseDateTimeType)) {
+            return clazz.cast(baseDateTimeType);
         }
+        return parseDateWithFormatters(date, clazz);
+    }
+
+    /**
+     * Formatter based parsing of the same values as {@link #parseDate}, used for values that {@link Hl7TimestampParser}
+     * does not handle.
+     * @param date
+     * @return
+     */
+    @SneakyThrows
+    static <T extends BaseDateTimeType> T parseDateWithFormatters(String date, Class<T> clazz) {
+        BaseDateTimeType baseDateTimeType = newDateTimeType(clazz);
 
         int dayPrecision = 3;
         int monthPrecision = 2;
@@ -141,6 +148,16 @@ public interface XmlToFhirMapper {
         return isDate;
     }
 
+    private static BaseDateTimeType newDateTimeType(Class<? extends BaseDateTimeType> clazz) {
+        if (clazz.equals(DateTimeType.class)) {
+            return new DateTimeType();
+        } else if (clazz.equals(InstantType.class)) {
+            return new InstantType();
+        } else {
+            throw new ScrBaseException("Invalid target class: " + clazz.getName());
+        }
+    }
+
     private static void setHoursMinutesPart(BaseDateTimeType baseDateTimeType, LocalDateTime parsed) {
         baseDateTimeType.setMinute(parsed.getMinute());
         baseDateTimeType.setHour(parsed.getHour());
@@ -38,6 +38,7 @@ import uk.nhs.adaptors.scr.models.xml.RiskToPatient;
 import uk.nhs.adaptors.scr.models.xml.SocialOrPersonalCircumstance;
 import uk.nhs.adaptors.scr.models.xml.Treatment;
 import uk.nhs.adaptors.scr.utils.DateUtil;
+import uk.nhs.adaptors.scr.utils.IndexedBundle;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -91,16 +92,16 @@ public class GpSummary {
     private List<Treatment> treatments = new ArrayList<>();
     private List<String> headers = new ArrayList<>();
 
-    public static GpSummary fromBundle(Bundle bundle, String nhsdAsid) throws FhirMappingException {
-        validateType(bundle);
+    public static GpSummary fromBundle(IndexedBundle bundle, String nhsdAsid) throws FhirMappingException {
+        validateType(bundle.getBundle());
 
         GpSummary gpSummary = new GpSummary();
         gpSummary.setNhsdAsidFrom(nhsdAsid);
 
         try {
-            Stream.<BiConsumer<GpSummary, Bundle>>of(
-                    GpSummary::gpSummarySetHeaderTimeStamp,
-                    GpSummary::gpSummarySetHeaderId,
+            gpSummarySetHeaderTimeStamp(gpSummary, bundle.getBundle());
+            gpSummarySetHeaderId(gpSummary, bundle.getBundle());
+            Stream.<BiConsumer<GpSummary, IndexedBundle>>of(
                     AuthorMapper::mapAuthor,
                     CompositionMapper::mapComposition,
                     CommunicationMapper::mapCommunications,
@@ -114,7 +115,7 @@ public class GpSummary {
         }
 
         // Check whether additional information is present so that third party correspondence can be injected.
-        ImmutablePair<Boolean, Map<String, String>> searchResult = gpSummary.isBundleWithAdditionalInformation(bundle);
+        ImmutablePair<Boolean, Map<String, String>> searchResult = gpSummary.isBundleWithAdditionalInformation(bundle.getBundle());
         boolean additionalInformation = searchResult.getLeft();
 
         // Check whether third party information should be injected.
@@ -1,45 +1,21 @@
 package uk.nhs.adaptors.scr.models;
 
 import lombok.Data;
-import lombok.extern.slf4j.Slf4j;
-import uk.nhs.adaptors.scr.exceptions.ParseProcessingResultException;
 
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
- * Model used to process results of a Spine call into a soapEnvelope and HL7 body.
+ * Outcome of a Spine SCR upload as read from the MCCI_IN010000UK13 acknowledgement of its processing result.
  */
 @Data
-@Slf4j
 public class ProcessingResult {
-    private static final Pattern SOAP_ENVELOPE_PATTERN = Pattern.compile("(<soap:Envelope.+<\\/soap:Envelope>)");
-    private static final Pattern HL7_PATTERN = Pattern.compile("(<hl7:MCCI_IN010000UK13.+<\\/hl7:MCCI_IN010000UK13>)");
+    private static final String ACCEPTED_TYPE_CODE = "AA";
 
-    private String soapEnvelope;
-    private String hl7;
+    private String acknowledgementTypeCode;
+    private List<String> detectedIssues = new ArrayList<>();
 
-    public static ProcessingResult parseProcessingResult(String response) {
-        var soapEnvelope = SOAP_ENVELOPE_PATTERN
-            .matcher(response)
-            .results()
-            .findFirst()
-            .orElseThrow(() -> {
-                LOGGER.error("Unable to extract SOAP Envelope from processing result response:\n{}", response);
-                return new ParseProcessingResultException("Unable to extract SOAP Envelope from processing result response");
-            })
-            .group();
-        var hl7 = HL7_PATTERN
-            .matcher(response)
-            .results()
-            .findFirst()
-            .orElseThrow(() -> {
-                LOGGER.error("Unable to extract HL7 from processing result response:\n{}", response);
-                return new ParseProcessingResultException("Unable to extract HL7 from processing result response");
-            })
-            .group();
-
-        return new ProcessingResult()
-            .setSoapEnvelope(soapEnvelope)
-            .setHl7(hl7);
+    public boolean isAccepted() {
+        return ACCEPTED_TYPE_CODE.equals(acknowledgementTypeCode);
     }
 }
@@ -0,0 +1,33 @@
+package uk.nhs.adaptors.scr.models;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * State of an SCR upload accepted in asynchronous mode. Instances are immutable; a job store replaces the pending job
+ * with its completed or failed counterpart once Spine processing has finished.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class UploadJob {
+    private final String id;
+    private final UploadJobStatus status;
+    private final Instant updatedAt;
+    private final ProcessingResult processingResult;
+    private final RuntimeException error;
+
+    public static UploadJob inProgress(String id) {
+        return new UploadJob(id, UploadJobStatus.IN_PROGRESS, Instant.now(), null, null);
+    }
+
+    public UploadJob complete(ProcessingResult processingResult) {
+        return new UploadJob(id, UploadJobStatus.COMPLETED, Instant.now(), processingResult, null);
+    }
+
+    public UploadJob fail(RuntimeException error) {
+        return new UploadJob(id, UploadJobStatus.FAILED, Instant.now(), null, error);
+    }
+}
@@ -0,0 +1,7 @@
+package uk.nhs.adaptors.scr.models;
+
+public enum UploadJobStatus {
+    IN_PROGRESS,
+    COMPLETED,
+    FAILED
+}
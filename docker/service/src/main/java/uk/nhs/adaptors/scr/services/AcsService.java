@@ -11,11 +11,9 @@ import org.hl7.fhir.r4.model.Parameters.ParametersParameterComponent;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import org.w3c.dom.Document;
 import uk.nhs.adaptors.scr.clients.identity.IdentityServiceContract;
 import uk.nhs.adaptors.scr.clients.identity.UserInfo;
-import uk.nhs.adaptors.scr.clients.spine.SpineClientContract;
-import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient.Response;
+import uk.nhs.adaptors.scr.clients.spine.SpineAsyncClientContract;
 import uk.nhs.adaptors.scr.components.FhirParser;
 import uk.nhs.adaptors.scr.config.ScrConfiguration;
 import uk.nhs.adaptors.scr.config.SpineConfiguration;
@@ -28,15 +26,17 @@ import uk.nhs.adaptors.scr.models.RequestData;
 import java.net.URISyntaxException;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
 
 import static java.time.OffsetDateTime.now;
 import static uk.nhs.adaptors.scr.config.ConversationIdFilter.CORRELATION_ID_MDC_KEY;
+import static uk.nhs.adaptors.scr.logging.MdcPropagation.withMdc;
 import static uk.nhs.adaptors.scr.utils.TemplateUtils.fillTemplate;
 import static uk.nhs.adaptors.scr.utils.TemplateUtils.loadTemplate;
 
 /**
  * Access Control Service which control which prepares and sends the $setPermissions endpoint
- * via spineClient (SpineClientContract) sendAcsData and the AcsController.
+ * via spineAsyncClient (SpineAsyncClientContract) sendAcsData and the AcsController.
  */
 @Component
 @Slf4j
@@ -48,7 +48,7 @@ public class AcsService {
     private static final String PERMISSION_CODE_PART_NAME = "permissionCode";
     private static final String PERMISSION_CODE_SYSTEM = "https://fhir.nhs.uk/CodeSystem/SCR-ACSPermission";
 
-    private final SpineClientContract spineClient;
+    private final SpineAsyncClientContract spineAsyncClient;
     private final ScrConfiguration scrConfiguration;
     private final SpineConfiguration spineConfiguration;
     private final SdsService sdsService;
@@ -56,11 +56,12 @@ public class AcsService {
     private final IdentityServiceContract identityService;
     private final SpineResponseParser spineResponseParser;
     private final SpineDetectedIssuesHandler spineDetectedIssuesHandler;
+    private final EventListCache eventListCache;
 
     private static final Mustache SET_RESOURCE_PERMISSIONS_TEMPLATE =
         loadTemplate("SET_RESOURCE_PERMISSIONS_INUK01.mustache");
 
-    public void setPermission(RequestData requestData) {
+    public CompletableFuture<Void> setPermission(RequestData requestData) {
         Parameters parameters = fhirParser.parseResource(requestData.getBody(), Parameters.class);
         ParametersParameterComponent parameter = getSetPermissionParameter(parameters);
 
@@ -70,8 +71,13 @@ public class AcsService {
             requestData.getNhsdIdentity());
 
         String acsRequest = prepareAcsRequest(parameter, requestData, userInfoPair.getLeft(), userInfoPair.getRight());
-        Response<Document> response = spineClient.sendAcsData(acsRequest, requestData.getNhsdAsid());
-        spineDetectedIssuesHandler.handleDetectedIssues(spineResponseParser.getDetectedIssues(response.getBody()));
+        String nhsNumber = getNhsNumber(parameter);
+        return spineAsyncClient.sendAcsData(acsRequest, requestData.getNhsdAsid())
+            .thenApply(withMdc(response -> {
+                spineDetectedIssuesHandler.handleDetectedIssues(spineResponseParser.getDetectedIssues(response.getBody()));
+                eventListCache.invalidate(nhsNumber);
+                return null;
+            }));
     }
 
     private Pair<String, String> getUserRoleCodeAndId(String authorisation, String nhsdSessionUrid, String nhsdIdentity) {
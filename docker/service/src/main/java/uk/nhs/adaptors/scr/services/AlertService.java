@@ -9,12 +9,15 @@ import org.hl7.fhir.r4.model.OperationOutcome;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
-import uk.nhs.adaptors.scr.clients.spine.SpineClientContract;
-import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient.Response;
+import uk.nhs.adaptors.scr.clients.spine.SpineAsyncClientContract;
 import uk.nhs.adaptors.scr.components.FhirParser;
 import uk.nhs.adaptors.scr.exceptions.BadRequestException;
 import uk.nhs.adaptors.scr.exceptions.UnexpectedSpineResponseException;
 
+import java.util.concurrent.CompletableFuture;
+
+import static uk.nhs.adaptors.scr.logging.MdcPropagation.withMdc;
+
 /**
  * Send alert to Spine as part of the AuditEvent endpoint.
  */
@@ -23,10 +26,10 @@ import uk.nhs.adaptors.scr.exceptions.UnexpectedSpineResponseException;
 @RequiredArgsConstructor(onConstructor = @__(@Autowired))
 public class AlertService {
     private static final String NHS_ASID_SYSTEM = "https://fhir.nhs.uk/Id/nhsSpineASID";
-    private final SpineClientContract spineClient;
+    private final SpineAsyncClientContract spineAsyncClient;
     private final FhirParser fhirParser;
 
-    public void sendAlert(String body, String nhsdAsid, String nhsdIdentity, String nhsdSessionUrid) {
+    public CompletableFuture<Void> sendAlert(String body, String nhsdAsid, String nhsdIdentity, String nhsdSessionUrid) {
         AuditEvent auditEvent = fhirParser.parseResource(body, AuditEvent.class);
 
         if (!auditEvent.getSource().getObserver().getIdentifier().hasValue()) {
@@ -36,19 +39,21 @@ public class AlertService {
             auditEvent.getSource().getObserver().setIdentifier(identifier);
         }
 
-        Response<String> response = spineClient.sendAlert(fhirParser.encodeToJson(auditEvent), nhsdAsid, nhsdIdentity, nhsdSessionUrid);
-
-        HttpStatus status = HttpStatus.resolve(response.getStatusCode());
-        if (status == null || !status.is2xxSuccessful()) {
-            OperationOutcome error = fhirParser.parseResource(response.getBody(), OperationOutcome.class);
-            if (status != null && status.is4xxClientError()) {
-                LOGGER.error("Spine processing error: {}", status);
-                throw new BadRequestException(getErrorReason(error));
-            } else {
-                LOGGER.error("Spine processing error: {}", getErrorReason(error));
-                throw new UnexpectedSpineResponseException(getErrorReason(error));
-            }
-        }
+        return spineAsyncClient.sendAlert(fhirParser.encodeToJson(auditEvent), nhsdAsid, nhsdIdentity, nhsdSessionUrid)
+            .thenApply(withMdc(response -> {
+                HttpStatus status = HttpStatus.resolve(response.getStatusCode());
+                if (status == null || !status.is2xxSuccessful()) {
+                    OperationOutcome error = fhirParser.parseResource(response.getBody(), OperationOutcome.class);
+                    if (status != null && status.is4xxClientError()) {
+                        LOGGER.error("Spine processing error: {}", status);
+                        throw new BadRequestException(getErrorReason(error));
+                    } else {
+                        LOGGER.error("Spine processing error: {}", getErrorReason(error));
+                        throw new UnexpectedSpineResponseException(getErrorReason(error));
+                    }
+                }
+                return null;
+            }));
     }
 
     private String getErrorReason(OperationOutcome error) {
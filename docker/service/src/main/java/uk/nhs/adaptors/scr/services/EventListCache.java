@@ -0,0 +1,91 @@
+package uk.nhs.adaptors.scr.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import uk.nhs.adaptors.scr.config.ScrCacheConfig;
+import uk.nhs.adaptors.scr.models.EventListQueryResponse;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Short-lived cache of PSIS event list query responses keyed by NHS number and requesting ASID. It lets the usual
+ * GET /DocumentReference then GET /Bundle flow share one event list query. Only responses without detected issues are
+ * cached, and all entries for a patient are dropped once an SCR upload or $setPermission for them succeeds. A query
+ * sent before such an invalidation is not cached when it completes after it, see {@link #getGeneration(String)}.
+ */
+@Component
+@Slf4j
+public class EventListCache {
+
+    private static final String CACHE_NAME = "scr.event-list";
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Cache<Key, EventListQueryResponse> cache;
+    // invalidation count per stripe of NHS numbers, guarded by itself
+    private final long[] generations = new long[GENERATION_STRIPES];
+
+    @Autowired
+    public EventListCache(ScrCacheConfig scrCacheConfig, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(scrCacheConfig.getEventListMaxSize())
+            .expireAfterWrite(Duration.ofMillis(scrCacheConfig.getEventListTtl()))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Optional<EventListQueryResponse> get(String nhsNumber, String nhsdAsid) {
+        return Optional.ofNullable(cache.getIfPresent(new Key(nhsNumber, nhsdAsid)));
+    }
+
+    /**
+     * Taken before an event list query is sent and handed to {@link #put}, so that a response Spine returned before the
+     * patient's SCR changed is not cached.
+     */
+    public long getGeneration(String nhsNumber) {
+        synchronized (generations) {
+            return generations[stripe(nhsNumber)];
+        }
+    }
+
+    public void put(String nhsNumber, String nhsdAsid, long generation, EventListQueryResponse response) {
+        synchronized (generations) {
+            if (generations[stripe(nhsNumber)] != generation) {
+                LOGGER.debug("Not caching event list, patient was invalidated while it was queried");
+                return;
+            }
+            cache.put(new Key(nhsNumber, nhsdAsid), response);
+        }
+    }
+
+    public void invalidate(String nhsNumber) {
+        LOGGER.debug("Invalidating cached event lists for patient");
+        synchronized (generations) {
+            generations[stripe(nhsNumber)]++;
+        }
+        cache.asMap().keySet().removeIf(key -> key.nhsNumber.equals(nhsNumber));
+    }
+
+    private static int stripe(String nhsNumber) {
+        return Math.floorMod(nhsNumber.hashCode(), GENERATION_STRIPES);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Key {
+        private final String nhsNumber;
+        private final String nhsdAsid;
+    }
+}
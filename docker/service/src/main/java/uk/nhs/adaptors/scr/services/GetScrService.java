@@ -22,44 +22,39 @@ import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import org.w3c.dom.Document;
-import uk.nhs.adaptors.scr.clients.spine.SpineClientContract;
+import uk.nhs.adaptors.scr.clients.spine.SpineAsyncClientContract;
 import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient.Response;
+import uk.nhs.adaptors.scr.config.MappingEngine;
 import uk.nhs.adaptors.scr.config.ScrConfiguration;
 import uk.nhs.adaptors.scr.config.SpineConfiguration;
 import uk.nhs.adaptors.scr.logging.LogExecutionTime;
-import uk.nhs.adaptors.scr.mappings.from.hl7.CareEventsMapper;
-import uk.nhs.adaptors.scr.mappings.from.hl7.DiagnosesMapper;
-import uk.nhs.adaptors.scr.mappings.from.hl7.FamilyHistoriesMapper;
-import uk.nhs.adaptors.scr.mappings.from.hl7.FindingsMapper;
-import uk.nhs.adaptors.scr.mappings.from.hl7.GpSummaryMapper;
+import uk.nhs.adaptors.scr.mappings.from.hl7.GpSummarySectionsMapper;
 import uk.nhs.adaptors.scr.mappings.from.hl7.InteractionMapper;
-import uk.nhs.adaptors.scr.mappings.from.hl7.InvestigationsMapper;
-import uk.nhs.adaptors.scr.mappings.from.hl7.LifestylesMapper;
-import uk.nhs.adaptors.scr.mappings.from.hl7.PatientAndCarerCorrespondenceMapper;
-import uk.nhs.adaptors.scr.mappings.from.hl7.PersonalPreferencesMapper;
-import uk.nhs.adaptors.scr.mappings.from.hl7.ProblemsMapper;
-import uk.nhs.adaptors.scr.mappings.from.hl7.ProvisionsOfAdviceAndInfoMapper;
 import uk.nhs.adaptors.scr.mappings.from.hl7.RecordTargetMapper;
-import uk.nhs.adaptors.scr.mappings.from.hl7.RisksToPatientMapper;
-import uk.nhs.adaptors.scr.mappings.from.hl7.SocialOrPersonalCircumstancesMapper;
-import uk.nhs.adaptors.scr.mappings.from.hl7.TreatmentsMapper;
+import uk.nhs.adaptors.scr.mappings.from.hl7.StreamedScr;
+import uk.nhs.adaptors.scr.mappings.from.hl7.StreamingScrMapper;
 import uk.nhs.adaptors.scr.models.EventListQueryParams;
 import uk.nhs.adaptors.scr.models.EventListQueryResponse;
 import uk.nhs.adaptors.scr.models.EventListQueryResponseParser;
 import uk.nhs.adaptors.scr.models.EventQueryParams;
 import uk.nhs.adaptors.scr.utils.TemplateUtils;
 
+import java.io.ByteArrayInputStream;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Stream;
 
 import static java.time.OffsetDateTime.now;
 import static java.util.Arrays.asList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.hl7.fhir.r4.model.Bundle.BundleType.SEARCHSET;
 import static org.hl7.fhir.r4.model.Bundle.SearchEntryMode.MATCH;
 import static org.hl7.fhir.r4.model.Enumerations.DocumentReferenceStatus.CURRENT;
 import static uk.nhs.adaptors.scr.mappings.from.hl7.HtmlParser.serialize;
 import static uk.nhs.adaptors.scr.utils.FhirHelper.randomUUID;
+import static uk.nhs.adaptors.scr.utils.FutureUtils.cancelSourceOnCancel;
+import static uk.nhs.adaptors.scr.logging.MdcPropagation.withMdc;
 import static uk.nhs.adaptors.scr.utils.TemplateUtils.loadTemplate;
 
 /**
@@ -88,41 +83,28 @@ public class GetScrService {
             .setCode(GP_SUMMARY_SNOMED_CODE)
             .setDisplay(GP_SUMMARY_DISPLAY));
 
-    private final SpineClientContract spineClient;
+    private final SpineAsyncClientContract spineAsyncClient;
 
     private final ScrConfiguration scrConfiguration;
     private final SpineConfiguration spineConfiguration;
 
     private final InteractionMapper interactionMapper;
-    private final GpSummaryMapper gpSummaryMapper;
-
-    // resource mappers
-
-    private final CareEventsMapper careEventsMapper;
-    private final DiagnosesMapper diagnosesMapper;
-    private final FamilyHistoriesMapper familyHistoriesMapper;
-    private final FindingsMapper findingsMapper;
-    private final InvestigationsMapper investigationsMapper;
-    private final LifestylesMapper lifestylesMapper;
-    private final PatientAndCarerCorrespondenceMapper patientAndCarerCorrespondenceMapper;
-    private final PersonalPreferencesMapper personalPreferencesMapper;
-    private final ProblemsMapper problemsMapper;
-    private final ProvisionsOfAdviceAndInfoMapper provisionsOfAdviceAndInfoMapper;
+    private final GpSummarySectionsMapper gpSummarySectionsMapper;
     private final RecordTargetMapper recordTargetMapper;
-    private final RisksToPatientMapper risksToPatientMapper;
-    private final SocialOrPersonalCircumstancesMapper socialOrPersonalCircumstancesMapper;
-    private final TreatmentsMapper treatmentsMapper;
     private final EventListQueryResponseParser eventListQueryResponseParser;
     private final SpineResponseParser spineResponseParser;
     private final SpineDetectedIssuesHandler spineDetectedIssuesHandler;
+    private final ScrEventCache scrEventCache;
+    private final EventListCache eventListCache;
+    private final StreamingScrMapper streamingScrMapper;
 
     @LogExecutionTime
-    public Bundle getScrId(String nhsNumber, String nhsdAsid, String clientIp) {
-        Document scrIdXml = getScrIdRawXml(nhsNumber, nhsdAsid, clientIp);
-        checkDetectedIssues(scrIdXml);
-
-        EventListQueryResponse response = eventListQueryResponseParser.parseXml(scrIdXml);
+    public CompletableFuture<Bundle> getScrIdAsync(String nhsNumber, String nhsdAsid, String clientIp) {
+        return getEventListAsync(nhsNumber, nhsdAsid, clientIp)
+            .thenApply(withMdc(response -> mapScrId(nhsNumber, response)));
+    }
 
+    private Bundle mapScrId(String nhsNumber, EventListQueryResponse response) {
         Bundle bundle = buildBundle();
         if (StringUtils.isNotEmpty(response.getLatestScrId())) {
             bundle.setTotal(1);
@@ -154,49 +136,79 @@ public class GetScrService {
         return bundle;
     }
 
+    /**
+     * Both Spine queries are sent through {@link SpineAsyncClientContract}. Mapping starts on the thread that completes the
+     * event query and the bundle is put together on the thread that maps the last GP Summary section.
+     */
     @LogExecutionTime
-    public Bundle getScr(String nhsNumber, String compositionId, String nhsdAsid, String clientIp) {
-        Document scrIdXml = getScrIdRawXml(nhsNumber, nhsdAsid, clientIp);
-        checkDetectedIssues(scrIdXml);
-        EventListQueryResponse response = eventListQueryResponseParser.parseXml(scrIdXml);
+    public CompletableFuture<Bundle> getScrAsync(String nhsNumber, String compositionId, String nhsdAsid, String clientIp) {
+        return getEventListAsync(nhsNumber, nhsdAsid, clientIp)
+            .thenCompose(withMdc(response -> {
+                if (StringUtils.equals(response.getLatestScrId(), compositionId)) {
+                    var cached = scrEventCache.get(compositionId, nhsNumber);
+                    if (cached.isPresent()) {
+                        return completedFuture(cached.get());
+                    }
+                    return mapScrAsync(response.getLatestScrId(), nhsNumber, nhsdAsid, clientIp)
+                        .thenApply(bundle -> cacheScr(compositionId, nhsNumber, bundle));
+                } else {
+                    return completedFuture(interactionMapper.mapToEmpty());
+                }
+            }));
+    }
 
-        if (StringUtils.equals(response.getLatestScrId(), compositionId)) {
-            Document document = getScrRawXml(response.getLatestScrId(), nhsNumber, nhsdAsid, clientIp);
-            logXml("Received SCR XML: {}", document);
-            checkDetectedIssues(document);
-
-            var bundle = interactionMapper.map(document);
-            Patient patient = recordTargetMapper.mapPatient(document);
-
-            Stream.of(
-                    gpSummaryMapper, // important that this is mapped first to get core patient data
-                    careEventsMapper,
-                    diagnosesMapper,
-                    familyHistoriesMapper,
-                    findingsMapper,
-                    investigationsMapper,
-                    lifestylesMapper,
-                    patientAndCarerCorrespondenceMapper,
-                    personalPreferencesMapper,
-                    problemsMapper,
-                    provisionsOfAdviceAndInfoMapper,
-                    risksToPatientMapper,
-                    socialOrPersonalCircumstancesMapper,
-                    treatmentsMapper)
-                    .map(mapper -> mapper.map(document))
-                    .flatMap(resources -> resources.stream())
-                    .peek(it -> setPatientReferences(it, patient))
-                    .map(resource -> getBundleEntryComponent(resource))
-                    .forEach(bundle::addEntry);
-
-            bundle.addEntry(getBundleEntryComponent(patient));
-            bundle.setTotal(bundle.getEntry().size());
-
-            return bundle;
+    private Bundle cacheScr(String compositionId, String nhsNumber, Bundle bundle) {
+        scrEventCache.put(compositionId, nhsNumber, bundle);
+        return bundle;
+    }
 
-        } else {
-            return interactionMapper.mapToEmpty();
+    private CompletableFuture<Bundle> mapScrAsync(String psisEventId, String nhsNumber, String nhsdAsid, String clientIp) {
+        if (scrConfiguration.getMappingEngine() == MappingEngine.STAX) {
+            String requestBody = prepareEventQueryRequest(psisEventId, nhsNumber, nhsdAsid, clientIp);
+            return spineAsyncClient.sendGetScrRaw(requestBody, nhsdAsid)
+                .thenCompose(withMdc(response -> mapScrAsync(streamingScrMapper.map(new ByteArrayInputStream(response.getBody())))));
         }
+        return getScrRawXmlAsync(psisEventId, nhsNumber, nhsdAsid, clientIp)
+            .thenCompose(withMdc(this::mapScrAsync));
+    }
+
+    private CompletableFuture<Bundle> mapScrAsync(Document document) {
+        logXml("Received SCR XML: {}", document);
+        checkDetectedIssues(document);
+
+        var bundle = interactionMapper.map(document);
+        Patient patient = recordTargetMapper.mapPatient(document);
+
+        return gpSummarySectionsMapper.mapAsync(document)
+            .thenApply(withMdc(resources -> addEntries(bundle, patient, resources.stream())));
+    }
+
+    /**
+     * Streaming counterpart of {@link #mapScrAsync(Document)}, the CREs started mapping while the response was read.
+     */
+    private CompletableFuture<Bundle> mapScrAsync(StreamedScr streamedScr) {
+        var document = streamedScr.getSkeleton();
+        logXml("Received SCR XML without CREs: {}", document);
+        checkDetectedIssues(document);
+
+        var bundle = interactionMapper.map(document);
+        Patient patient = recordTargetMapper.mapPatient(document);
+
+        var gpSummary = streamedScr.mapGpSummary();
+        return streamedScr.getCreResources()
+            .thenApply(withMdc(creResources -> addEntries(bundle, patient, Stream.concat(gpSummary.stream(), creResources.stream()))));
+    }
+
+    private Bundle addEntries(Bundle bundle, Patient patient, Stream<Resource> resources) {
+        resources
+                .peek(it -> setPatientReferences(it, patient))
+                .map(resource -> getBundleEntryComponent(resource))
+                .forEach(bundle::addEntry);
+
+        bundle.addEntry(getBundleEntryComponent(patient));
+        bundle.setTotal(bundle.getEntry().size());
+
+        return bundle;
     }
 
     private BundleEntryComponent getBundleEntryComponent(Resource resource) {
@@ -215,18 +227,37 @@ public class GetScrService {
         }
     }
 
+    private CompletableFuture<EventListQueryResponse> getEventListAsync(String nhsNumber, String nhsdAsid, String clientIp) {
+        return eventListCache.get(nhsNumber, nhsdAsid)
+            .map(CompletableFuture::completedFuture)
+            .orElseGet(() -> {
+                var generation = eventListCache.getGeneration(nhsNumber);
+                return getScrIdRawXmlAsync(nhsNumber, nhsdAsid, clientIp)
+                    .thenApply(withMdc(scrIdXml -> parseEventList(nhsNumber, nhsdAsid, generation, scrIdXml)));
+            });
+    }
+
+    private EventListQueryResponse parseEventList(String nhsNumber, String nhsdAsid, long generation, Document scrIdXml) {
+        checkDetectedIssues(scrIdXml);
+        EventListQueryResponse response = eventListQueryResponseParser.parseXml(scrIdXml);
+        eventListCache.put(nhsNumber, nhsdAsid, generation, response);
+        return response;
+    }
+
     @LogExecutionTime
-    public Document getScrIdRawXml(String nhsNumber, String nhsdAsid, String clientIp) {
+    public CompletableFuture<Document> getScrIdRawXmlAsync(String nhsNumber, String nhsdAsid, String clientIp) {
         String requestBody = prepareEventListQueryRequest(nhsNumber, nhsdAsid, clientIp);
-        Response<Document> result = spineClient.sendGetScrId(requestBody, nhsdAsid);
-        logXml("Received SCR ID XML: {}", result.getBody());
-        return result.getBody();
+        var query = spineAsyncClient.sendGetScrId(requestBody, nhsdAsid);
+        return cancelSourceOnCancel(query.thenApply(withMdc(result -> {
+            logXml("Received SCR ID XML: {}", result.getBody());
+            return result.getBody();
+        })), query);
     }
 
-    private Document getScrRawXml(String psisEventId, String nhsNumber, String nhsdAsid, String clientIp) {
+    private CompletableFuture<Document> getScrRawXmlAsync(String psisEventId, String nhsNumber, String nhsdAsid, String clientIp) {
         String requestBody = prepareEventQueryRequest(psisEventId, nhsNumber, nhsdAsid, clientIp);
-        Response<Document> result = spineClient.sendGetScr(requestBody, nhsdAsid);
-        return result.getBody();
+        return spineAsyncClient.sendGetScr(requestBody, nhsdAsid)
+            .thenApply(Response::getBody);
     }
 
     private void checkDetectedIssues(Document document) {
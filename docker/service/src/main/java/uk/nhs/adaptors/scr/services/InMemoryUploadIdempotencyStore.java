@@ -0,0 +1,78 @@
+package uk.nhs.adaptors.scr.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import uk.nhs.adaptors.scr.config.ScrCacheConfig;
+import uk.nhs.adaptors.scr.models.ProcessingResult;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.CompletableFuture.failedFuture;
+
+/**
+ * Keeps at most {@code scr.cache.uploadMaxSize} uploads in memory, each for {@code scr.cache.uploadTtl} after it was
+ * started. An upload evicted early only means that a retry is submitted to Spine again.
+ */
+@Slf4j
+public class InMemoryUploadIdempotencyStore implements UploadIdempotencyStore {
+
+    private static final String CACHE_NAME = "scr.upload";
+
+    private final Cache<Key, CompletableFuture<ProcessingResult>> uploads;
+
+    public InMemoryUploadIdempotencyStore(ScrCacheConfig scrCacheConfig, MeterRegistry meterRegistry) {
+        this.uploads = Caffeine.newBuilder()
+            .maximumSize(scrCacheConfig.getUploadMaxSize())
+            .expireAfterWrite(Duration.ofMillis(scrCacheConfig.getUploadTtl()))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, uploads, CACHE_NAME);
+    }
+
+    @Override
+    public CompletableFuture<ProcessingResult> getOrStart(String bundleIdentifier, String nhsdAsid,
+                                                          Supplier<CompletableFuture<ProcessingResult>> upload) {
+        var key = new Key(bundleIdentifier, nhsdAsid);
+        var recordedUpload = new CompletableFuture<ProcessingResult>();
+        var previousUpload = uploads.asMap().putIfAbsent(key, recordedUpload);
+        if (previousUpload != null) {
+            LOGGER.info("Bundle {} has already been submitted, returning the outcome of that upload", bundleIdentifier);
+            // a copy, so that nothing the caller does to it affects other callers
+            return previousUpload.copy();
+        }
+
+        CompletableFuture<ProcessingResult> startedUpload;
+        try {
+            startedUpload = upload.get();
+        } catch (RuntimeException e) {
+            startedUpload = failedFuture(e);
+        }
+        startedUpload.whenComplete((processingResult, error) -> {
+            if (error == null) {
+                recordedUpload.complete(processingResult);
+            } else {
+                uploads.asMap().remove(key, recordedUpload);
+                recordedUpload.completeExceptionally(error);
+            }
+        });
+        return startedUpload;
+    }
+
+    public void invalidateAll() {
+        uploads.invalidateAll();
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Key {
+        private final String bundleIdentifier;
+        private final String nhsdAsid;
+    }
+}
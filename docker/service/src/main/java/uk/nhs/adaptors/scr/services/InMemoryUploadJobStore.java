@@ -0,0 +1,42 @@
+package uk.nhs.adaptors.scr.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import uk.nhs.adaptors.scr.config.AsyncUploadConfig;
+import uk.nhs.adaptors.scr.models.UploadJob;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps upload jobs in memory and drops them once they have not changed for {@code scr.asyncUpload.jobRetention}.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class InMemoryUploadJobStore implements UploadJobStore {
+
+    private static final int PURGE_INTERVAL = 60000;
+
+    private final AsyncUploadConfig asyncUploadConfig;
+    private final Map<String, UploadJob> jobs = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(UploadJob job) {
+        jobs.put(job.getId(), job);
+    }
+
+    @Override
+    public Optional<UploadJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    @Scheduled(fixedDelay = PURGE_INTERVAL)
+    public void purgeExpiredJobs() {
+        var expiry = Instant.now().minusMillis(asyncUploadConfig.getJobRetention());
+        jobs.values().removeIf(job -> job.getUpdatedAt().isBefore(expiry));
+        LOGGER.debug("Upload jobs retained: {}", jobs.size());
+    }
+}
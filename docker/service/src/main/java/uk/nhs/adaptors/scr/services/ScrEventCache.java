@@ -0,0 +1,78 @@
+package uk.nhs.adaptors.scr.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hl7.fhir.r4.model.Bundle;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import uk.nhs.adaptors.scr.config.ScrCacheConfig;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Optional;
+
+import static uk.nhs.adaptors.scr.utils.FhirHelper.randomUUID;
+
+/**
+ * Mapped SCR content keyed by PSIS event ID and NHS number. A stored PSIS event never changes, so once mapped it can be
+ * served again without the event query or any of the HL7 mappers. Callers must still run the event list query first,
+ * it is what decides whether the event is the patient's latest SCR and whether it may be viewed.
+ */
+@Component
+@Slf4j
+public class ScrEventCache {
+
+    private static final String CACHE_NAME = "scr.event";
+
+    private final Cache<Key, Bundle> cache;
+
+    @Autowired
+    public ScrEventCache(ScrCacheConfig scrCacheConfig, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(scrCacheConfig.getScrEventMaxSize())
+            .expireAfterWrite(Duration.ofMillis(scrCacheConfig.getScrEventTtl()))
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Cached bundles are shared between requests and must not be modified. Each caller gets a shallow copy with its own
+     * bundle id; the entries themselves are shared. A full {@code copy()} is avoided on purpose as it re-validates
+     * every date and costs about as much as mapping the SCR again.
+     */
+    public Optional<Bundle> get(String compositionId, String nhsNumber) {
+        return Optional.ofNullable(cache.getIfPresent(new Key(compositionId, nhsNumber)))
+            .map(bundle -> {
+                LOGGER.debug("Serving SCR event {} from cache", compositionId);
+                var copy = new Bundle()
+                    .setType(bundle.getType())
+                    .setIdentifier(bundle.getIdentifier())
+                    .setTimestampElement(bundle.getTimestampElement())
+                    .setTotal(bundle.getTotal())
+                    .setEntry(new ArrayList<>(bundle.getEntry()));
+                copy.setId(randomUUID());
+                return copy;
+            });
+    }
+
+    public void put(String compositionId, String nhsNumber, Bundle bundle) {
+        cache.put(new Key(compositionId, nhsNumber), bundle);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Key {
+        private final String compositionId;
+        private final String nhsNumber;
+    }
+}
@@ -0,0 +1,22 @@
+package uk.nhs.adaptors.scr.services;
+
+import uk.nhs.adaptors.scr.models.ProcessingResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Record of SCR uploads by bundle identifier and requesting ASID, so a client retrying POST /Bundle gets the outcome of
+ * the upload it has already started instead of a second submission to Spine. The default in-memory store can be
+ * replaced by declaring another bean of this type.
+ */
+public interface UploadIdempotencyStore {
+
+    /**
+     * Returns the upload recorded for the bundle identifier and ASID, whether it is still in progress or has completed.
+     * If there is none, starts one with {@code upload} and records it. Failed uploads are not kept, so a retry after a
+     * failure starts a new upload.
+     */
+    CompletableFuture<ProcessingResult> getOrStart(String bundleIdentifier, String nhsdAsid,
+                                                   Supplier<CompletableFuture<ProcessingResult>> upload);
+}
@@ -0,0 +1,74 @@
+package uk.nhs.adaptors.scr.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import uk.nhs.adaptors.scr.exceptions.NotFoundException;
+import uk.nhs.adaptors.scr.models.RequestData;
+import uk.nhs.adaptors.scr.models.UploadJob;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+
+/**
+ * Runs SCR uploads in asynchronous mode. The upload is started straight away and its outcome is written to the
+ * {@link UploadJobStore}; jobs started by this instance can also be awaited so the status endpoint can long-poll.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor(onConstructor = @__(@Autowired))
+public class UploadJobService {
+
+    private final UploadScrService uploadScrService;
+    private final UploadJobStore uploadJobStore;
+
+    private final Map<String, CompletableFuture<UploadJob>> runningJobs = new ConcurrentHashMap<>();
+
+    public UploadJob submit(RequestData requestData) {
+        var upload = uploadScrService.uploadScr(requestData);
+        if (upload.isCompletedExceptionally()) {
+            // rejected before any work started, e.g. the upload executor is saturated - report it to the caller directly
+            throw unwrap(upload.handle((processingResult, error) -> error).join());
+        }
+
+        var job = UploadJob.inProgress(UUID.randomUUID().toString());
+        var completion = new CompletableFuture<UploadJob>();
+        runningJobs.put(job.getId(), completion);
+        uploadJobStore.save(job);
+        LOGGER.info("Accepted SCR upload job {}", job.getId());
+
+        upload.whenComplete((processingResult, error) -> {
+            var finishedJob = error == null ? job.complete(processingResult) : job.fail(unwrap(error));
+            LOGGER.info("SCR upload job {} finished with status {}", job.getId(), finishedJob.getStatus());
+            uploadJobStore.save(finishedJob);
+            runningJobs.remove(job.getId());
+            completion.complete(finishedJob);
+        });
+        return job;
+    }
+
+    public UploadJob getJob(String id) {
+        return uploadJobStore.find(id)
+            .orElseThrow(() -> new NotFoundException("Upload job " + id + " not found"));
+    }
+
+    /**
+     * Returns a future that completes when the job finishes. Jobs that already finished, or that were started by another
+     * instance, complete immediately with their stored state.
+     */
+    public CompletableFuture<UploadJob> awaitJob(String id) {
+        var job = getJob(id);
+        return runningJobs.getOrDefault(id, completedFuture(job));
+    }
+
+    private static RuntimeException unwrap(Throwable error) {
+        var cause = error instanceof CompletionException ? error.getCause() : error;
+        return cause instanceof RuntimeException ? (RuntimeException) cause : new CompletionException(cause);
+    }
+}
@@ -0,0 +1,15 @@
+package uk.nhs.adaptors.scr.services;
+
+import uk.nhs.adaptors.scr.models.UploadJob;
+
+import java.util.Optional;
+
+/**
+ * Storage for asynchronous SCR upload jobs. The default in-memory store can be replaced by declaring another bean of
+ * this type, e.g. a shared store when several instances serve the same status endpoint.
+ */
+public interface UploadJobStore {
+    void save(UploadJob job);
+
+    Optional<UploadJob> find(String id);
+}
@@ -1,36 +1,38 @@
 package uk.nhs.adaptors.scr.services;
 
 import lombok.RequiredArgsConstructor;
-import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.tuple.Pair;
 import org.hl7.fhir.r4.model.Bundle;
 import org.hl7.fhir.r4.model.Patient;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Component;
 import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import uk.nhs.adaptors.scr.clients.spine.SpineClientContract;
+import uk.nhs.adaptors.scr.clients.spine.SpineAsyncClientContract;
 import uk.nhs.adaptors.scr.components.FhirParser;
+import uk.nhs.adaptors.scr.config.UploadExecutorConfig;
 import uk.nhs.adaptors.scr.exceptions.NonSuccessSpineProcessingResultException;
+import uk.nhs.adaptors.scr.exceptions.ServiceUnavailableException;
 import uk.nhs.adaptors.scr.exceptions.UnexpectedSpineResponseException;
 import uk.nhs.adaptors.scr.logging.LogExecutionTime;
 import uk.nhs.adaptors.scr.mappings.from.fhir.BundleMapper;
 import uk.nhs.adaptors.scr.models.ProcessingResult;
 import uk.nhs.adaptors.scr.models.RequestData;
 import uk.nhs.adaptors.scr.utils.FhirHelper;
+import uk.nhs.adaptors.scr.utils.FilledTemplate;
 
-import javax.xml.xpath.XPathConstants;
-import javax.xml.xpath.XPathExpressionException;
-import javax.xml.xpath.XPathFactory;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
 
 import static java.lang.Long.parseLong;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static java.util.concurrent.CompletableFuture.supplyAsync;
 import static org.springframework.http.HttpHeaders.CONTENT_LOCATION;
 import static org.springframework.http.HttpHeaders.RETRY_AFTER;
 import static uk.nhs.adaptors.scr.clients.spine.SpineHttpClient.getHeader;
-import static uk.nhs.adaptors.scr.utils.DocumentBuilderUtil.parseDocument;
+import static uk.nhs.adaptors.scr.logging.MdcPropagation.withMdc;
 
 /**
  * Service to upload HL7 based SCRs to Spine.
@@ -41,82 +43,127 @@ import static uk.nhs.adaptors.scr.utils.DocumentBuilderUtil.parseDocument;
 public class UploadScrService {
 
     private final FhirParser fhirParser;
-    private final SpineClientContract spineClient;
+    private final SpineAsyncClientContract spineAsyncClient;
     private final GetScrService getScrService;
     private final BundleMapper bundleMapper;
     private final SpineResponseParser spineResponseParser;
     private final SpineDetectedIssuesHandler spineDetectedIssuesHandler;
-
+    private final ThreadPoolTaskExecutor uploadTaskExecutor;
+    private final UploadExecutorConfig uploadExecutorConfig;
+    private final EventListCache eventListCache;
+    private final UploadIdempotencyStore uploadIdempotencyStore;
+
+    /**
+     * Maps the bundle on the upload executor while the permission check is in flight, then submits it to Spine. The
+     * returned future completes with the successful processing result once polling has finished; no thread waits for it
+     * meanwhile. Any failure, including validation of the request itself, is reported through the returned future.
+     * A bundle already submitted with the same identifier and ASID is not submitted again, the outcome of that upload
+     * is returned instead.
+     */
     @LogExecutionTime
-    public void uploadScr(RequestData requestData) {
-        Bundle bundle = fhirParser.parseResource(requestData.getBody(), Bundle.class);
-        var spineRequest = bundleMapper.map(bundle, requestData.getNhsdAsid());
-        checkPermission(bundle, requestData.getNhsdAsid(), requestData.getClientIp());
-        var response = spineClient.sendScrData(spineRequest, requestData.getNhsdAsid(),
-            requestData.getNhsdIdentity(), requestData.getNhsdSessionUrid());
-
-        String contentLocation;
-        long retryAfter;
+    public CompletableFuture<ProcessingResult> uploadScr(RequestData requestData) {
         try {
-            contentLocation = getHeader(response.getHeaders(), CONTENT_LOCATION);
-            retryAfter = parseLong(getHeader(response.getHeaders(), RETRY_AFTER));
-        } catch (Exception ex) {
-            throw new UnexpectedSpineResponseException("Unable to extract required headers", ex);
+            return supplyAsync(() -> startUpload(requestData), uploadTaskExecutor)
+                .thenCompose(Function.identity());
+        } catch (RejectedExecutionException e) {
+            LOGGER.warn("Upload executor is saturated, rejecting SCR upload");
+            return failedFuture(new ServiceUnavailableException("Too many SCR uploads in progress",
+                uploadExecutorConfig.getRetryAfter()));
         }
-
-        var processingResult = spineClient.getScrProcessingResult(contentLocation, retryAfter, requestData.getNhsdAsid(),
-            requestData.getNhsdIdentity(), requestData.getNhsdSessionUrid());
-        validateProcessingResult(processingResult);
     }
 
-    private void checkPermission(Bundle bundle, String nhsdAsid, String clientIp) {
-        LOGGER.info("Checking permission to store SCR");
-        String nhsNumber = getNhsNumber(bundle);
-        Document scrIdXml = getScrService.getScrIdRawXml(nhsNumber, nhsdAsid, clientIp);
-        var detectedIssues = spineResponseParser.getDetectedIssues(scrIdXml);
-        spineDetectedIssuesHandler.handleDetectedIssues(detectedIssues);
+    private CompletableFuture<ProcessingResult> startUpload(RequestData requestData) {
+        Bundle bundle = fhirParser.parseResource(requestData.getBody(), Bundle.class);
+        if (!bundle.hasIdentifier() || !bundle.getIdentifier().hasValue()) {
+            // rejected by the mapping
+            return upload(bundle, requestData);
+        }
+        return uploadIdempotencyStore.getOrStart(bundle.getIdentifier().getValue().toUpperCase(), requestData.getNhsdAsid(),
+            () -> upload(bundle, requestData));
     }
 
-    private String getNhsNumber(Bundle bundle) {
-        Patient patient = FhirHelper.getDomainResource(bundle, Patient.class);
-        return FhirHelper.getNhsNumber(patient);
+    private CompletableFuture<ProcessingResult> upload(Bundle bundle, RequestData requestData) {
+        return prepareSpineRequest(bundle, requestData)
+            .thenCompose(prepared -> sendToSpine(prepared.getRight(), requestData)
+                .thenApply(withMdc(processingResult -> {
+                    // the patient's latest SCR ID has changed
+                    eventListCache.invalidate(prepared.getLeft());
+                    return processingResult;
+                })));
     }
 
-    @SneakyThrows
-    private void validateProcessingResult(ProcessingResult processingResult) {
-        var hl7Document = parseDocument(processingResult.getHl7());
+    private CompletableFuture<ProcessingResult> sendToSpine(FilledTemplate spineRequest, RequestData requestData) {
+        return spineAsyncClient.sendScrData(spineRequest, requestData.getNhsdAsid(),
+            requestData.getNhsdIdentity(), requestData.getNhsdSessionUrid())
+            .thenCompose(withMdc(response -> {
+                String contentLocation;
+                long retryAfter;
+                try {
+                    contentLocation = getHeader(response.getHeaders(), CONTENT_LOCATION);
+                    retryAfter = parseLong(getHeader(response.getHeaders(), RETRY_AFTER));
+                } catch (Exception ex) {
+                    throw new UnexpectedSpineResponseException("Unable to extract required headers", ex);
+                }
+
+                return spineAsyncClient.getScrProcessingResult(contentLocation, retryAfter, requestData.getNhsdAsid(),
+                    requestData.getNhsdIdentity(), requestData.getNhsdSessionUrid());
+            }))
+            .thenApply(withMdc(this::validateProcessingResult));
+    }
 
-        var acknowledgementXPath = XPathFactory.newInstance().newXPath().compile("/MCCI_IN010000UK13/acknowledgement");
-        var acknowledgementNode = ((NodeList) acknowledgementXPath.evaluate(hl7Document, XPathConstants.NODESET)).item(0);
-        String acknowledgementTypeCode;
+    /**
+     * Returns the patient's NHS number and the HL7 request to send to Spine. The permission check only needs the NHS
+     * number, so it is sent to Spine before the bundle is mapped. A mapping failure is reported straight away, without
+     * waiting for the permission check, which is cancelled. Validation errors are reported in the same order as when the
+     * bundle was mapped first.
+     */
+    private CompletableFuture<Pair<String, FilledTemplate>> prepareSpineRequest(Bundle bundle, RequestData requestData) {
+        String nhsNumber;
         try {
-            acknowledgementTypeCode = acknowledgementNode.getAttributes().getNamedItem("typeCode").getNodeValue();
-        } catch (Exception ex) {
-            LOGGER.error("Unable to extract acknowledgement code:\n{}", processingResult.getHl7());
-            throw new UnexpectedSpineResponseException("Unable to extract acknowledgement code");
+            nhsNumber = getNhsNumber(bundle);
+        } catch (RuntimeException e) {
+            // a bundle the mapping rejects reports the mapping error rather than the missing NHS number
+            bundleMapper.map(bundle, requestData.getNhsdAsid());
+            throw e;
         }
 
-        if (!acknowledgementTypeCode.equals("AA")) {
-            var errors = getErrors(hl7Document);
-            LOGGER.error("Non success spine processing result:\n{}\n{}",
-                processingResult.getSoapEnvelope(), processingResult.getHl7());
-            throw new NonSuccessSpineProcessingResultException(errors);
+        LOGGER.info("Checking permission to store SCR");
+        var scrIdXml = getScrService.getScrIdRawXmlAsync(nhsNumber, requestData.getNhsdAsid(), requestData.getClientIp());
+        FilledTemplate spineRequest;
+        try {
+            spineRequest = bundleMapper.map(bundle, requestData.getNhsdAsid());
+        } catch (RuntimeException e) {
+            // nothing waits for the permission check any more, so its Spine request is disposed and its permit given back
+            scrIdXml.cancel(false);
+            throw e;
         }
+        return checkPermission(scrIdXml).thenApply(permitted -> Pair.of(nhsNumber, spineRequest));
     }
 
-    private List<String> getErrors(Document hl7Document) throws XPathExpressionException {
-        var errorsXPath = XPathFactory.newInstance().newXPath()
-            .compile("/MCCI_IN010000UK13/ControlActEvent/reason/justifyingDetectedIssueEvent/code");
+    private CompletableFuture<Document> checkPermission(CompletableFuture<Document> scrIdXml) {
+        return scrIdXml.thenApply(withMdc(xml -> {
+            var detectedIssues = spineResponseParser.getDetectedIssues(xml);
+            spineDetectedIssuesHandler.handleDetectedIssues(detectedIssues);
+            return xml;
+        }));
+    }
 
-        var acknowledgementNodes = (NodeList) errorsXPath.evaluate(hl7Document, XPathConstants.NODESET);
+    private String getNhsNumber(Bundle bundle) {
+        Patient patient = FhirHelper.getDomainResource(bundle, Patient.class);
+        return FhirHelper.getNhsNumber(patient);
+    }
+
+    private ProcessingResult validateProcessingResult(ProcessingResult processingResult) {
+        if (processingResult.getAcknowledgementTypeCode() == null) {
+            LOGGER.error("Unable to extract acknowledgement code");
+            throw new UnexpectedSpineResponseException("Unable to extract acknowledgement code");
+        }
 
-        var errorsList = new ArrayList<String>();
-        for (int i = 0; i < acknowledgementNodes.getLength(); i++) {
-            Node node = acknowledgementNodes.item(i);
-            var code = node.getAttributes().getNamedItem("code").getTextContent();
-            var displayName = node.getAttributes().getNamedItem("displayName").getTextContent();
-            errorsList.add(String.format("%s: %s", code, displayName));
+        if (!processingResult.isAccepted()) {
+            LOGGER.error("Non success spine processing result: {} {}",
+                processingResult.getAcknowledgementTypeCode(), processingResult.getDetectedIssues());
+            throw new NonSuccessSpineProcessingResultException(processingResult.getDetectedIssues());
         }
-        return errorsList;
+        return processingResult;
     }
 }
@@ -6,24 +6,61 @@ import org.xml.sax.InputSource;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.InputStream;
 import java.io.StringReader;
 
 import static javax.xml.XMLConstants.ACCESS_EXTERNAL_DTD;
 import static javax.xml.XMLConstants.ACCESS_EXTERNAL_SCHEMA;
 import static org.apache.commons.lang3.StringUtils.EMPTY;
 
+/**
+ * Parses and creates DOM documents. The factory is looked up and configured once. Neither the factory nor
+ * {@link DocumentBuilder} is thread safe, so every thread keeps its own builder and resets it before each use.
+ *
+ * <p>Deferred node expansion is turned off: the mappers visit almost every node of a response, so building nodes lazily
+ * only adds bookkeeping.
+ */
 public class DocumentBuilderUtil {
 
-    @SneakyThrows
-    public static DocumentBuilder documentBuilder() {
-        DocumentBuilderFactory df = DocumentBuilderFactory.newInstance();
-        df.setAttribute(ACCESS_EXTERNAL_DTD, EMPTY);
-        df.setAttribute(ACCESS_EXTERNAL_SCHEMA, EMPTY);
-        return df.newDocumentBuilder();
+    private static final String DEFER_NODE_EXPANSION = "http://apache.org/xml/features/dom/defer-node-expansion";
+
+    private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = createDocumentBuilderFactory();
+    private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER =
+        ThreadLocal.withInitial(DocumentBuilderUtil::createDocumentBuilder);
+
+    public static Document newDocument() {
+        return documentBuilder().newDocument();
     }
 
     @SneakyThrows
     public static Document parseDocument(String xml) {
         return documentBuilder().parse(new InputSource(new StringReader(xml)));
     }
+
+    @SneakyThrows
+    public static Document parseDocument(InputStream xml) {
+        return documentBuilder().parse(xml);
+    }
+
+    private static DocumentBuilder documentBuilder() {
+        var documentBuilder = DOCUMENT_BUILDER.get();
+        documentBuilder.reset();
+        return documentBuilder;
+    }
+
+    @SneakyThrows
+    private static DocumentBuilder createDocumentBuilder() {
+        synchronized (DOCUMENT_BUILDER_FACTORY) {
+            return DOCUMENT_BUILDER_FACTORY.newDocumentBuilder();
+        }
+    }
+
+    @SneakyThrows
+    private static DocumentBuilderFactory createDocumentBuilderFactory() {
+        DocumentBuilderFactory df = DocumentBuilderFactory.newInstance();
+        df.setAttribute(ACCESS_EXTERNAL_DTD, EMPTY);
+        df.setAttribute(ACCESS_EXTERNAL_SCHEMA, EMPTY);
+        df.setFeature(DEFER_NODE_EXPANSION, false);
+        return df;
+    }
 }
@@ -0,0 +1,32 @@
+package uk.nhs.adaptors.scr.utils;
+
+import com.github.mustachejava.Mustache;
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+
+import java.io.Writer;
+
+/**
+ * A template and the content to fill it with. The template is rendered each time it is written, so the message does not
+ * have to exist as a String before it is sent.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PACKAGE)
+public class FilledTemplate {
+
+    private final Mustache template;
+    private final Object content;
+
+    /**
+     * Renders the template to the writer and flushes it. The writer is not closed.
+     */
+    @SneakyThrows
+    public void writeTo(Writer writer) {
+        template.execute(writer, content).flush();
+    }
+
+    @Override
+    public String toString() {
+        return TemplateUtils.fillTemplate(template, content);
+    }
+}
@@ -0,0 +1,23 @@
+package uk.nhs.adaptors.scr.utils;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Helpers for the futures returned by the Spine clients.
+ */
+public class FutureUtils {
+
+    /**
+     * Returns the dependent stage, which cancels the source it was derived from when it is cancelled. Cancelling a stage
+     * created by {@code thenApply} or {@code thenCompose} does not reach the Spine request behind it otherwise.
+     */
+    public static <T> CompletableFuture<T> cancelSourceOnCancel(CompletableFuture<T> dependent, CompletableFuture<?> source) {
+        dependent.whenComplete((result, error) -> {
+            if (error instanceof CancellationException) {
+                source.cancel(false);
+            }
+        });
+        return dependent;
+    }
+}
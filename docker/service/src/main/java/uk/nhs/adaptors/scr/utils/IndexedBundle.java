@@ -0,0 +1,127 @@
+package uk.nhs.adaptors.scr.utils;
+
+import lombok.Getter;
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.CodeableConcept;
+import org.hl7.fhir.r4.model.Communication;
+import org.hl7.fhir.r4.model.Condition;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Procedure;
+import org.hl7.fhir.r4.model.Resource;
+import uk.nhs.adaptors.scr.exceptions.FhirMappingException;
+import uk.nhs.adaptors.scr.exceptions.FhirValidationException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Read only view of a FHIR bundle for the FHIR to HL7 mappers. Resources are grouped by type, by type and id, and for the
+ * resource types the non-core CREs are mapped from, by type and SNOMED category code, in a single pass when the view is
+ * created. Looking up the resources of a type or category or resolving a reference does not scan the entries.
+ * Created once per mapped bundle, the bundle must not be changed while the view is in use.
+ */
+public class IndexedBundle {
+
+    private static final char REFERENCE_SEPARATOR = '/';
+
+    /**
+     * The code of the first category coding, which decides the CRE a resource is mapped to. Read without the
+     * get...FirstRep methods, which would add empty elements to the resource.
+     */
+    private static final Map<Class<? extends Resource>, Function<Resource, String>> CATEGORY_CODES = Map.of(
+        Communication.class, resource -> firstCode(((Communication) resource).getCategory()),
+        Condition.class, resource -> firstCode(((Condition) resource).getCategory()),
+        Observation.class, resource -> firstCode(((Observation) resource).getCategory()),
+        Procedure.class, resource -> ((Procedure) resource).hasCategory() ? firstCode(((Procedure) resource).getCategory()) : null);
+
+    @Getter
+    private final Bundle bundle;
+    private final Map<Class<? extends Resource>, List<Resource>> resourcesByType = new HashMap<>();
+    private final Map<Class<? extends Resource>, Map<String, Resource>> resourcesByTypeAndId = new HashMap<>();
+    private final Map<Class<? extends Resource>, Map<String, List<Resource>>> resourcesByTypeAndCategory = new HashMap<>();
+
+    public IndexedBundle(Bundle bundle) {
+        this.bundle = bundle;
+        for (var entry : bundle.getEntry()) {
+            var resource = entry.getResource();
+            if (resource == null) {
+                continue;
+            }
+            resourcesByType.computeIfAbsent(resource.getClass(), type -> new ArrayList<>()).add(resource);
+            var id = resource.getIdElement().getIdPart();
+            if (id != null) {
+                resourcesByTypeAndId.computeIfAbsent(resource.getClass(), type -> new HashMap<>()).putIfAbsent(id, resource);
+            }
+            var categoryCode = CATEGORY_CODES.getOrDefault(resource.getClass(), it -> null).apply(resource);
+            if (categoryCode != null) {
+                resourcesByTypeAndCategory.computeIfAbsent(resource.getClass(), type -> new HashMap<>())
+                    .computeIfAbsent(categoryCode, code -> new ArrayList<>())
+                    .add(resource);
+            }
+        }
+    }
+
+    /**
+     * Returns the only resource of the given type.
+     * @throws FhirMappingException if there is none or more than one
+     */
+    public <T extends Resource> T getDomainResource(Class<T> resourceType) {
+        var resources = getDomainResourceList(resourceType);
+        if (resources.size() > 1) {
+            throw new FhirMappingException("There is more than 1 resource of type " + resourceType.getSimpleName());
+        }
+        if (resources.isEmpty()) {
+            throw new FhirMappingException(resourceType.getSimpleName() + " missing from payload");
+        }
+        return resources.get(0);
+    }
+
+    /**
+     * Returns the resources of exactly the given type, in bundle order.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Resource> List<T> getDomainResourceList(Class<T> resourceType) {
+        return (List<T>) Collections.unmodifiableList(resourcesByType.getOrDefault(resourceType, List.of()));
+    }
+
+    /**
+     * Returns the resources of exactly the given type whose first category coding has the given code, in bundle order.
+     * Only Communication, Condition, Observation and Procedure resources are grouped by category.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Resource> List<T> getDomainResourceList(Class<T> resourceType, String categoryCode) {
+        return (List<T>) Collections.unmodifiableList(
+            resourcesByTypeAndCategory.getOrDefault(resourceType, Map.of()).getOrDefault(categoryCode, List.of()));
+    }
+
+    /**
+     * Resolves a relative reference such as Encounter/123 to the first resource of the given type with that id.
+     * @throws FhirValidationException if the reference does not point to the given type
+     */
+    public <T extends Resource> Optional<T> getResourceByReference(String reference, Class<T> resourceType) {
+        var expectedResourceReference = resourceType.getSimpleName();
+        var typeEnd = reference.indexOf(REFERENCE_SEPARATOR);
+        if (typeEnd < 0 || !reference.startsWith(expectedResourceReference) || typeEnd != expectedResourceReference.length()) {
+            throw new FhirValidationException(String.format("Invalid resource reference. %s expected to be referencing %s",
+                reference, expectedResourceReference));
+        }
+
+        var idEnd = reference.indexOf(REFERENCE_SEPARATOR, typeEnd + 1);
+        var resourceId = reference.substring(typeEnd + 1, idEnd < 0 ? reference.length() : idEnd);
+        return Optional.ofNullable(resourcesByTypeAndId.getOrDefault(resourceType, Map.of()).get(resourceId))
+            .map(resourceType::cast);
+    }
+
+    private static String firstCode(List<CodeableConcept> concepts) {
+        return concepts.isEmpty() ? null : firstCode(concepts.get(0));
+    }
+
+    private static String firstCode(CodeableConcept concept) {
+        return concept.hasCoding() ? concept.getCoding().get(0).getCode() : null;
+    }
+}
@@ -0,0 +1,49 @@
+package uk.nhs.adaptors.scr.utils;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+import static org.apache.commons.lang3.StringUtils.isBlank;
+
+/**
+ * Reads the RFC 7240 Prefer header, e.g. {@code Prefer: respond-async, wait=10}.
+ */
+public class PreferHeaderUtils {
+    public static final String RESPOND_ASYNC = "respond-async";
+    private static final String WAIT = "wait";
+
+    public static boolean isRespondAsync(String prefer) {
+        return getPreference(prefer, RESPOND_ASYNC).isPresent();
+    }
+
+    /**
+     * The wait preference in seconds, {@link Long#MAX_VALUE} when it is longer than that. Callers cap it at the longest
+     * wait they allow.
+     */
+    public static Optional<Long> getWait(String prefer) {
+        return getPreference(prefer, WAIT)
+            .filter(value -> value.matches("\\d+"))
+            .map(PreferHeaderUtils::parseWait);
+    }
+
+    private static long parseWait(String seconds) {
+        try {
+            return Long.parseLong(seconds);
+        } catch (NumberFormatException e) {
+            // only digits, so it is too large for a long
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private static Optional<String> getPreference(String prefer, String name) {
+        if (isBlank(prefer)) {
+            return Optional.empty();
+        }
+        return Arrays.stream(prefer.split(","))
+            .map(preference -> preference.split(";")[0].trim())
+            .map(preference -> preference.split("=", 2))
+            .filter(token -> token[0].trim().equalsIgnoreCase(name))
+            .map(token -> token.length > 1 ? token[1].trim().replace("\"", "") : "")
+            .findFirst();
+    }
+}
@@ -4,33 +4,54 @@ import com.github.mustachejava.DefaultMustacheFactory;
 import com.github.mustachejava.Mustache;
 import com.github.mustachejava.MustacheFactory;
 import lombok.SneakyThrows;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 
 import java.io.StringWriter;
 
+/**
+ * All templates are compiled by one factory rooted at the templates directory, so a template and the partials it includes
+ * are compiled once and shared by all threads. Every template under the directory is compiled when this class is loaded.
+ */
 public class TemplateUtils {
     private static final String TEMPLATES_DIRECTORY = "templates";
-    private static final String PARTIAL_DIRECTORY = "templates/partials";
+    private static final String PARTIAL_DIRECTORY = "partials/";
+    private static final String TEMPLATES_PATTERN = "classpath*:" + TEMPLATES_DIRECTORY + "/**/*.mustache";
+
+    private static final MustacheFactory MUSTACHE_FACTORY = new DefaultMustacheFactory(TEMPLATES_DIRECTORY);
+
+    static {
+        precompileTemplates();
+    }
 
     public static Mustache loadTemplate(String templateName) {
-        MustacheFactory mf = new DefaultMustacheFactory(TEMPLATES_DIRECTORY);
-        Mustache m = mf.compile(templateName);
-        return m;
+        return MUSTACHE_FACTORY.compile(templateName);
     }
 
     public static Mustache loadPartialTemplate(String templateName) {
-        MustacheFactory mf = new DefaultMustacheFactory(PARTIAL_DIRECTORY);
-        Mustache m = mf.compile(templateName);
-        return m;
+        return MUSTACHE_FACTORY.compile(PARTIAL_DIRECTORY + templateName);
     }
 
     @SneakyThrows
     public static String fillTemplate(Mustache template, Object content) {
         StringWriter writer = new StringWriter();
-        String data = "";
-
         template.execute(writer, content).flush();
-        data += writer.toString();
+        return writer.toString();
+    }
+
+    /**
+     * Returns the template filled with the content without rendering it, for large messages which are written straight to
+     * the request sent to Spine.
+     */
+    public static FilledTemplate prepareTemplate(Mustache template, Object content) {
+        return new FilledTemplate(template, content);
+    }
 
-        return data;
+    @SneakyThrows
+    private static void precompileTemplates() {
+        var directory = "/" + TEMPLATES_DIRECTORY + "/";
+        for (var resource : new PathMatchingResourcePatternResolver().getResources(TEMPLATES_PATTERN)) {
+            var path = resource.getURL().toString();
+            loadTemplate(path.substring(path.lastIndexOf(directory) + directory.length()));
+        }
     }
 }
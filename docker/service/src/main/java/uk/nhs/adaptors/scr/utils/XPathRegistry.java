@@ -0,0 +1,45 @@
+package uk.nhs.adaptors.scr.utils;
+
+import javax.xml.xpath.XPath;
+import javax.xml.xpath.XPathExpression;
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compiled XPath expressions, keyed by expression string. Neither {@link XPath} nor {@link XPathExpression} is thread
+ * safe, so every thread compiles and keeps its own copy. The mappers only use constant expressions, so each thread
+ * compiles a given expression once.
+ */
+public class XPathRegistry {
+
+    private static final ThreadLocal<XPath> XPATH = ThreadLocal.withInitial(() -> XPathFactory.newInstance().newXPath());
+    private static final ThreadLocal<Map<String, XPathExpression>> EXPRESSIONS = ThreadLocal.withInitial(HashMap::new);
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+
+    public static XPathExpression compile(String xpath) throws XPathExpressionException {
+        var expressions = EXPRESSIONS.get();
+        var expression = expressions.get(xpath);
+        if (expression != null) {
+            HITS.increment();
+            return expression;
+        }
+
+        MISSES.increment();
+        expression = XPATH.get().compile(xpath);
+        expressions.put(xpath, expression);
+        return expression;
+    }
+
+    public static long getHits() {
+        return HITS.sum();
+    }
+
+    public static long getMisses() {
+        return MISSES.sum();
+    }
+}
@@ -0,0 +1,92 @@
+package uk.nhs.adaptors.scr.clients;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import uk.nhs.adaptors.scr.clients.spine.ProcessingResultReader;
+import uk.nhs.adaptors.scr.exceptions.ParseProcessingResultException;
+import uk.nhs.adaptors.scr.models.ProcessingResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProcessingResultReaderTest {
+
+    private static final String BOUNDARY = "----=_MIME-Boundary";
+    private static final String SOAP_PART = String.join("\n",
+        "Content-Id: <ebXMLHeader@spine.nhs.uk>",
+        "Content-Type: text/xml",
+        "",
+        "<?xml version='1.0' encoding='UTF-8'?>",
+        "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\"><soap:Body/></soap:Envelope>",
+        "");
+    private static final String ERROR_HL7_PART = String.join("\n",
+        "Content-Type: application/xml",
+        "",
+        "<?xml version='1.0' encoding='UTF-8'?>",
+        "<hl7:MCCI_IN010000UK13 xmlns:hl7=\"urn:hl7-org:v3\"><hl7:acknowledgement typeCode=\"AE\"/>"
+            + "<hl7:ControlActEvent>"
+            + "<hl7:reason><hl7:justifyingDetectedIssueEvent><hl7:code code=\"400\" displayName=\"Invalid Request\"/>"
+            + "</hl7:justifyingDetectedIssueEvent></hl7:reason>"
+            + "<hl7:reason><hl7:justifyingDetectedIssueEvent><hl7:code code=\"35160\" displayName=\"[PSIS-35160] - Invalid\"/>"
+            + "</hl7:justifyingDetectedIssueEvent></hl7:reason>"
+            + "</hl7:ControlActEvent></hl7:MCCI_IN010000UK13>");
+
+    @Test
+    void When_SuccessResponseRead_Expect_AcceptedAcknowledgement() throws IOException {
+        try (var body = new ClassPathResource("mock-spine/upload-scr/pollingSuccess.txt").getInputStream()) {
+            var result = ProcessingResultReader.read(body);
+
+            assertThat(result.getAcknowledgementTypeCode()).isEqualTo("AA");
+            assertThat(result.isAccepted()).isTrue();
+            assertThat(result.getDetectedIssues()).isEmpty();
+        }
+    }
+
+    @Test
+    void When_ErrorResponseRead_Expect_DetectedIssues() {
+        var result = read(multipart("\n", SOAP_PART, ERROR_HL7_PART));
+
+        assertThat(result.getAcknowledgementTypeCode()).isEqualTo("AE");
+        assertThat(result.isAccepted()).isFalse();
+        assertThat(result.getDetectedIssues())
+            .containsExactly("400: Invalid Request", "35160: [PSIS-35160] - Invalid");
+    }
+
+    @Test
+    void When_ResponseHasCrLfLineBreaks_Expect_SameResult() {
+        var result = read(multipart("\r\n", SOAP_PART.replace("\n", "\r\n"), ERROR_HL7_PART.replace("\n", "\r\n")));
+
+        assertThat(result.getAcknowledgementTypeCode()).isEqualTo("AE");
+        assertThat(result.getDetectedIssues()).hasSize(2);
+    }
+
+    @Test
+    void When_Hl7PartMissing_Expect_Exception() {
+        assertThatThrownBy(() -> read(multipart("\n", SOAP_PART)))
+            .isExactlyInstanceOf(ParseProcessingResultException.class)
+            .hasMessage("Unable to extract HL7 from processing result response");
+    }
+
+    @Test
+    void When_ResponseNotMultipart_Expect_Exception() {
+        assertThatThrownBy(() -> read("<soap:Envelope/>"))
+            .isExactlyInstanceOf(ParseProcessingResultException.class)
+            .hasMessage("Unable to find MIME boundary in processing result response");
+    }
+
+    private static String multipart(String lineBreak, String... parts) {
+        var body = new StringBuilder(BOUNDARY);
+        for (var part : parts) {
+            body.append(lineBreak).append(part).append(lineBreak).append(BOUNDARY);
+        }
+        return body.append("--").append(lineBreak).toString();
+    }
+
+    private static ProcessingResult read(String body) {
+        return ProcessingResultReader.read(new ByteArrayInputStream(body.getBytes(UTF_8)));
+    }
+}
@@ -0,0 +1,139 @@
+package uk.nhs.adaptors.scr.clients;
+
+import org.apache.http.Header;
+import org.apache.http.message.BasicHeader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import uk.nhs.adaptors.scr.clients.spine.ScrProcessingResultPoller;
+import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient;
+import uk.nhs.adaptors.scr.config.SpineConfiguration;
+import uk.nhs.adaptors.scr.exceptions.NoSpineResultException;
+import uk.nhs.adaptors.scr.exceptions.UnexpectedSpineResponseException;
+import uk.nhs.adaptors.scr.models.ProcessingResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScrProcessingResultPollerTest {
+
+    private static final byte[] RESPONSE_BODY = String.join("\n",
+        "----=_MIME-Boundary",
+        "Content-Type: text/xml",
+        "",
+        "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\">envelope_data</soap:Envelope>",
+        "----=_MIME-Boundary",
+        "Content-Type: application/xml",
+        "",
+        "<hl7:MCCI_IN010000UK13 xmlns:hl7=\"urn:hl7-org:v3\"><hl7:acknowledgement typeCode=\"AA\"/></hl7:MCCI_IN010000UK13>",
+        "----=_MIME-Boundary--").getBytes(UTF_8);
+    private static final long WAIT_SECONDS = 5;
+
+    @Mock
+    private SpineConfiguration spineConfiguration;
+
+    private ScrProcessingResultPoller poller;
+
+    @BeforeEach
+    void setUp() {
+        poller = new ScrProcessingResultPoller(spineConfiguration);
+    }
+
+    @AfterEach
+    void tearDown() {
+        poller.destroy();
+    }
+
+    @Test
+    @SuppressWarnings({"checkstyle:MagicNumber", "unchecked"})
+    void When_GetScrProcessingResultReturnsWithOneRetryWithinTime_Expect_Result() throws Exception {
+        when(spineConfiguration.getScrResultRepeatTimeout()).thenReturn(500L);
+
+        var postResponseHeaders = new Header[]{
+            new BasicHeader("Retry-After", "50")
+        };
+        Supplier<CompletableFuture<SpineHttpClient.Response<byte[]>>> pollRequest = mock(Supplier.class);
+        when(pollRequest.get())
+            .thenReturn(completedFuture(new SpineHttpClient.Response<>(HttpStatus.ACCEPTED.value(), postResponseHeaders, null)))
+            .thenReturn(completedFuture(new SpineHttpClient.Response<>(HttpStatus.OK.value(), new Header[0], RESPONSE_BODY)));
+
+        var result = poller.poll(50, pollRequest).get(WAIT_SECONDS, SECONDS);
+
+        verify(pollRequest, times(2)).get();
+        assertThat(result).isEqualTo(new ProcessingResult().setAcknowledgementTypeCode("AA"));
+    }
+
+    @Test
+    @SuppressWarnings({"checkstyle:MagicNumber", "unchecked"})
+    void When_GetScrProcessingResultReachesRepeatTimeout_Expect_Exception() {
+        when(spineConfiguration.getScrResultRepeatTimeout()).thenReturn(500L);
+
+        Supplier<CompletableFuture<SpineHttpClient.Response<byte[]>>> pollRequest = mock(Supplier.class);
+        when(pollRequest.get())
+            .thenReturn(completedFuture(new SpineHttpClient.Response<>(
+                HttpStatus.ACCEPTED.value(),
+                new Header[]{
+                    new BasicHeader("Retry-After", String.valueOf(200))
+                },
+                null)));
+
+        var result = poller.poll(100, pollRequest);
+
+        assertThatThrownBy(() -> result.get(WAIT_SECONDS, SECONDS))
+            .isExactlyInstanceOf(ExecutionException.class)
+            .getCause()
+            .isExactlyInstanceOf(NoSpineResultException.class)
+            .hasMessage("Spine polling yield no result");
+        verify(pollRequest, atLeast(2)).get();
+    }
+
+    @Test
+    @SuppressWarnings({"checkstyle:MagicNumber", "unchecked"})
+    void When_GetScrProcessingResultReturnsUnexpectedStatus_Expect_Exception() {
+        when(spineConfiguration.getScrResultRepeatTimeout()).thenReturn(500L);
+
+        Supplier<CompletableFuture<SpineHttpClient.Response<byte[]>>> pollRequest = mock(Supplier.class);
+        when(pollRequest.get())
+            .thenReturn(completedFuture(
+                new SpineHttpClient.Response<>(HttpStatus.BAD_REQUEST.value(), new Header[0], "error".getBytes(UTF_8))));
+
+        var result = poller.poll(10, pollRequest);
+
+        assertThatThrownBy(() -> result.get(WAIT_SECONDS, SECONDS))
+            .isExactlyInstanceOf(ExecutionException.class)
+            .getCause()
+            .isExactlyInstanceOf(UnexpectedSpineResponseException.class);
+    }
+
+    @Test
+    @SuppressWarnings({"checkstyle:MagicNumber", "unchecked"})
+    void When_PollRequestThrows_Expect_Exception() {
+        var error = new IllegalArgumentException("Invalid Content-Location");
+        Supplier<CompletableFuture<SpineHttpClient.Response<byte[]>>> pollRequest = mock(Supplier.class);
+        when(pollRequest.get()).thenThrow(error);
+
+        var result = poller.poll(10, pollRequest);
+
+        assertThatThrownBy(() -> result.get(WAIT_SECONDS, SECONDS))
+            .isExactlyInstanceOf(ExecutionException.class)
+            .getCause()
+            .isSameAs(error);
+    }
+}
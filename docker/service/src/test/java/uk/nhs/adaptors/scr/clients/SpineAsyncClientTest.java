@@ -0,0 +1,101 @@
+package uk.nhs.adaptors.scr.clients;
+
+import com.github.mustachejava.DefaultMustacheFactory;
+import org.apache.http.Header;
+import org.apache.http.message.BasicHeader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import uk.nhs.adaptors.scr.clients.spine.SpineAsyncClient;
+import uk.nhs.adaptors.scr.clients.spine.SpineAsyncHttpClient;
+import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient;
+import uk.nhs.adaptors.scr.clients.spine.SpineInteraction;
+import uk.nhs.adaptors.scr.config.SpineConfiguration;
+import uk.nhs.adaptors.scr.exceptions.UnexpectedSpineResponseException;
+import uk.nhs.adaptors.scr.utils.FilledTemplate;
+import uk.nhs.adaptors.scr.utils.TemplateUtils;
+
+import java.io.StringReader;
+import java.util.concurrent.CompletionException;
+
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpMethod.POST;
+import static uk.nhs.adaptors.scr.consts.SpineHttpHeaders.NHSD_ASID;
+import static uk.nhs.adaptors.scr.consts.SpineHttpHeaders.SOAP_ACTION;
+
+@ExtendWith(MockitoExtension.class)
+class SpineAsyncClientTest {
+
+    private static final String SPINE_URL = "https://spine";
+    private static final String SCR_ENDPOINT = "/scr";
+    private static final String RESPONSE_BODY = "<soap:Envelope>envelope_data</soap:Envelope>";
+    private static final FilledTemplate REQUEST_BODY = TemplateUtils.prepareTemplate(
+        new DefaultMustacheFactory().compile(new StringReader("some_scr_body"), "scr_request"), null);
+    private static final String ASID = "123123";
+    private static final String NHSD_IDENTITY = randomUUID().toString();
+    private static final String NHSD_SESSION_URID = "937463642332";
+
+    @Mock
+    private SpineConfiguration spineConfiguration;
+    @Mock
+    private SpineAsyncHttpClient spineAsyncHttpClient;
+
+    @InjectMocks
+    private SpineAsyncClient spineAsyncClient;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(spineConfiguration.getUrl()).thenReturn(SPINE_URL);
+        lenient().when(spineConfiguration.getScrEndpoint()).thenReturn(SCR_ENDPOINT);
+    }
+
+    @Test
+    void When_SendingScrReturns202_Expect_Result() {
+        var headers = new Header[]{
+            new BasicHeader("Header-Name", "headerValue")
+        };
+        when(spineAsyncHttpClient.<String>sendTemplate(eq(SpineInteraction.UPLOAD), eq(POST), eq(SPINE_URL + SCR_ENDPOINT), any(),
+            eq(REQUEST_BODY), any()))
+            .thenReturn(completedFuture(new SpineHttpClient.Response<>(HttpStatus.ACCEPTED.value(), headers, RESPONSE_BODY)));
+
+        var response = spineAsyncClient.sendScrData(REQUEST_BODY, ASID, NHSD_IDENTITY, NHSD_SESSION_URID).join();
+
+        var headersCaptor = ArgumentCaptor.forClass(HttpHeaders.class);
+        verify(spineAsyncHttpClient).sendTemplate(eq(SpineInteraction.UPLOAD), eq(POST), eq(SPINE_URL + SCR_ENDPOINT),
+            headersCaptor.capture(), eq(REQUEST_BODY), any());
+        assertThat(headersCaptor.getValue().getFirst(SOAP_ACTION)).isEqualTo("urn:nhs:names:services:psis/REPC_IN150016SM05");
+        assertThat(headersCaptor.getValue().getFirst(NHSD_ASID)).isEqualTo(ASID);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED.value());
+        assertThat(response.getHeaders()).isEqualTo(headers);
+        assertThat(response.getBody()).isEqualTo(RESPONSE_BODY);
+    }
+
+    @Test
+    void When_SendingScrReturnsNon202_Expect_FutureCompletedExceptionally() {
+        when(spineAsyncHttpClient.<String>sendTemplate(eq(SpineInteraction.UPLOAD), eq(POST), eq(SPINE_URL + SCR_ENDPOINT), any(),
+            eq(REQUEST_BODY), any()))
+            .thenReturn(completedFuture(new SpineHttpClient.Response<>(HttpStatus.OK.value(), new Header[0], RESPONSE_BODY)));
+
+        var response = spineAsyncClient.sendScrData(REQUEST_BODY, ASID, NHSD_IDENTITY, NHSD_SESSION_URID);
+
+        assertThatThrownBy(response::join)
+            .isExactlyInstanceOf(CompletionException.class)
+            .hasCauseExactlyInstanceOf(UnexpectedSpineResponseException.class)
+            .hasRootCauseMessage("Unexpected spine 'send data' response 200");
+    }
+}
@@ -0,0 +1,119 @@
+package uk.nhs.adaptors.scr.clients;
+
+import com.github.mustachejava.DefaultMustacheFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import uk.nhs.adaptors.scr.clients.spine.SpineAsyncHttpClient;
+import uk.nhs.adaptors.scr.clients.spine.SpineCallGuard;
+import uk.nhs.adaptors.scr.config.SpineLimiterConfig;
+import uk.nhs.adaptors.scr.config.SpineWebClients;
+import uk.nhs.adaptors.scr.exceptions.ScrBaseException;
+import uk.nhs.adaptors.scr.utils.TemplateUtils;
+
+import java.io.StringReader;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpMethod.POST;
+import static uk.nhs.adaptors.scr.clients.spine.SpineInteraction.PSIS_QUERY;
+import static uk.nhs.adaptors.scr.clients.spine.SpineInteraction.UPLOAD;
+import static uk.nhs.adaptors.scr.clients.spine.SpinePool.QUERY;
+
+@ExtendWith(MockitoExtension.class)
+class SpineAsyncHttpClientTest {
+
+    private static final String URL = "https://spine/psis";
+    private static final int FAILURE_THRESHOLD = 1;
+    private static final long OPEN_DURATION = 60000;
+    private static final long LATENCY_THRESHOLD = 10000;
+    private static final long WAIT_SECONDS = 5;
+    // matches the chunk size SpineAsyncHttpClient renders templates with
+    private static final int TEMPLATE_CHUNK_SIZE = 8192;
+    private static final int TEMPLATE_CHUNKS = 3;
+
+    @Mock
+    private SpineWebClients spineWebClients;
+
+    private SpineCallGuard spineCallGuard;
+    private SpineAsyncHttpClient spineAsyncHttpClient;
+
+    @BeforeEach
+    void setUp() {
+        var config = new SpineLimiterConfig();
+        config.setEnabled(true);
+        config.setInitialLimit(1);
+        config.setMinLimit(1);
+        config.setMaxLimit(1);
+        config.setLatencyThreshold(LATENCY_THRESHOLD);
+        config.setBackoffRatio(1);
+        config.setFailureThreshold(FAILURE_THRESHOLD);
+        config.setOpenDuration(OPEN_DURATION);
+        spineCallGuard = new SpineCallGuard(config, new SimpleMeterRegistry());
+        spineAsyncHttpClient = new SpineAsyncHttpClient(spineWebClients, spineCallGuard);
+    }
+
+    @Test
+    void When_RequestCannotBeBuilt_Expect_FailedFutureAndPermitReturned() {
+        when(spineWebClients.getClient(QUERY)).thenThrow(new IllegalStateException("No WebClient"));
+
+        var result = spineAsyncHttpClient.sendRequest(PSIS_QUERY, POST, URL, new HttpHeaders(), "body", Function.identity());
+
+        assertThatThrownBy(() -> result.get(WAIT_SECONDS, SECONDS))
+            .isExactlyInstanceOf(ExecutionException.class)
+            .getCause()
+            .isExactlyInstanceOf(ScrBaseException.class);
+        // the only permit was given back, and the request that was never sent did not open the circuit
+        spineCallGuard.acquire(PSIS_QUERY).release(true);
+    }
+
+    @Test
+    void When_ExchangeCancelled_Expect_PermitReturned() {
+        when(spineWebClients.getClient(QUERY)).thenReturn(WebClient.builder()
+            .exchangeFunction(request -> Mono.never())
+            .build());
+
+        var result = spineAsyncHttpClient.sendRequest(PSIS_QUERY, POST, URL, new HttpHeaders(), "body", Function.identity());
+        result.cancel(false);
+
+        // the only permit was given back, and the cancelled request did not open the circuit
+        spineCallGuard.acquire(PSIS_QUERY).release(true);
+    }
+
+    @Test
+    void When_TemplateSent_Expect_BodyWrittenInFixedSizeChunks() throws Exception {
+        var requestBody = "a".repeat(TEMPLATE_CHUNK_SIZE * TEMPLATE_CHUNKS - 1);
+        var template = TemplateUtils.prepareTemplate(
+            new DefaultMustacheFactory().compile(new StringReader(requestBody), "large_request"), null);
+        var sentRequest = new MockClientHttpRequest(POST, URL);
+        when(spineWebClients.getClient(UPLOAD.getPool())).thenReturn(WebClient.builder()
+            .exchangeFunction(request -> request.writeTo(sentRequest, ExchangeStrategies.withDefaults())
+                .then(Mono.just(ClientResponse.create(HttpStatus.ACCEPTED).build())))
+            .build());
+
+        spineAsyncHttpClient.sendTemplate(UPLOAD, POST, URL, new HttpHeaders(), template, Function.identity())
+            .get(WAIT_SECONDS, SECONDS);
+
+        var chunkSizes = sentRequest.getBody()
+            .map(DataBuffer::readableByteCount)
+            .collectList()
+            .block();
+        assertThat(chunkSizes).containsExactly(TEMPLATE_CHUNK_SIZE, TEMPLATE_CHUNK_SIZE, TEMPLATE_CHUNK_SIZE - 1);
+        assertThat(sentRequest.getBodyAsString().block()).isEqualTo(requestBody);
+    }
+}
@@ -0,0 +1,137 @@
+package uk.nhs.adaptors.scr.clients;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.nhs.adaptors.scr.clients.spine.SpineCallGuard;
+import uk.nhs.adaptors.scr.config.SpineLimiterConfig;
+import uk.nhs.adaptors.scr.exceptions.SpineCallRejectedException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static uk.nhs.adaptors.scr.clients.spine.SpineInteraction.POLLING;
+import static uk.nhs.adaptors.scr.clients.spine.SpineInteraction.PSIS_QUERY;
+import static uk.nhs.adaptors.scr.clients.spine.SpineInteraction.UPLOAD;
+
+class SpineCallGuardTest {
+
+    private static final int LIMIT = 2;
+    private static final int FAILURE_THRESHOLD = 3;
+    private static final long LATENCY_THRESHOLD = 10000;
+    private static final double BACKOFF_RATIO = 0.5;
+    private static final long RETRY_AFTER = 1;
+    private static final long OPEN_DURATION_SECONDS = 60;
+    private static final long OPEN_DURATION = OPEN_DURATION_SECONDS * 1000;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SpineLimiterConfig config;
+
+    @BeforeEach
+    void setUp() {
+        config = new SpineLimiterConfig();
+        config.setEnabled(true);
+        config.setInitialLimit(LIMIT);
+        config.setMinLimit(1);
+        config.setMaxLimit(LIMIT);
+        config.setLatencyThreshold(LATENCY_THRESHOLD);
+        config.setBackoffRatio(BACKOFF_RATIO);
+        config.setRetryAfter(RETRY_AFTER);
+        config.setFailureThreshold(FAILURE_THRESHOLD);
+        config.setOpenDuration(OPEN_DURATION);
+    }
+
+    @Test
+    void When_LimitReached_Expect_RequestRejectedUntilPermitReleased() {
+        var guard = new SpineCallGuard(config, meterRegistry);
+        var first = guard.acquire(PSIS_QUERY);
+        guard.acquire(PSIS_QUERY);
+
+        assertThatThrownBy(() -> guard.acquire(PSIS_QUERY))
+            .isExactlyInstanceOf(SpineCallRejectedException.class)
+            .extracting("retryAfter").isEqualTo(RETRY_AFTER);
+        guard.acquire(UPLOAD);
+
+        first.release(true);
+        guard.acquire(PSIS_QUERY);
+        assertThat(meterRegistry.get("spine.limiter.rejected").tags("interaction", "PSIS_QUERY", "reason", "limit").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void When_RequestsFail_Expect_LimitReduced() {
+        var guard = new SpineCallGuard(config, meterRegistry);
+
+        guard.acquire(PSIS_QUERY).release(false);
+
+        assertThat(meterRegistry.get("spine.limiter.limit").tags("interaction", "PSIS_QUERY").gauge().value()).isEqualTo(1);
+        guard.acquire(PSIS_QUERY);
+        assertThatThrownBy(() -> guard.acquire(PSIS_QUERY)).isExactlyInstanceOf(SpineCallRejectedException.class);
+    }
+
+    @Test
+    void When_ConsecutiveFailuresReachThreshold_Expect_CircuitOpen() {
+        config.setMaxLimit(FAILURE_THRESHOLD);
+        config.setInitialLimit(FAILURE_THRESHOLD);
+        var guard = new SpineCallGuard(config, meterRegistry);
+        for (int i = 0; i < FAILURE_THRESHOLD; i++) {
+            guard.acquire(POLLING).release(false);
+        }
+
+        assertThatThrownBy(() -> guard.acquire(POLLING))
+            .isExactlyInstanceOf(SpineCallRejectedException.class)
+            .hasMessage("Spine is currently failing to respond")
+            .extracting("retryAfter").isEqualTo(OPEN_DURATION_SECONDS);
+        guard.acquire(PSIS_QUERY);
+    }
+
+    @Test
+    void When_OpenDurationPassed_Expect_SingleTrialRequestClosingCircuit() {
+        config.setFailureThreshold(1);
+        config.setOpenDuration(0);
+        var guard = new SpineCallGuard(config, meterRegistry);
+        guard.acquire(UPLOAD).release(false);
+
+        var trial = guard.acquire(UPLOAD);
+        assertThatThrownBy(() -> guard.acquire(UPLOAD)).isExactlyInstanceOf(SpineCallRejectedException.class);
+        trial.release(true);
+
+        guard.acquire(UPLOAD);
+        assertThat(meterRegistry.get("spine.circuit.state").tags("interaction", "UPLOAD").gauge().value()).isZero();
+    }
+
+    @Test
+    void When_RequestAdmittedBeforeCircuitOpenedEndsDuringTrial_Expect_CircuitStaysHalfOpen() {
+        config.setMaxLimit(FAILURE_THRESHOLD);
+        config.setInitialLimit(FAILURE_THRESHOLD);
+        config.setFailureThreshold(1);
+        config.setOpenDuration(0);
+        // keep the limit, so only the circuit breaker can reject
+        config.setBackoffRatio(1);
+        var guard = new SpineCallGuard(config, meterRegistry);
+        var succeeding = guard.acquire(UPLOAD);
+        var aborted = guard.acquire(UPLOAD);
+        guard.acquire(UPLOAD).release(false);
+        var trial = guard.acquire(UPLOAD);
+
+        succeeding.release(true);
+        aborted.cancel();
+
+        assertThat(meterRegistry.get("spine.circuit.state").tags("interaction", "UPLOAD").gauge().value()).isEqualTo(2);
+        assertThatThrownBy(() -> guard.acquire(UPLOAD))
+            .isExactlyInstanceOf(SpineCallRejectedException.class)
+            .hasMessage("Spine is currently failing to respond");
+        trial.release(true);
+        assertThat(meterRegistry.get("spine.circuit.state").tags("interaction", "UPLOAD").gauge().value()).isZero();
+    }
+
+    @Test
+    void When_Disabled_Expect_NoLimit() {
+        config.setEnabled(false);
+        var guard = new SpineCallGuard(config, meterRegistry);
+
+        for (int i = 0; i <= LIMIT; i++) {
+            guard.acquire(PSIS_QUERY);
+        }
+    }
+}
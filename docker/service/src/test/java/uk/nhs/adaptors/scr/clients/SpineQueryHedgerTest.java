@@ -0,0 +1,184 @@
+package uk.nhs.adaptors.scr.clients;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import uk.nhs.adaptors.scr.clients.spine.SpineHttpClient.Response;
+import uk.nhs.adaptors.scr.clients.spine.SpineQueryHedger;
+import uk.nhs.adaptors.scr.config.SpineHedgingConfig;
+import uk.nhs.adaptors.scr.exceptions.ScrBaseException;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpineQueryHedgerTest {
+
+    private static final String QUERY_SOAP_ACTION = "urn:nhs:names:services:psisquery/QUPC_IN190000UK04";
+    private static final int OK = 200;
+    private static final int INTERNAL_SERVER_ERROR = 500;
+    private static final long MIN_DELAY = 10;
+    private static final long SLOW_RESPONSE = 100;
+    private static final long WAIT_SECONDS = 5;
+    private static final int MAX_CONCURRENT_HEDGES = 2;
+    // the warm-up query, then the primary request and the hedge of the query under test
+    private static final int REQUESTS_WITH_HEDGE = 3;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<CompletableFuture<Response<Document>>> requests = new CopyOnWriteArrayList<>();
+
+    private SpineHedgingConfig config;
+    private SpineQueryHedger hedger;
+
+    @BeforeEach
+    void setUp() {
+        config = new SpineHedgingConfig();
+        config.setEnabled(true);
+        config.setPercentile(1);
+        config.setMinDelay(MIN_DELAY);
+        config.setLatencyWindow(1);
+        config.setMinSamples(1);
+        config.setBudget(1);
+        config.setBudgetBurst(1);
+        config.setMaxConcurrentHedges(MAX_CONCURRENT_HEDGES);
+        hedger = new SpineQueryHedger(config, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hedger.destroy();
+    }
+
+    @Test
+    void When_HedgingDisabled_Expect_SingleRequest() throws Exception {
+        config.setEnabled(false);
+
+        var result = hedger.sendQuery(QUERY_SOAP_ACTION, this::request);
+        requests.get(0).complete(response(OK));
+
+        assertThat(result.get(WAIT_SECONDS, SECONDS).getStatusCode()).isEqualTo(OK);
+        assertThat(requests).hasSize(1);
+        assertThat(meterRegistry.find("spine.hedge.queries").counter()).isNull();
+    }
+
+    @Test
+    void When_QueryNotAnsweredInTime_Expect_HedgeAnswerAndPrimaryCancelled() throws Exception {
+        warmUp();
+
+        var result = hedger.sendQuery(QUERY_SOAP_ACTION, this::request);
+        awaitHedge();
+        var hedgeResponse = response(OK);
+        requests.get(2).complete(hedgeResponse);
+
+        assertThat(result.get(WAIT_SECONDS, SECONDS)).isSameAs(hedgeResponse);
+        assertThat(requests.get(1).isCancelled()).isTrue();
+        assertThat(meterRegistry.get("spine.hedge.queries").tags("soapAction", QUERY_SOAP_ACTION).counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("spine.hedge.sent").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("spine.hedge.won").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void When_QueryCancelled_Expect_RequestInFlightCancelled() {
+        var result = hedger.sendQuery(QUERY_SOAP_ACTION, this::request);
+
+        result.cancel(false);
+
+        assertThat(requests).hasSize(1);
+        assertThat(requests.get(0).isCancelled()).isTrue();
+    }
+
+    @Test
+    void When_PrimaryAnswersAfterHedgeSent_Expect_PrimaryAnswerAndHedgeCancelled() throws Exception {
+        warmUp();
+
+        var result = hedger.sendQuery(QUERY_SOAP_ACTION, this::request);
+        awaitHedge();
+        var primaryResponse = response(OK);
+        requests.get(1).complete(primaryResponse);
+
+        assertThat(result.get(WAIT_SECONDS, SECONDS)).isSameAs(primaryResponse);
+        assertThat(requests.get(2).isCancelled()).isTrue();
+        assertThat(meterRegistry.find("spine.hedge.won").counter()).isNull();
+    }
+
+    @Test
+    void When_BudgetSpent_Expect_NoHedge() throws Exception {
+        config.setBudget(0);
+        warmUp();
+
+        var result = hedger.sendQuery(QUERY_SOAP_ACTION, this::request);
+        Thread.sleep(SLOW_RESPONSE);
+        requests.get(1).complete(response(OK));
+
+        assertThat(result.get(WAIT_SECONDS, SECONDS).getStatusCode()).isEqualTo(OK);
+        assertThat(requests).hasSize(2);
+        assertThat(meterRegistry.get("spine.hedge.skipped").tags("reason", "budget").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.find("spine.hedge.sent").counter()).isNull();
+    }
+
+    @Test
+    void When_QueryFailsBeforeHedge_Expect_FailedResponse() throws Exception {
+        var result = hedger.sendQuery(QUERY_SOAP_ACTION, this::request);
+        requests.get(0).complete(response(INTERNAL_SERVER_ERROR));
+
+        assertThat(result.get(WAIT_SECONDS, SECONDS).getStatusCode()).isEqualTo(INTERNAL_SERVER_ERROR);
+        assertThat(requests).hasSize(1);
+    }
+
+    @Test
+    void When_BothRequestsFail_Expect_FailedResponseOverError() throws Exception {
+        warmUp();
+
+        var result = hedger.sendQuery(QUERY_SOAP_ACTION, this::request);
+        awaitHedge();
+        requests.get(2).complete(response(INTERNAL_SERVER_ERROR));
+        assertThat(result.isDone()).isFalse();
+        requests.get(1).completeExceptionally(new ScrBaseException("Unexpected exception while sending Spine request"));
+
+        assertThat(result.get(WAIT_SECONDS, SECONDS).getStatusCode()).isEqualTo(INTERNAL_SERVER_ERROR);
+    }
+
+    @Test
+    void When_RequestFails_Expect_Error() {
+        var result = hedger.sendQuery(QUERY_SOAP_ACTION, this::request);
+        requests.get(0).completeExceptionally(new ScrBaseException("Unexpected exception while sending Spine request"));
+
+        assertThatThrownBy(() -> result.get(WAIT_SECONDS, SECONDS))
+            .isExactlyInstanceOf(ExecutionException.class)
+            .getCause()
+            .isExactlyInstanceOf(ScrBaseException.class);
+    }
+
+    private void warmUp() throws Exception {
+        var result = hedger.sendQuery(QUERY_SOAP_ACTION, this::request);
+        requests.get(0).complete(response(OK));
+        result.get(WAIT_SECONDS, SECONDS);
+    }
+
+    private CompletableFuture<Response<Document>> request() {
+        var request = new CompletableFuture<Response<Document>>();
+        requests.add(request);
+        return request;
+    }
+
+    private void awaitHedge() throws InterruptedException {
+        var deadline = System.nanoTime() + SECONDS.toNanos(WAIT_SECONDS);
+        while (requests.size() < REQUESTS_WITH_HEDGE && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(requests).hasSize(REQUESTS_WITH_HEDGE);
+    }
+
+    private static Response<Document> response(int statusCode) {
+        return Response.<Document>builder()
+            .statusCode(statusCode)
+            .build();
+    }
+}
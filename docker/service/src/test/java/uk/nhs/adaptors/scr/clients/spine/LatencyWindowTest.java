@@ -0,0 +1,42 @@
+package uk.nhs.adaptors.scr.clients.spine;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyWindowTest {
+
+    private static final int WINDOW = 30;
+    private static final double MEDIAN = 0.5;
+    private static final int MIN_SAMPLES = 3;
+    private static final long FAST = 10;
+    private static final long SLOW = 100;
+
+    @Test
+    void When_FewerThanMinSamplesRecorded_Expect_NoPercentile() {
+        var window = new LatencyWindow(WINDOW, MEDIAN, MIN_SAMPLES);
+        window.record(FAST);
+        window.record(FAST);
+
+        assertThat(window.getPercentile()).isEmpty();
+
+        window.record(FAST);
+
+        assertThat(window.getPercentile()).hasValue(FAST);
+    }
+
+    @Test
+    void When_SamplesRecorded_Expect_PercentileRecomputedOnlyEveryTenthOfWindow() {
+        var window = new LatencyWindow(WINDOW, MEDIAN, 1);
+        window.record(FAST);
+        assertThat(window.getPercentile()).hasValue(FAST);
+
+        window.record(SLOW);
+        window.record(SLOW);
+        // the median is SLOW already, but only two samples were recorded since it was computed
+        assertThat(window.getPercentile()).hasValue(FAST);
+
+        window.record(SLOW);
+        assertThat(window.getPercentile()).hasValue(SLOW);
+    }
+}
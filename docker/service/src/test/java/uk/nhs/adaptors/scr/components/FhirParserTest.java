@@ -0,0 +1,152 @@
+package uk.nhs.adaptors.scr.components;
+
+import ca.uhn.fhir.context.FhirContext;
+import ca.uhn.fhir.parser.IParser;
+import org.hl7.fhir.instance.model.api.IBaseResource;
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Condition;
+import org.hl7.fhir.r4.model.DateTimeType;
+import org.hl7.fhir.r4.model.InstantType;
+import org.hl7.fhir.r4.model.Narrative;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Period;
+import org.hl7.fhir.r4.model.StringType;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hl7.fhir.r4.model.Narrative.NarrativeStatus.GENERATED;
+
+/**
+ * Differential test: {@link FhirParser#encodeToJson} must give the same JSON as encoding to a string and then rewriting
+ * partial dates and {@code <td/>} in the whole document.
+ */
+class FhirParserTest {
+
+    private static final String TEST_RESOURCES = "gp_summary";
+
+    private static final List<String> PARTIAL_DATES = List.of(
+        "2020-05-01T00:00:00.001+00:00", "2020-05-01T00:00:00.002+00:00", "2020-05-01T00:00:00.003+00:00",
+        "1970-01-01T00:00:00.001+00:00", "2020-05-01T00:00:00.002+01:00", "2020-05-01T00:00:00.004+00:00",
+        "2020-05-01T00:00:00.000+00:00", "2020-05-01T10:00:00.003+00:00");
+
+    private final FhirParser fhirParser = new FhirParser();
+    private final IParser referenceParser = FhirContext.forR4().newJsonParser().setPrettyPrint(false);
+
+    @Test
+    void When_EncodingPartialDates_Expect_SameAsRewritingWholeDocument() {
+        var bundle = new Bundle();
+        for (var date : PARTIAL_DATES) {
+            var observation = new Observation();
+            observation.setEffective(new DateTimeType(date));
+            observation.setIssuedElement(new InstantType(date));
+            bundle.addEntry().setResource(observation);
+            var condition = new Condition();
+            condition.setOnset(new Period().setStartElement(new DateTimeType(date)));
+            condition.setRecordedDateElement(new DateTimeType(date));
+            bundle.addEntry().setResource(condition);
+        }
+
+        var json = fhirParser.encodeToJson(bundle);
+
+        assertThat(json).isEqualTo(encodeAndRewrite(bundle));
+        assertThat(json)
+            .contains("\"effectiveDateTime\":\"2020+00:00\"", "\"effectiveDateTime\":\"2020-05\"",
+                "\"effectiveDateTime\":\"2020-05-01+00:00\"")
+            .doesNotContain("T00:00:00.001", "T00:00:00.002+00:00", "T00:00:00.003");
+    }
+
+    @Test
+    void When_EncodingStringsWithMarkers_Expect_SameAsRewritingWholeDocument() {
+        var observation = new Observation();
+        observation.setText(new Narrative().setStatus(GENERATED));
+        observation.getText().setDivAsString("<div xmlns=\"http://www.w3.org/1999/xhtml\"><table><tr><td/><td>2020-05-01T00:00:00.003</td>"
+            + "<td></td><td/></tr></table></div>");
+        observation.setValue(new StringType("<td/> 12020-5-001T00:00:00.003 and 2020-05-01T00:00:00x001 and 2020-05-01T00:00:00.002"));
+        observation.addNote().setText("2020-05-01T00:00:00\u0001003 2020-05-01T00:00:00\"003 2020-05-01T00:00:00.002+12:00!");
+
+        var json = fhirParser.encodeToJson(observation);
+
+        assertThat(json).isEqualTo(encodeAndRewrite(observation));
+        assertThat(json).contains("<td></td><td>2020-05-01</td><td></td><td></td>").doesNotContain("<td/>");
+    }
+
+    @Test
+    void When_EncodingTestResources_Expect_SameAsRewritingWholeDocument() throws IOException {
+        var encoded = 0;
+        for (var resource : readTestResources()) {
+            assertThat(fhirParser.encodeToJson(resource)).isEqualTo(encodeAndRewrite(resource));
+            encoded++;
+        }
+        assertThat(encoded).isPositive();
+    }
+
+    @Test
+    void When_EncodingToWriter_Expect_SameJson() {
+        var observation = new Observation();
+        observation.setEffective(new DateTimeType(PARTIAL_DATES.get(1)));
+        var output = new StringWriter();
+
+        fhirParser.encodeToJson(observation, output);
+
+        assertThat(output.toString()).isEqualTo(fhirParser.encodeToJson(observation));
+    }
+
+    private static List<IBaseResource> readTestResources() throws IOException {
+        var parser = FhirContext.forR4().newJsonParser();
+        var resources = new ArrayList<IBaseResource>();
+        try (Stream<Path> files = Files.walk(new ClassPathResource(TEST_RESOURCES).getFile().toPath().getParent())) {
+            for (var file : files.filter(path -> path.toString().endsWith(".json")).collect(Collectors.toList())) {
+                try {
+                    resources.add(parser.parseResource(Files.readString(file, UTF_8)));
+                } catch (RuntimeException e) {
+                    // not a FHIR resource
+                }
+            }
+        }
+        return resources;
+    }
+
+    /**
+     * How {@link FhirParser#encodeToJson} used to work.
+     */
+    private String encodeAndRewrite(IBaseResource resource) {
+        String output = referenceParser.encodeResourceToString(resource);
+        output = output.replace("<td/>", "<td></td>");
+
+        var days = find(output, "\\d{1,4}\\-\\d{1,2}\\-\\d{2,4}T00:00:00.003");
+        var months = find(output, "\\d{1,4}\\-\\d{1,2}\\-\\d{2,4}T00:00:00.002\\+\\d{2,2}:00");
+        var years = find(output, "\\d{1,4}\\-\\d{1,2}\\-\\d{2,4}T00:00:00.001");
+        for (String day : days) {
+            output = output.replace(day, day.substring(0, "yyyy-MM-dd".length()));
+        }
+        for (String month : months) {
+            output = output.replace(month, month.substring(0, "yyyy-MM".length()));
+        }
+        for (String year : years) {
+            output = output.replace(year, year.substring(0, "yyyy".length()));
+        }
+        return output;
+    }
+
+    private static List<String> find(String json, String regEx) {
+        List<String> occurrences = new ArrayList<>();
+        Matcher matcher = Pattern.compile(regEx).matcher(json);
+        while (matcher.find()) {
+            occurrences.add(matcher.group());
+        }
+        return occurrences;
+    }
+}
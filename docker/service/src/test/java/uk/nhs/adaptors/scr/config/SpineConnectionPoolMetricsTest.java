@@ -0,0 +1,88 @@
+package uk.nhs.adaptors.scr.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+import uk.nhs.adaptors.scr.clients.spine.SpinePool;
+
+import java.net.InetSocketAddress;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.nhs.adaptors.scr.config.SpineConnectionPoolMetrics.CONNECTIONS;
+import static uk.nhs.adaptors.scr.config.SpineConnectionPoolMetrics.LEASE_TIMER_NAME;
+import static uk.nhs.adaptors.scr.config.SpineConnectionPoolMetrics.MAX;
+
+class SpineConnectionPoolMetricsTest {
+
+    private static final int HTTPS_PORT = 443;
+    private static final int MAX_CONNECTIONS = 5;
+    private static final int PENDING = 2;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SpineConnectionPoolMetrics metrics = new SpineConnectionPoolMetrics(meterRegistry);
+
+    @Test
+    void When_RoutesRegistered_Expect_RouteAndTotalGauges() {
+        var registrar = metrics.registrar(SpinePool.QUERY);
+        registrar.registerMetrics("spine-query", "1", InetSocketAddress.createUnresolved("spine.nhs.uk", HTTPS_PORT),
+            poolMetrics(1, 0, PENDING));
+        registrar.registerMetrics("spine-query", "2", InetSocketAddress.createUnresolved("sds.nhs.uk", HTTPS_PORT),
+            poolMetrics(1, 1, 0));
+
+        assertThat(meterRegistry.get(CONNECTIONS).tags("pool", "QUERY", "route", "total", "state", "leased").gauge().value())
+            .isEqualTo(2);
+        assertThat(meterRegistry.get(CONNECTIONS).tags("pool", "QUERY", "route", "spine.nhs.uk:443", "state", "pending").gauge().value())
+            .isEqualTo(PENDING);
+        assertThat(meterRegistry.get(CONNECTIONS).tags("pool", "QUERY", "route", "total", "state", "available").gauge().value())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get(MAX).tags("pool", "QUERY", "route", "total").gauge().value()).isEqualTo(MAX_CONNECTIONS * 2);
+        assertThat(meterRegistry.get(CONNECTIONS).tags("pool", "UPLOAD", "route", "total", "state", "leased").gauge().value())
+            .isZero();
+        assertThat(metrics.getRoutes(SpinePool.QUERY)).containsOnlyKeys("spine.nhs.uk:443", "sds.nhs.uk:443");
+    }
+
+    @Test
+    void When_ConnectionAcquired_Expect_LeaseTimerRecorded() {
+        ConnectionProvider connectionProvider = (config, observer, remoteAddress, resolverGroup) -> Mono.empty();
+
+        metrics.timed(SpinePool.QUERY, connectionProvider).acquire(null, null, null, null).block();
+
+        assertThat(meterRegistry.get(LEASE_TIMER_NAME).tags("pool", "QUERY").timer().count()).isEqualTo(1);
+    }
+
+    private static ConnectionPoolMetrics poolMetrics(int acquired, int idle, int pending) {
+        return new ConnectionPoolMetrics() {
+            @Override
+            public int acquiredSize() {
+                return acquired;
+            }
+
+            @Override
+            public int allocatedSize() {
+                return acquired + idle;
+            }
+
+            @Override
+            public int idleSize() {
+                return idle;
+            }
+
+            @Override
+            public int pendingAcquireSize() {
+                return pending;
+            }
+
+            @Override
+            public int maxAllocatedSize() {
+                return MAX_CONNECTIONS;
+            }
+
+            @Override
+            public int maxPendingAcquireSize() {
+                return Integer.MAX_VALUE;
+            }
+        };
+    }
+}
@@ -0,0 +1,130 @@
+package uk.nhs.adaptors.scr.controllers.fhir;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import uk.nhs.adaptors.scr.clients.spine.SpineAsyncClientContract;
+import uk.nhs.adaptors.scr.components.FhirParser;
+import uk.nhs.adaptors.scr.components.OperationOutcomeExceptionHandler;
+import uk.nhs.adaptors.scr.config.AsyncUploadConfig;
+import uk.nhs.adaptors.scr.config.ScrConfiguration;
+import uk.nhs.adaptors.scr.config.SpineConfiguration;
+import uk.nhs.adaptors.scr.config.UploadExecutorConfig;
+import uk.nhs.adaptors.scr.mappings.from.fhir.BundleMapper;
+import uk.nhs.adaptors.scr.services.EventListCache;
+import uk.nhs.adaptors.scr.services.GetScrService;
+import uk.nhs.adaptors.scr.services.SpineDetectedIssuesHandler;
+import uk.nhs.adaptors.scr.services.SpineResponseParser;
+import uk.nhs.adaptors.scr.services.UploadIdempotencyStore;
+import uk.nhs.adaptors.scr.services.UploadJobService;
+import uk.nhs.adaptors.scr.services.UploadScrService;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.springframework.http.HttpHeaders.RETRY_AFTER;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static uk.nhs.adaptors.scr.consts.ScrHttpHeaders.CLIENT_IP;
+import static uk.nhs.adaptors.scr.consts.ScrHttpHeaders.NHSD_ASID;
+import static uk.nhs.adaptors.scr.consts.ScrHttpHeaders.NHSD_IDENTITY;
+import static uk.nhs.adaptors.scr.consts.ScrHttpHeaders.NHSD_SESSION_URID;
+import static uk.nhs.adaptors.scr.controllers.FhirMediaTypes.APPLICATION_FHIR_JSON_VALUE;
+
+@ExtendWith(MockitoExtension.class)
+class SendScrControllerTest {
+
+    private static final long RETRY_AFTER_SECONDS = 30;
+    private static final long SCR_RESULT_TIMEOUT = 10000;
+
+    @Mock
+    private SpineAsyncClientContract spineAsyncClient;
+    @Mock
+    private GetScrService getScrService;
+    @Mock
+    private BundleMapper bundleMapper;
+    @Mock
+    private SpineResponseParser spineResponseParser;
+    @Mock
+    private SpineDetectedIssuesHandler spineDetectedIssuesHandler;
+    @Mock
+    private EventListCache eventListCache;
+    @Mock
+    private UploadIdempotencyStore uploadIdempotencyStore;
+    @Mock
+    private UploadJobService uploadJobService;
+
+    private final CountDownLatch busy = new CountDownLatch(1);
+    private ThreadPoolTaskExecutor uploadTaskExecutor;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        uploadTaskExecutor = new ThreadPoolTaskExecutor();
+        uploadTaskExecutor.setCorePoolSize(1);
+        uploadTaskExecutor.setMaxPoolSize(1);
+        uploadTaskExecutor.setQueueCapacity(0);
+        uploadTaskExecutor.initialize();
+        // the only upload thread is taken, so the next upload is rejected
+        uploadTaskExecutor.execute(this::awaitRelease);
+
+        var uploadExecutorConfig = new UploadExecutorConfig();
+        uploadExecutorConfig.setRetryAfter(RETRY_AFTER_SECONDS);
+        var spineConfiguration = new SpineConfiguration();
+        spineConfiguration.setScrResultTimeout(SCR_RESULT_TIMEOUT);
+        var fhirParser = new FhirParser();
+        var uploadScrService = new UploadScrService(fhirParser, spineAsyncClient, getScrService, bundleMapper,
+            spineResponseParser, spineDetectedIssuesHandler, uploadTaskExecutor, uploadExecutorConfig, eventListCache,
+            uploadIdempotencyStore);
+        var controller = new SendScrController(uploadScrService, uploadJobService, new AsyncUploadConfig(), spineConfiguration,
+            new ScrConfiguration());
+
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+            .setControllerAdvice(new OperationOutcomeExceptionHandler(fhirParser))
+            .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        busy.countDown();
+        uploadTaskExecutor.shutdown();
+    }
+
+    @Test
+    void When_UploadExecutorSaturated_Expect_ServiceUnavailableWithRetryAfter() throws Exception {
+        var mvcResult = mockMvc.perform(post("/Bundle")
+                .contentType(APPLICATION_FHIR_JSON_VALUE)
+                .header(NHSD_ASID, "7695489345")
+                .header(CLIENT_IP, "192.168.0.24")
+                .header(NHSD_IDENTITY, "identity")
+                .header(NHSD_SESSION_URID, "555021935107")
+                .content("{}"))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string(RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS)))
+            .andExpect(jsonPath("$.resourceType").value("OperationOutcome"))
+            .andExpect(jsonPath("$.issue[0].code").value("transient"));
+        verifyNoInteractions(getScrService, bundleMapper, spineAsyncClient);
+    }
+
+    private void awaitRelease() {
+        try {
+            busy.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
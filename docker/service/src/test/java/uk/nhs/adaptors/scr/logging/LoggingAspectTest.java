@@ -0,0 +1,118 @@
+package uk.nhs.adaptors.scr.logging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import uk.nhs.adaptors.scr.config.ExecutionTimeConfig;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static uk.nhs.adaptors.scr.consts.SpineHttpHeaders.SOAP_ACTION;
+import static uk.nhs.adaptors.scr.logging.LoggingAspect.TIMER_NAME;
+
+class LoggingAspectTest {
+
+    private static final String EVENT_LIST_QUERY = "urn:nhs:names:services:psisquery/QUPC_IN180000SM04";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TimedClient client;
+
+    @BeforeEach
+    void setUp() {
+        var proxyFactory = new AspectJProxyFactory(new TimedClient());
+        proxyFactory.addAspect(new LoggingAspect(meterRegistry, new ExecutionTimeConfig()));
+        client = proxyFactory.getProxy();
+    }
+
+    @Test
+    void When_SpineRequestSent_Expect_TimerTaggedWithSoapAction() {
+        var headers = new HttpHeaders();
+        headers.add(SOAP_ACTION, EVENT_LIST_QUERY);
+
+        client.send(headers);
+
+        var timer = meterRegistry.find(TIMER_NAME)
+            .tags("class", "TimedClient", "method", "send", "outcome", "SUCCESS", "soapAction", EVENT_LIST_QUERY)
+            .timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void When_MethodThrows_Expect_ErrorOutcome() {
+        assertThatThrownBy(() -> client.fail()).isInstanceOf(IllegalStateException.class);
+
+        assertThat(meterRegistry.find(TIMER_NAME).tags("method", "fail", "outcome", "ERROR", "soapAction", "none").timer())
+            .isNotNull();
+    }
+
+    @Test
+    void When_FutureReturned_Expect_TimerRecordedOnCompletion() {
+        var future = new CompletableFuture<String>();
+
+        client.sendAsync(future);
+        assertThat(meterRegistry.find(TIMER_NAME).tags("method", "sendAsync").timer()).isNull();
+
+        future.completeExceptionally(new IllegalStateException());
+        assertThat(meterRegistry.find(TIMER_NAME).tags("method", "sendAsync", "outcome", "ERROR").timer()).isNotNull();
+    }
+
+    @Test
+    void When_FutureCancelled_Expect_CancelledOutcome() {
+        var future = new CompletableFuture<String>();
+
+        client.sendAsync(future);
+        future.cancel(false);
+
+        assertThat(meterRegistry.find(TIMER_NAME).tags("method", "sendAsync", "outcome", "CANCELLED").timer()).isNotNull();
+        assertThat(meterRegistry.find(TIMER_NAME).tags("method", "sendAsync", "outcome", "ERROR").timer()).isNull();
+    }
+
+    @Test
+    void When_DeferredResultReturned_Expect_TimerRecordedOnRequestCompletion() throws Exception {
+        var request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        var asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, new MockHttpServletResponse()));
+        var deferredResult = new DeferredResult<String>();
+
+        asyncManager.startDeferredResultProcessing(client.respondLater(deferredResult));
+        deferredResult.setErrorResult(new IllegalStateException());
+        assertThat(meterRegistry.find(TIMER_NAME).tags("method", "respondLater").timer()).isNull();
+
+        request.getAsyncContext().complete();
+        assertThat(meterRegistry.find(TIMER_NAME).tags("method", "respondLater", "outcome", "ERROR").timer()).isNotNull();
+    }
+
+    static class TimedClient {
+        @LogExecutionTime
+        public String send(HttpHeaders headers) {
+            return "sent";
+        }
+
+        @LogExecutionTime
+        public String fail() {
+            throw new IllegalStateException();
+        }
+
+        @LogExecutionTime
+        public CompletableFuture<String> sendAsync(CompletableFuture<String> response) {
+            return response;
+        }
+
+        @LogExecutionTime
+        public DeferredResult<String> respondLater(DeferredResult<String> response) {
+            return response;
+        }
+    }
+}
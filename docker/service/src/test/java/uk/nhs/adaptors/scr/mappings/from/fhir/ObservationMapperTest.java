@@ -6,6 +6,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.nhs.adaptors.scr.models.GpSummary;
+import uk.nhs.adaptors.scr.utils.IndexedBundle;
 import uk.nhs.adaptors.scr.utils.TemplateUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -28,7 +29,7 @@ public class ObservationMapperTest extends BaseFhirMapperUtilities {
 
         var gpSummary = new GpSummary();
 
-        finding.mapObservations(gpSummary, jsonBundle);
+        finding.mapObservations(gpSummary, new IndexedBundle(jsonBundle));
 
         var result = gpSummary.getInvestigationResults();
 
@@ -41,7 +42,7 @@ public class ObservationMapperTest extends BaseFhirMapperUtilities {
 
         var gpSummary = new GpSummary();
 
-        finding.mapObservations(gpSummary, jsonBundle);
+        finding.mapObservations(gpSummary, new IndexedBundle(jsonBundle));
 
         var result = gpSummary.getInvestigationResults();
 
@@ -56,7 +57,7 @@ public class ObservationMapperTest extends BaseFhirMapperUtilities {
 
         var gpSummary = new GpSummary();
 
-        finding.mapObservations(gpSummary, jsonBundle);
+        finding.mapObservations(gpSummary, new IndexedBundle(jsonBundle));
 
         var result = gpSummary.getInvestigationResults();
 
@@ -69,7 +70,7 @@ public class ObservationMapperTest extends BaseFhirMapperUtilities {
 
         var gpSummary = new GpSummary();
 
-        finding.mapObservations(gpSummary, jsonBundle);
+        finding.mapObservations(gpSummary, new IndexedBundle(jsonBundle));
 
         var result = gpSummary.getInvestigationResults();
 
@@ -83,7 +84,7 @@ public class ObservationMapperTest extends BaseFhirMapperUtilities {
 
         var gpSummary = new GpSummary();
 
-        finding.mapObservations(gpSummary, jsonBundle);
+        finding.mapObservations(gpSummary, new IndexedBundle(jsonBundle));
 
         var findingsTemplate = TemplateUtils.loadPartialTemplate("InvestigationResults.mustache");
 
@@ -98,7 +99,7 @@ public class ObservationMapperTest extends BaseFhirMapperUtilities {
 
         var gpSummary = new GpSummary();
 
-        finding.mapObservations(gpSummary, jsonBundle);
+        finding.mapObservations(gpSummary, new IndexedBundle(jsonBundle));
 
         var result = gpSummary.getClinicalObservationsAndFindings();
 
@@ -111,7 +112,7 @@ public class ObservationMapperTest extends BaseFhirMapperUtilities {
 
         var gpSummary = new GpSummary();
 
-        finding.mapObservations(gpSummary, jsonBundle);
+        finding.mapObservations(gpSummary, new IndexedBundle(jsonBundle));
 
         var result = gpSummary.getClinicalObservationsAndFindings();
 
@@ -126,7 +127,7 @@ public class ObservationMapperTest extends BaseFhirMapperUtilities {
 
         var gpSummary = new GpSummary();
 
-        finding.mapObservations(gpSummary, jsonBundle);
+        finding.mapObservations(gpSummary, new IndexedBundle(jsonBundle));
 
         var result = gpSummary.getClinicalObservationsAndFindings();
 
@@ -139,7 +140,7 @@ public class ObservationMapperTest extends BaseFhirMapperUtilities {
 
         var gpSummary = new GpSummary();
 
-        finding.mapObservations(gpSummary, jsonBundle);
+        finding.mapObservations(gpSummary, new IndexedBundle(jsonBundle));
 
         var result = gpSummary.getClinicalObservationsAndFindings();
 
@@ -153,7 +154,7 @@ public class ObservationMapperTest extends BaseFhirMapperUtilities {
 
         var gpSummary = new GpSummary();
 
-        finding.mapObservations(gpSummary, jsonBundle);
+        finding.mapObservations(gpSummary, new IndexedBundle(jsonBundle));
 
         var findingsTemplate = TemplateUtils.loadPartialTemplate("ClinicalObservationsAndFindings.mustache");
 
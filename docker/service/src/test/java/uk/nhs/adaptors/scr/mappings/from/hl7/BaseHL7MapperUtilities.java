@@ -17,7 +17,6 @@ import uk.nhs.adaptors.scr.mappings.from.hl7.common.CodedEntryMapper;
 import uk.nhs.adaptors.scr.utils.XmlUtils;
 
 import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.xpath.XPathFactory;
 import java.io.StringReader;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -32,7 +31,7 @@ public class BaseHL7MapperUtilities {
     @Mock
     private UuidWrapper uuid;
     @Spy
-    private XmlUtils xmlUtils = new XmlUtils(XPathFactory.newInstance());
+    private XmlUtils xmlUtils = new XmlUtils();
     @Spy
     private CodedEntryMapper codedEntry = new CodedEntryMapper(xmlUtils);
 
@@ -104,6 +104,18 @@ public class CareEventsMapperTest extends BaseHL7MapperUtilities {
 
     }
 
+    @Test
+    public void When_MappingFromHl7Twice_Expect_TypeNotSharedBetweenEncounters() {
+        returnExpectedUuid(ID);
+
+        careEvent.map(getHtmlExample(RESOURCE_DIRECTORY, FILE_NAME));
+        var result = careEvent.map(getHtmlExample(RESOURCE_DIRECTORY, FILE_NAME));
+
+        var resultEncounter = (Encounter) result.get(0);
+
+        assertThat(resultEncounter.getType()).hasSize(1);
+    }
+
     @Test
     public void When_MappingFromHl7_Expect_StatusCode() {
         var html = getHtmlExample(RESOURCE_DIRECTORY, FILE_NAME);
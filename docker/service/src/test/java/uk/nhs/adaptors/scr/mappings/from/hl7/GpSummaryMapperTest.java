@@ -13,7 +13,6 @@ import org.w3c.dom.Node;
 import uk.nhs.adaptors.scr.components.FhirParser;
 import uk.nhs.adaptors.scr.utils.XmlUtils;
 
-import javax.xml.xpath.XPathFactory;
 import java.util.ArrayList;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -31,7 +30,7 @@ public class GpSummaryMapperTest extends BaseHL7MapperUtilities {
     @Mock
     private AgentPersonSdsMapper agentPersonSdsMapper;
     @Spy
-    private HtmlParser htmlParser = new HtmlParser(new XmlUtils(XPathFactory.newInstance()));
+    private HtmlParser htmlParser = new HtmlParser(new XmlUtils());
 
     private static final String HTML_RESOURCE_DIRECTORY = "gp_summary/from/hl7";
     private static final String PARTIALS_RESOURCE_DIRECTORY = "gp_summary/partials";
@@ -0,0 +1,106 @@
+package uk.nhs.adaptors.scr.mappings.from.hl7;
+
+import org.hl7.fhir.r4.model.Condition;
+import org.hl7.fhir.r4.model.Encounter;
+import org.hl7.fhir.r4.model.Resource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.nhs.adaptors.scr.exceptions.FhirMappingException;
+import uk.nhs.adaptors.scr.utils.XmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@ExtendWith(MockitoExtension.class)
+class GpSummarySectionsMapperTest {
+
+    private static final int CRE_MAPPER_COUNT = 13;
+    private static final int CARE_EVENTS = 0;
+    private static final int DIAGNOSES = 1;
+
+    @Mock
+    private ForkJoinPool mappingExecutor;
+    @Mock
+    private XmlUtils xmlUtils;
+    @Mock
+    private GpSummaryMapper gpSummaryMapper;
+    @Mock
+    private CareEventsMapper careEventsMapper;
+    @Mock
+    private DiagnosesMapper diagnosesMapper;
+    @Mock
+    private FamilyHistoriesMapper familyHistoriesMapper;
+    @Mock
+    private FindingsMapper findingsMapper;
+    @Mock
+    private InvestigationsMapper investigationsMapper;
+    @Mock
+    private LifestylesMapper lifestylesMapper;
+    @Mock
+    private PatientAndCarerCorrespondenceMapper patientAndCarerCorrespondenceMapper;
+    @Mock
+    private PersonalPreferencesMapper personalPreferencesMapper;
+    @Mock
+    private ProblemsMapper problemsMapper;
+    @Mock
+    private ProvisionsOfAdviceAndInfoMapper provisionsOfAdviceAndInfoMapper;
+    @Mock
+    private RisksToPatientMapper risksToPatientMapper;
+    @Mock
+    private SocialOrPersonalCircumstancesMapper socialOrPersonalCircumstancesMapper;
+    @Mock
+    private TreatmentsMapper treatmentsMapper;
+
+    @InjectMocks
+    private GpSummarySectionsMapper gpSummarySectionsMapper;
+
+    @Test
+    void When_SectionsStillMapping_Expect_MergedInMapperOrderOnceAllAreMapped() {
+        var firstSection = new CompletableFuture<List<List<Resource>>>();
+        var secondSection = new CompletableFuture<List<List<Resource>>>();
+        var firstCareEvent = new Encounter();
+        var firstDiagnosis = new Condition();
+        var secondCareEvent = new Encounter();
+
+        var merged = gpSummarySectionsMapper.merge(List.of(firstSection, secondSection));
+        assertThat(merged).isNotDone();
+
+        secondSection.complete(section(secondCareEvent, null));
+        assertThat(merged).isNotDone();
+        firstSection.complete(section(firstCareEvent, firstDiagnosis));
+
+        assertThat(merged.join()).containsExactly(firstCareEvent, secondCareEvent, firstDiagnosis);
+    }
+
+    @Test
+    void When_SectionMappingFails_Expect_MergeFailsWithMapperException() {
+        var mappingError = new FhirMappingException("Unable to map diagnosis");
+        var merged = gpSummarySectionsMapper.merge(List.of(
+            CompletableFuture.completedFuture(section(new Encounter(), null)), CompletableFuture.failedFuture(mappingError)));
+
+        assertThatThrownBy(merged::get)
+            .isExactlyInstanceOf(ExecutionException.class)
+            .hasCauseReference(mappingError);
+    }
+
+    private static List<List<Resource>> section(Resource careEvent, Resource diagnosis) {
+        var section = new ArrayList<List<Resource>>();
+        for (int i = 0; i < CRE_MAPPER_COUNT; i++) {
+            section.add(List.of());
+        }
+        section.set(CARE_EVENTS, List.of(careEvent));
+        if (diagnosis != null) {
+            section.set(DIAGNOSES, List.of(diagnosis));
+        }
+        return section;
+    }
+}
@@ -0,0 +1,97 @@
+package uk.nhs.adaptors.scr.mappings.from.hl7;
+
+import org.hl7.fhir.r4.model.BaseDateTimeType;
+import org.hl7.fhir.r4.model.DateTimeType;
+import org.hl7.fhir.r4.model.InstantType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static ca.uhn.fhir.model.api.TemporalPrecisionEnum.MINUTE;
+import static ca.uhn.fhir.model.api.TemporalPrecisionEnum.SECOND;
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.nhs.adaptors.scr.mappings.from.hl7.XmlToFhirMapper.parseDate;
+import static uk.nhs.adaptors.scr.mappings.from.hl7.XmlToFhirMapper.parseDateWithFormatters;
+
+/**
+ * Differential test: {@link XmlToFhirMapper#parseDate} must give the same result as the formatter based parsing for
+ * well formed values, values out of range and values that are rejected.
+ */
+class Hl7TimestampParserTest {
+
+    private static final long SEED = 20230713L;
+    private static final int RANDOM_VALUES_PER_FORMAT = 500;
+
+    private static final List<String> EDGE_CASES = List.of(
+        "20230713120000", "20230713235959", "20230713240000", "20230713236000", "20230713235960", "00010101000000",
+        "202307131200", "202307132400", "202307131260",
+        "20230713", "20240229", "20230229", "20230231", "20230431", "20231301", "20230001", "20230100", "00000101", "99991231",
+        "2023-07", "2023-00", "2023-13", "2023-7", "0000-01",
+        "202307", "202300", "202313", "000001",
+        "2023", "0000", "9999",
+        "1", "", "-2023", "2023--07", " 2023", "2023 ", "+2023", "２０２３", "2023071", "2023071312", "20230713T1200");
+
+    @Test
+    void When_ParsingEdgeCases_Expect_SameAsFormatterBasedParsing() {
+        EDGE_CASES.forEach(Hl7TimestampParserTest::assertSameAsFormatterBasedParsing);
+    }
+
+    @Test
+    @SuppressWarnings("checkstyle:MagicNumber")
+    void When_ParsingRandomValues_Expect_SameAsFormatterBasedParsing() {
+        var random = new Random(SEED);
+        var values = new ArrayList<String>();
+        for (int i = 0; i < RANDOM_VALUES_PER_FORMAT; i++) {
+            var year = String.format("%04d", random.nextInt(10000));
+            var month = String.format("%02d", random.nextInt(14));
+            var day = String.format("%02d", random.nextInt(33));
+            var hour = String.format("%02d", random.nextInt(25));
+            var minute = String.format("%02d", random.nextInt(61));
+            var second = String.format("%02d", random.nextInt(61));
+            values.add(year + month + day + hour + minute + second);
+            values.add(year + month + day + hour + minute);
+            values.add(year + month + day);
+            values.add(year + "-" + month);
+            values.add(year + month);
+            values.add(year);
+        }
+
+        values.forEach(Hl7TimestampParserTest::assertSameAsFormatterBasedParsing);
+    }
+
+    @Test
+    void When_ParsingWellFormedValues_Expect_ParsedWithoutFallback() {
+        var target = new DateTimeType();
+
+        assertThat(Hl7TimestampParser.parse("20230713120000", target)).isTrue();
+        assertThat(Hl7TimestampParser.parse("20230231", new DateTimeType())).isFalse();
+        assertThat(Hl7TimestampParser.parse("1", new DateTimeType())).isFalse();
+        assertThat(target.getValueAsString())
+            .isEqualTo(parseDateWithFormatters("20230713120000", DateTimeType.class).getValueAsString());
+    }
+
+    private static void assertSameAsFormatterBasedParsing(String date) {
+        for (var clazz : List.of(DateTimeType.class, InstantType.class)) {
+            assertThat(describe(() -> parseDate(date, clazz)))
+                .as("%s as %s", date, clazz.getSimpleName())
+                .isEqualTo(describe(() -> parseDateWithFormatters(date, clazz)));
+        }
+    }
+
+    private static String describe(Supplier<BaseDateTimeType> parse) {
+        try {
+            var parsed = parse.get();
+            var description = parsed.getPrecision() + " " + parsed.getTimeZone().getID() + " " + parsed.getValueAsString();
+            // seconds and minutes precision values keep the milliseconds of the current time
+            if (parsed.getPrecision() != SECOND && parsed.getPrecision() != MINUTE) {
+                description += " " + parsed.getMillis();
+            }
+            return description;
+        } catch (RuntimeException e) {
+            return e.getClass().getName();
+        }
+    }
+}
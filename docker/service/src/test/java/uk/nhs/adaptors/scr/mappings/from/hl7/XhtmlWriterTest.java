@@ -0,0 +1,72 @@
+package uk.nhs.adaptors.scr.mappings.from.hl7;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ArgumentsSource;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import uk.nhs.utils.HtmlParserArgumentsProvider;
+
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static uk.nhs.adaptors.scr.mappings.from.hl7.HtmlParser.createNewDocument;
+import static uk.nhs.adaptors.scr.mappings.from.hl7.HtmlParser.serialize;
+import static uk.nhs.adaptors.scr.utils.DocumentBuilderUtil.parseDocument;
+import static uk.nhs.utils.Utils.readResourceFile;
+
+class XhtmlWriterTest {
+
+    private static final String XHTML_NAMESPACE = "http://www.w3.org/1999/xhtml";
+
+    @ParameterizedTest(name = "[{index}] - {0}.html")
+    @ArgumentsSource(HtmlParserArgumentsProvider.class)
+    void When_WritingNarrative_Expect_SameAsTransformer(String fileName) {
+        var html = parseDocument(readResourceFile(String.format("html_parser/%s.html", fileName)));
+        var body = html.getElementsByTagName("body").item(0);
+        var document = createNewDocument("div", XHTML_NAMESPACE);
+        for (var child = body.getFirstChild(); child != null; child = child.getNextSibling()) {
+            document.getDocumentElement().appendChild(document.importNode(child, true));
+        }
+
+        assertThat(XhtmlWriter.write(document)).contains(serialize(document));
+    }
+
+    @Test
+    void When_WritingSpecialCharacters_Expect_SameAsTransformer() {
+        var value = "a & b < c > d \" e ' f \t g \n h \r i 😀 j £ k  ";
+        var document = createNewDocument("div", XHTML_NAMESPACE);
+        var paragraph = document.createElement("p");
+        paragraph.setAttribute("title", value);
+        paragraph.appendChild(document.createTextNode(value));
+        paragraph.appendChild(document.createTextNode("\u0085"));
+        document.getDocumentElement().appendChild(paragraph);
+
+        assertThat(XhtmlWriter.write(document)).contains(serialize(document));
+    }
+
+    @Test
+    void When_WritingEmptyElementsAndComments_Expect_SameAsTransformer() {
+        var document = createNewDocument("div", XHTML_NAMESPACE);
+        var root = document.getDocumentElement();
+        root.appendChild(document.createElement("br"));
+        root.appendChild(document.createComment(" comment "));
+        root.appendChild(document.createElement("p")).appendChild(document.createTextNode(""));
+
+        assertThat(XhtmlWriter.write(document)).contains(serialize(document));
+    }
+
+    @Test
+    void When_WritingUnsupportedNodes_Expect_Empty() {
+        assertThat(XhtmlWriter.write(withChild(document -> document.createProcessingInstruction("target", "data")))).isEmpty();
+        assertThat(XhtmlWriter.write(withChild(document -> document.createCDATASection("data")))).isEmpty();
+        assertThat(XhtmlWriter.write(withChild(document -> document.createElement("hl7:p")))).isEmpty();
+        assertThat(XhtmlWriter.write(withChild(document -> document.createTextNode("\uD83D")))).isEmpty();
+    }
+
+    private static Document withChild(Function<Document, Node> child) {
+        var document = createNewDocument("div", XHTML_NAMESPACE);
+        document.getDocumentElement().appendChild(child.apply(document));
+        return document;
+    }
+}
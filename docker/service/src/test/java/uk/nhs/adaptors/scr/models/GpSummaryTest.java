@@ -9,6 +9,7 @@ import uk.nhs.adaptors.scr.models.xml.Diagnosis;
 import uk.nhs.adaptors.scr.models.xml.Finding;
 import uk.nhs.adaptors.scr.models.xml.RiskToPatient;
 import uk.nhs.adaptors.scr.models.xml.Treatment;
+import uk.nhs.adaptors.scr.utils.IndexedBundle;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -45,7 +46,7 @@ public class GpSummaryTest {
     public void When_MappingBundleWithNoNonCore_Expect_NoThirdPartyCorrespondence() {
         var jsonFile = readResourceFile(String.format(BUNDLE_RESOURCE_DIRECTORY + "/%s.json", "no-non-core"));
         var bundle = fhirParser.parseResource(jsonFile, Bundle.class);
-        var result = GpSummary.fromBundle(bundle, NHSD_ASID);
+        var result = GpSummary.fromBundle(new IndexedBundle(bundle), NHSD_ASID);
 
         assertThat(result.getThirdPartyCorrespondences().stream().count()).isEqualTo(0);
     }
@@ -64,7 +65,7 @@ public class GpSummaryTest {
         var jsonFile = readResourceFile(String.format(BUNDLE_RESOURCE_DIRECTORY + "/%s.json",
                 "one-risk-to-patient-third-party-communication"));
         var bundle = fhirParser.parseResource(jsonFile, Bundle.class);
-        var result = GpSummary.fromBundle(bundle, NHSD_ASID);
+        var result = GpSummary.fromBundle(new IndexedBundle(bundle), NHSD_ASID);
 
         assertThat(result.getRisksToPatient().stream().count()).isEqualTo(1);
         assertThat(result.getThirdPartyCorrespondences().stream().count()).isEqualTo(1);
@@ -86,7 +87,7 @@ public class GpSummaryTest {
         var jsonFile = readResourceFile(String.format(BUNDLE_RESOURCE_DIRECTORY + "/%s.json",
                 "withheld-information-and-additional"));
         var bundle = fhirParser.parseResource(jsonFile, Bundle.class);
-        var result = GpSummary.fromBundle(bundle, NHSD_ASID);
+        var result = GpSummary.fromBundle(new IndexedBundle(bundle), NHSD_ASID);
 
         assertThat(result.getThirdPartyCorrespondences().stream().count()).isEqualTo(1);
         assertThirdPartyCorrespondenceText(result, expectedRecordTypes);
@@ -102,7 +103,7 @@ public class GpSummaryTest {
         var jsonFile = readResourceFile(String.format(BUNDLE_RESOURCE_DIRECTORY + "/%s.json",
                 "withheld-information"));
         var bundle = fhirParser.parseResource(jsonFile, Bundle.class);
-        var result = GpSummary.fromBundle(bundle, NHSD_ASID);
+        var result = GpSummary.fromBundle(new IndexedBundle(bundle), NHSD_ASID);
 
         assertThat(result.getThirdPartyCorrespondences().stream().count()).isEqualTo(0);
     }
@@ -115,7 +116,7 @@ public class GpSummaryTest {
         var jsonFile = readResourceFile(String.format(BUNDLE_RESOURCE_DIRECTORY + "/%s.json",
                 "treatments-plus-risks-to-patient"));
         var bundle = fhirParser.parseResource(jsonFile, Bundle.class);
-        var result = GpSummary.fromBundle(bundle, NHSD_ASID);
+        var result = GpSummary.fromBundle(new IndexedBundle(bundle), NHSD_ASID);
 
         ArrayList<String> expectedRecordTypes = new ArrayList<String>() {
             {
@@ -138,7 +139,7 @@ public class GpSummaryTest {
         var jsonFile = readResourceFile(String.format(BUNDLE_RESOURCE_DIRECTORY + "/%s.json",
                 "treatments"));
         var bundle = fhirParser.parseResource(jsonFile, Bundle.class);
-        var result = GpSummary.fromBundle(bundle, NHSD_ASID);
+        var result = GpSummary.fromBundle(new IndexedBundle(bundle), NHSD_ASID);
 
         ArrayList<String> expectedRecordTypes = new ArrayList<String>() {
             {
@@ -159,7 +160,7 @@ public class GpSummaryTest {
         var jsonFile = readResourceFile(String.format(BUNDLE_RESOURCE_DIRECTORY + "/%s.json",
                 "riskstopatient"));
         var bundle = fhirParser.parseResource(jsonFile, Bundle.class);
-        var result = GpSummary.fromBundle(bundle, NHSD_ASID);
+        var result = GpSummary.fromBundle(new IndexedBundle(bundle), NHSD_ASID);
 
         ArrayList<String> expectedRecordTypes = new ArrayList<String>() {
             {
@@ -340,7 +341,7 @@ public class GpSummaryTest {
         var bundle = fhirParser.parseResource(jsonFile, Bundle.class);
 
         // act
-        var result = GpSummary.fromBundle(bundle, NHSD_ASID);
+        var result = GpSummary.fromBundle(new IndexedBundle(bundle), NHSD_ASID);
 
         assertThat(result.getCompositionDate()).isEqualToIgnoringWhitespace("20201117010000");
         assertThat(result.getPresentation().getPresentationText()).isEqualToIgnoringWhitespace(expectedPresentationValue);
@@ -355,7 +356,7 @@ public class GpSummaryTest {
         var bundle = fhirParser.parseResource(jsonFile, Bundle.class);
 
         // act
-        var result = GpSummary.fromBundle(bundle, NHSD_ASID);
+        var result = GpSummary.fromBundle(new IndexedBundle(bundle), NHSD_ASID);
 
         assertThat(result.getCompositionDate()).isEqualToIgnoringWhitespace("20200430171300");
         assertThat(result.getPresentation().getPresentationText()).isEqualToIgnoringWhitespace(expectedPresentationValue);
@@ -368,7 +369,7 @@ public class GpSummaryTest {
         var bundle = fhirParser.parseResource(jsonFile, Bundle.class);
 
         // act
-        var result = GpSummary.fromBundle(bundle, NHSD_ASID);
+        var result = GpSummary.fromBundle(new IndexedBundle(bundle), NHSD_ASID);
 
         assertThat(result.getDiagnoses()).hasAtLeastOneElementOfType(Diagnosis.class);
 
@@ -381,7 +382,7 @@ public class GpSummaryTest {
         var bundle = fhirParser.parseResource(jsonFile, Bundle.class);
 
         // act
-        var result = GpSummary.fromBundle(bundle, NHSD_ASID);
+        var result = GpSummary.fromBundle(new IndexedBundle(bundle), NHSD_ASID);
 
         assertThat(result.getInvestigationResults()).hasAtLeastOneElementOfType(Finding.class);
 
@@ -394,7 +395,7 @@ public class GpSummaryTest {
         var bundle = fhirParser.parseResource(jsonFile, Bundle.class);
 
         // act
-        var result = GpSummary.fromBundle(bundle, NHSD_ASID);
+        var result = GpSummary.fromBundle(new IndexedBundle(bundle), NHSD_ASID);
 
         assertThat(result.getTreatments()).hasAtLeastOneElementOfType(Treatment.class);
     }
@@ -406,7 +407,7 @@ public class GpSummaryTest {
         var bundle = fhirParser.parseResource(jsonFile, Bundle.class);
 
         // act
-        var result = GpSummary.fromBundle(bundle, NHSD_ASID);
+        var result = GpSummary.fromBundle(new IndexedBundle(bundle), NHSD_ASID);
 
         assertThat(result.getRisksToPatient()).hasAtLeastOneElementOfType(RiskToPatient.class);
     }
@@ -420,7 +421,7 @@ public class GpSummaryTest {
 //        var bundle = fhirParser.parseResource(jsonFile, Bundle.class);
 //
 //        // act
-//        var result = GpSummary.fromBundle(bundle, NHSD_ASID);
+//        var result = GpSummary.fromBundle(new IndexedBundle(bundle), NHSD_ASID);
 //
 //        var gpSummaryTemplate = TemplateUtils.loadPartialTemplate("GpSummary.mustache");
 //
@@ -436,7 +437,7 @@ public class GpSummaryTest {
 //        var bundle = fhirParser.parseResource(jsonFile, Bundle.class);
 //
 //        // act
-//        var result = GpSummary.fromBundle(bundle, NHSD_ASID);
+//        var result = GpSummary.fromBundle(new IndexedBundle(bundle), NHSD_ASID);
 //
 //        var gpSummaryTemplate = TemplateUtils.loadPartialTemplate("GpSummary.mustache");
 //
@@ -0,0 +1,66 @@
+package uk.nhs.adaptors.scr.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.nhs.adaptors.scr.config.ScrCacheConfig;
+import uk.nhs.adaptors.scr.models.EventListQueryResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventListCacheTest {
+
+    private static final String NHS_NUMBER = "9995000180";
+    private static final String OTHER_NHS_NUMBER = "9995000181";
+    private static final String NHSD_ASID = "7695489345";
+    private static final String OTHER_NHSD_ASID = "7695489346";
+    private static final long MAX_SIZE = 10;
+    private static final long TTL = 60000;
+
+    private EventListCache eventListCache;
+
+    @BeforeEach
+    void setUp() {
+        var config = new ScrCacheConfig();
+        config.setEventListMaxSize(MAX_SIZE);
+        config.setEventListTtl(TTL);
+        eventListCache = new EventListCache(config, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void When_EventListCached_Expect_SameResponseForSameAsid() {
+        var response = new EventListQueryResponse();
+        eventListCache.put(NHS_NUMBER, NHSD_ASID, eventListCache.getGeneration(NHS_NUMBER), response);
+
+        assertThat(eventListCache.get(NHS_NUMBER, NHSD_ASID)).containsSame(response);
+        assertThat(eventListCache.get(NHS_NUMBER, OTHER_NHSD_ASID)).isEmpty();
+    }
+
+    @Test
+    void When_PatientInvalidated_Expect_AllAsidsRemovedForThatPatientOnly() {
+        eventListCache.put(NHS_NUMBER, NHSD_ASID, eventListCache.getGeneration(NHS_NUMBER), new EventListQueryResponse());
+        eventListCache.put(NHS_NUMBER, OTHER_NHSD_ASID, eventListCache.getGeneration(NHS_NUMBER), new EventListQueryResponse());
+        eventListCache.put(OTHER_NHS_NUMBER, NHSD_ASID, eventListCache.getGeneration(OTHER_NHS_NUMBER), new EventListQueryResponse());
+
+        eventListCache.invalidate(NHS_NUMBER);
+
+        assertThat(eventListCache.get(NHS_NUMBER, NHSD_ASID)).isEmpty();
+        assertThat(eventListCache.get(NHS_NUMBER, OTHER_NHSD_ASID)).isEmpty();
+        assertThat(eventListCache.get(OTHER_NHS_NUMBER, NHSD_ASID)).isPresent();
+    }
+
+    @Test
+    void When_PatientInvalidatedWhileQueryInFlight_Expect_ResponseNotCached() {
+        var generation = eventListCache.getGeneration(NHS_NUMBER);
+        var otherGeneration = eventListCache.getGeneration(OTHER_NHS_NUMBER);
+
+        eventListCache.invalidate(NHS_NUMBER);
+        eventListCache.put(NHS_NUMBER, NHSD_ASID, generation, new EventListQueryResponse());
+        eventListCache.put(OTHER_NHS_NUMBER, NHSD_ASID, otherGeneration, new EventListQueryResponse());
+
+        assertThat(eventListCache.get(NHS_NUMBER, NHSD_ASID)).isEmpty();
+        assertThat(eventListCache.get(OTHER_NHS_NUMBER, NHSD_ASID)).isPresent();
+        eventListCache.put(NHS_NUMBER, NHSD_ASID, eventListCache.getGeneration(NHS_NUMBER), new EventListQueryResponse());
+        assertThat(eventListCache.get(NHS_NUMBER, NHSD_ASID)).isPresent();
+    }
+}
@@ -0,0 +1,99 @@
+package uk.nhs.adaptors.scr.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.nhs.adaptors.scr.config.ScrCacheConfig;
+import uk.nhs.adaptors.scr.exceptions.UnexpectedSpineResponseException;
+import uk.nhs.adaptors.scr.models.ProcessingResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryUploadIdempotencyStoreTest {
+
+    private static final String BUNDLE_IDENTIFIER = "FCB84E15-02E5-495C-B334-D0685DCB0687";
+    private static final String OTHER_BUNDLE_IDENTIFIER = "EE608FAA-2433-4BAD-A0D5-4A10E45AB2B0";
+    private static final String NHSD_ASID = "7695489345";
+    private static final String OTHER_NHSD_ASID = "7695489346";
+    private static final long MAX_SIZE = 10;
+    private static final long TTL = 60000;
+    private static final int THREE_UPLOADS = 3;
+
+    private final AtomicInteger uploadsStarted = new AtomicInteger();
+
+    private InMemoryUploadIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        var config = new ScrCacheConfig();
+        config.setUploadMaxSize(MAX_SIZE);
+        config.setUploadTtl(TTL);
+        store = new InMemoryUploadIdempotencyStore(config, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void When_UploadInProgress_Expect_RetryAttachedToIt() {
+        var upload = new CompletableFuture<ProcessingResult>();
+        var processingResult = new ProcessingResult();
+
+        var first = store.getOrStart(BUNDLE_IDENTIFIER, NHSD_ASID, counting(() -> upload));
+        var retry = store.getOrStart(BUNDLE_IDENTIFIER, NHSD_ASID, counting(CompletableFuture::new));
+        assertThat(retry).isNotDone();
+
+        upload.complete(processingResult);
+
+        assertThat(first.join()).isSameAs(processingResult);
+        assertThat(retry.join()).isSameAs(processingResult);
+        assertThat(uploadsStarted).hasValue(1);
+    }
+
+    @Test
+    void When_UploadCompleted_Expect_OutcomeReplayed() {
+        var processingResult = new ProcessingResult();
+        store.getOrStart(BUNDLE_IDENTIFIER, NHSD_ASID, counting(() -> completedFuture(processingResult)));
+
+        var retry = store.getOrStart(BUNDLE_IDENTIFIER, NHSD_ASID, counting(() -> completedFuture(new ProcessingResult())));
+
+        assertThat(retry.join()).isSameAs(processingResult);
+        assertThat(uploadsStarted).hasValue(1);
+    }
+
+    @Test
+    void When_OtherBundleOrAsid_Expect_NewUpload() {
+        store.getOrStart(BUNDLE_IDENTIFIER, NHSD_ASID, counting(CompletableFuture::new));
+        store.getOrStart(OTHER_BUNDLE_IDENTIFIER, NHSD_ASID, counting(CompletableFuture::new));
+        store.getOrStart(BUNDLE_IDENTIFIER, OTHER_NHSD_ASID, counting(CompletableFuture::new));
+
+        assertThat(uploadsStarted).hasValue(THREE_UPLOADS);
+    }
+
+    @Test
+    void When_UploadFailed_Expect_RetryStartsNewUpload() {
+        var failure = new UnexpectedSpineResponseException("Unexpected spine 'send data' response 500");
+        var failed = store.getOrStart(BUNDLE_IDENTIFIER, NHSD_ASID, counting(() -> failedFuture(failure)));
+        var thrown = store.getOrStart(BUNDLE_IDENTIFIER, NHSD_ASID, counting(() -> {
+            throw failure;
+        }));
+        var processingResult = new ProcessingResult();
+
+        var retry = store.getOrStart(BUNDLE_IDENTIFIER, NHSD_ASID, counting(() -> completedFuture(processingResult)));
+
+        assertThat(failed).isCompletedExceptionally();
+        assertThat(thrown).isCompletedExceptionally();
+        assertThat(retry.join()).isSameAs(processingResult);
+        assertThat(uploadsStarted).hasValue(THREE_UPLOADS);
+    }
+
+    private Supplier<CompletableFuture<ProcessingResult>> counting(Supplier<CompletableFuture<ProcessingResult>> upload) {
+        return () -> {
+            uploadsStarted.incrementAndGet();
+            return upload.get();
+        };
+    }
+}
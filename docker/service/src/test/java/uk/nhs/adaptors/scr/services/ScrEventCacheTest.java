@@ -0,0 +1,67 @@
+package uk.nhs.adaptors.scr.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Patient;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import uk.nhs.adaptors.scr.config.ScrCacheConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hl7.fhir.r4.model.Bundle.BundleType.SEARCHSET;
+
+class ScrEventCacheTest {
+
+    private static final String COMPOSITION_ID = "FA60BE64-1F34-11EB-A2A8-000C29A364EB";
+    private static final String NHS_NUMBER = "9995000180";
+    private static final String OTHER_NHS_NUMBER = "9995000181";
+    private static final long MAX_SIZE = 10;
+    private static final long TTL = 60000;
+
+    private ScrEventCache scrEventCache;
+
+    @BeforeEach
+    void setUp() {
+        var config = new ScrCacheConfig();
+        config.setScrEventMaxSize(MAX_SIZE);
+        config.setScrEventTtl(TTL);
+        scrEventCache = new ScrEventCache(config, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void When_ScrNotCached_Expect_Empty() {
+        assertThat(scrEventCache.get(COMPOSITION_ID, NHS_NUMBER)).isEmpty();
+    }
+
+    @Test
+    void When_ScrCached_Expect_CopyWithNewBundleId() {
+        var bundle = new Bundle().setType(SEARCHSET).setTotal(1);
+        bundle.setId("original");
+        bundle.addEntry().setResource(new Patient());
+        scrEventCache.put(COMPOSITION_ID, NHS_NUMBER, bundle);
+
+        var cached = scrEventCache.get(COMPOSITION_ID, NHS_NUMBER).orElseThrow();
+
+        assertThat(cached).isNotSameAs(bundle);
+        assertThat(cached.getId()).isNotEqualTo(bundle.getId());
+        assertThat(cached.getType()).isEqualTo(SEARCHSET);
+        assertThat(cached.getTotal()).isEqualTo(1);
+        assertThat(cached.getEntry()).containsExactlyElementsOf(bundle.getEntry());
+    }
+
+    @Test
+    void When_ScrCachedForOtherPatient_Expect_Empty() {
+        scrEventCache.put(COMPOSITION_ID, NHS_NUMBER, new Bundle());
+
+        assertThat(scrEventCache.get(COMPOSITION_ID, OTHER_NHS_NUMBER)).isEmpty();
+    }
+
+    @Test
+    void When_CacheInvalidated_Expect_Empty() {
+        scrEventCache.put(COMPOSITION_ID, NHS_NUMBER, new Bundle());
+
+        scrEventCache.invalidateAll();
+
+        assertThat(scrEventCache.get(COMPOSITION_ID, NHS_NUMBER)).isEmpty();
+    }
+}
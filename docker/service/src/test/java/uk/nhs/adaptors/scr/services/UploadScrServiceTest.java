@@ -0,0 +1,145 @@
+package uk.nhs.adaptors.scr.services;
+
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Patient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.w3c.dom.Document;
+import uk.nhs.adaptors.scr.clients.spine.SpineAsyncClientContract;
+import uk.nhs.adaptors.scr.components.FhirParser;
+import uk.nhs.adaptors.scr.config.UploadExecutorConfig;
+import uk.nhs.adaptors.scr.exceptions.FhirMappingException;
+import uk.nhs.adaptors.scr.exceptions.UnexpectedSpineResponseException;
+import uk.nhs.adaptors.scr.mappings.from.fhir.BundleMapper;
+import uk.nhs.adaptors.scr.models.RequestData;
+import uk.nhs.adaptors.scr.utils.FilledTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static java.util.concurrent.CompletableFuture.failedFuture;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.nhs.adaptors.scr.utils.FhirHelper.NHS_NUMBER_IDENTIFIER_SYSTEM;
+
+@ExtendWith(MockitoExtension.class)
+class UploadScrServiceTest {
+
+    private static final String REQUEST_BODY = "{}";
+    private static final String NHS_NUMBER = "9995000180";
+    private static final String NHSD_ASID = "7695489345";
+    private static final String CLIENT_IP = "192.168.0.24";
+    private static final long WAIT_SECONDS = 5;
+
+    @Mock
+    private FhirParser fhirParser;
+    @Mock
+    private SpineAsyncClientContract spineAsyncClient;
+    @Mock
+    private GetScrService getScrService;
+    @Mock
+    private BundleMapper bundleMapper;
+    @Mock
+    private SpineResponseParser spineResponseParser;
+    @Mock
+    private SpineDetectedIssuesHandler spineDetectedIssuesHandler;
+    @Mock
+    private EventListCache eventListCache;
+    @Mock
+    private UploadIdempotencyStore uploadIdempotencyStore;
+
+    private ThreadPoolTaskExecutor uploadTaskExecutor;
+    private UploadScrService uploadScrService;
+
+    @BeforeEach
+    void setUp() {
+        uploadTaskExecutor = new ThreadPoolTaskExecutor();
+        uploadTaskExecutor.initialize();
+        uploadScrService = new UploadScrService(fhirParser, spineAsyncClient, getScrService, bundleMapper, spineResponseParser,
+            spineDetectedIssuesHandler, uploadTaskExecutor, new UploadExecutorConfig(), eventListCache, uploadIdempotencyStore);
+        // without a bundle identifier the upload is not deduplicated
+        when(fhirParser.parseResource(REQUEST_BODY, Bundle.class)).thenReturn(bundle());
+    }
+
+    @AfterEach
+    void tearDown() {
+        uploadTaskExecutor.shutdown();
+    }
+
+    @Test
+    void When_BundleMapped_Expect_PermissionQuerySentFirst() throws Exception {
+        var permissionCheck = new CompletableFuture<Document>();
+        when(getScrService.getScrIdRawXmlAsync(NHS_NUMBER, NHSD_ASID, CLIENT_IP)).thenReturn(permissionCheck);
+        var mapped = new CompletableFuture<Void>();
+        when(bundleMapper.map(any(), any())).thenAnswer(invocation -> {
+            mapped.complete(null);
+            return mock(FilledTemplate.class);
+        });
+
+        var result = uploadScrService.uploadScr(requestData());
+        mapped.get(WAIT_SECONDS, SECONDS);
+
+        var order = inOrder(getScrService, bundleMapper);
+        order.verify(getScrService).getScrIdRawXmlAsync(NHS_NUMBER, NHSD_ASID, CLIENT_IP);
+        order.verify(bundleMapper).map(any(), any());
+        // the upload waits for the permission check
+        assertThat(result).isNotDone();
+        permissionCheck.cancel(false);
+    }
+
+    @Test
+    void When_MappingFails_Expect_FailureReturnedWithoutWaitingAndPermissionQueryCancelled() {
+        var permissionCheck = new CompletableFuture<Document>();
+        when(getScrService.getScrIdRawXmlAsync(NHS_NUMBER, NHSD_ASID, CLIENT_IP)).thenReturn(permissionCheck);
+        var mappingError = new FhirMappingException("Composition missing from payload");
+        when(bundleMapper.map(any(), any())).thenThrow(mappingError);
+
+        var result = uploadScrService.uploadScr(requestData());
+
+        assertThatThrownBy(() -> result.get(WAIT_SECONDS, SECONDS))
+            .isExactlyInstanceOf(ExecutionException.class)
+            .hasCauseReference(mappingError);
+        assertThat(permissionCheck).isCancelled();
+    }
+
+    @Test
+    void When_PermissionCheckFails_Expect_FailurePropagated() {
+        var permissionError = new UnexpectedSpineResponseException("Unexpected spine send response 500");
+        when(getScrService.getScrIdRawXmlAsync(NHS_NUMBER, NHSD_ASID, CLIENT_IP)).thenReturn(failedFuture(permissionError));
+        when(bundleMapper.map(any(), any())).thenReturn(mock(FilledTemplate.class));
+
+        var result = uploadScrService.uploadScr(requestData());
+
+        assertThatThrownBy(() -> result.get(WAIT_SECONDS, SECONDS))
+            .isExactlyInstanceOf(ExecutionException.class)
+            .hasCauseReference(permissionError);
+        verifyNoInteractions(spineAsyncClient);
+    }
+
+    private static Bundle bundle() {
+        var patient = new Patient();
+        patient.addIdentifier().setSystem(NHS_NUMBER_IDENTIFIER_SYSTEM).setValue(NHS_NUMBER);
+        var bundle = new Bundle();
+        bundle.addEntry().setResource(patient);
+        return bundle;
+    }
+
+    private static RequestData requestData() {
+        var requestData = new RequestData();
+        requestData.setBody(REQUEST_BODY);
+        requestData.setNhsdAsid(NHSD_ASID);
+        requestData.setClientIp(CLIENT_IP);
+        return requestData;
+    }
+}
@@ -0,0 +1,42 @@
+package uk.nhs.adaptors.scr.utils;
+
+import org.junit.jupiter.api.Test;
+import org.xml.sax.SAXParseException;
+
+import java.io.ByteArrayInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DocumentBuilderUtilTest {
+
+    @Test
+    void When_ParsingTwiceOnOneThread_Expect_IndependentDocuments() {
+        var first = DocumentBuilderUtil.parseDocument("<first><child/></first>");
+        var second = DocumentBuilderUtil.parseDocument(new ByteArrayInputStream("<second/>".getBytes(UTF_8)));
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(first.getDocumentElement().getTagName()).isEqualTo("first");
+        assertThat(first.getDocumentElement().getFirstChild().getNodeName()).isEqualTo("child");
+        assertThat(second.getDocumentElement().getTagName()).isEqualTo("second");
+    }
+
+    @Test
+    void When_ParsingAfterMalformedXml_Expect_BuilderReusable() {
+        assertThatThrownBy(() -> DocumentBuilderUtil.parseDocument("<unclosed>"))
+            .isInstanceOf(SAXParseException.class);
+
+        var document = DocumentBuilderUtil.parseDocument("<closed/>");
+
+        assertThat(document.getDocumentElement().getTagName()).isEqualTo("closed");
+    }
+
+    @Test
+    void When_ParsingQualifiedNames_Expect_NamespaceUnawareDocument() {
+        var document = DocumentBuilderUtil.parseDocument("<hl7:root xmlns:hl7=\"urn:hl7-org:v3\"/>");
+
+        assertThat(document.getDocumentElement().getTagName()).isEqualTo("hl7:root");
+        assertThat(document.getDocumentElement().getLocalName()).isNull();
+    }
+}
@@ -0,0 +1,119 @@
+package uk.nhs.adaptors.scr.utils;
+
+import org.hl7.fhir.r4.model.Bundle;
+import org.hl7.fhir.r4.model.Composition;
+import org.hl7.fhir.r4.model.Condition;
+import org.hl7.fhir.r4.model.Encounter;
+import org.hl7.fhir.r4.model.Observation;
+import org.hl7.fhir.r4.model.Practitioner;
+import org.hl7.fhir.r4.model.Procedure;
+import org.hl7.fhir.r4.model.Resource;
+import org.junit.jupiter.api.Test;
+import uk.nhs.adaptors.scr.exceptions.FhirMappingException;
+import uk.nhs.adaptors.scr.exceptions.FhirValidationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class IndexedBundleTest {
+
+    private static final String RISK_TO_PATIENT = "163231000000100";
+    private static final String FAMILY_HISTORY = "163051000000102";
+
+    @Test
+    void When_ResourcesOfTypeRequested_Expect_BundleOrder() {
+        var first = observation("1");
+        var second = observation("2");
+        var indexedBundle = indexedBundle(first, encounter("1"), second);
+
+        assertThat(indexedBundle.getDomainResourceList(Observation.class)).containsExactly(first, second);
+        assertThat(indexedBundle.getDomainResourceList(Practitioner.class)).isEmpty();
+    }
+
+    @Test
+    void When_SingleResourceRequested_Expect_ItOrError() {
+        var composition = new Composition();
+        var indexedBundle = indexedBundle(composition, observation("1"), observation("2"));
+
+        assertThat(indexedBundle.getDomainResource(Composition.class)).isSameAs(composition);
+        assertThatThrownBy(() -> indexedBundle.getDomainResource(Observation.class))
+            .isInstanceOf(FhirMappingException.class)
+            .hasMessage("There is more than 1 resource of type Observation");
+        assertThatThrownBy(() -> indexedBundle.getDomainResource(Encounter.class))
+            .isInstanceOf(FhirMappingException.class)
+            .hasMessage("Encounter missing from payload");
+    }
+
+    @Test
+    void When_ResourcesOfCategoryRequested_Expect_BundleOrder() {
+        var first = observation("1", RISK_TO_PATIENT);
+        var second = observation("2", RISK_TO_PATIENT);
+        var other = observation("3", FAMILY_HISTORY);
+        var procedure = new Procedure();
+        procedure.getCategory().addCoding().setCode(RISK_TO_PATIENT);
+        var indexedBundle = indexedBundle(first, other, procedure, second);
+
+        assertThat(indexedBundle.getDomainResourceList(Observation.class, RISK_TO_PATIENT)).containsExactly(first, second);
+        assertThat(indexedBundle.getDomainResourceList(Observation.class, FAMILY_HISTORY)).containsExactly(other);
+        assertThat(indexedBundle.getDomainResourceList(Procedure.class, RISK_TO_PATIENT)).containsExactly(procedure);
+        assertThat(indexedBundle.getDomainResourceList(Condition.class, RISK_TO_PATIENT)).isEmpty();
+    }
+
+    @Test
+    void When_ResourceHasNoCategory_Expect_NotGroupedAndNotChanged() {
+        var observation = observation("1");
+        var procedure = new Procedure();
+        var indexedBundle = indexedBundle(observation, procedure);
+
+        assertThat(indexedBundle.getDomainResourceList(Observation.class)).containsExactly(observation);
+        assertThat(observation.hasCategory()).isFalse();
+        assertThat(procedure.hasCategory()).isFalse();
+    }
+
+    @Test
+    void When_ReferenceResolved_Expect_FirstResourceOfTypeWithId() {
+        var encounter = encounter("1");
+        var indexedBundle = indexedBundle(observation("1"), encounter, encounter("1"), encounter("2"));
+
+        assertThat(indexedBundle.getResourceByReference("Encounter/1", Encounter.class)).containsSame(encounter);
+        assertThat(indexedBundle.getResourceByReference("Encounter/1/_history/2", Encounter.class)).containsSame(encounter);
+        assertThat(indexedBundle.getResourceByReference("Encounter/3", Encounter.class)).isEmpty();
+    }
+
+    @Test
+    void When_ReferenceToOtherTypeResolved_Expect_ValidationError() {
+        var indexedBundle = indexedBundle(encounter("1"));
+
+        for (var reference : new String[] {"Observation/1", "EncounterX/1", "Encounter", "Encounte/1"}) {
+            assertThatThrownBy(() -> indexedBundle.getResourceByReference(reference, Encounter.class))
+                .isInstanceOf(FhirValidationException.class)
+                .hasMessage("Invalid resource reference. " + reference + " expected to be referencing Encounter");
+        }
+    }
+
+    private static IndexedBundle indexedBundle(Resource... resources) {
+        var bundle = new Bundle();
+        for (var resource : resources) {
+            bundle.addEntry().setResource(resource);
+        }
+        return new IndexedBundle(bundle);
+    }
+
+    private static Observation observation(String id) {
+        var observation = new Observation();
+        observation.setId(id);
+        return observation;
+    }
+
+    private static Observation observation(String id, String categoryCode) {
+        var observation = observation(id);
+        observation.addCategory().addCoding().setCode(categoryCode);
+        return observation;
+    }
+
+    private static Encounter encounter(String id) {
+        var encounter = new Encounter();
+        encounter.setId(id);
+        return encounter;
+    }
+}
@@ -0,0 +1,50 @@
+package uk.nhs.adaptors.scr.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class PreferHeaderUtilsTest {
+
+    @ParameterizedTest(name = "isRespondAsync {0}")
+    @MethodSource("respondAsync")
+    public void isRespondAsyncShouldDetectPreference(String prefer, boolean expected) {
+        assertThat(PreferHeaderUtils.isRespondAsync(prefer)).isEqualTo(expected);
+    }
+
+    @ParameterizedTest(name = "getWait {0}")
+    @MethodSource("waits")
+    public void getWaitShouldReturnSeconds(String prefer, Optional<Long> expected) {
+        assertThat(PreferHeaderUtils.getWait(prefer)).isEqualTo(expected);
+    }
+
+    private static Stream<Arguments> respondAsync() {
+        return Stream.of(
+            Arguments.of(null, false),
+            Arguments.of("", false),
+            Arguments.of("respond-async", true),
+            Arguments.of("Respond-Async", true),
+            Arguments.of("return=minimal, respond-async; foo=bar", true),
+            Arguments.of("return=minimal", false)
+        );
+    }
+
+    @SuppressWarnings("checkstyle:MagicNumber")
+    private static Stream<Arguments> waits() {
+        return Stream.of(
+            Arguments.of(null, Optional.empty()),
+            Arguments.of("respond-async", Optional.empty()),
+            Arguments.of("wait=10", Optional.of(10L)),
+            Arguments.of("respond-async, wait = 5", Optional.of(5L)),
+            Arguments.of("wait=\"7\"", Optional.of(7L)),
+            Arguments.of("wait=soon", Optional.empty()),
+            Arguments.of("wait=000000000000000000000003", Optional.of(3L)),
+            Arguments.of("wait=99999999999999999999", Optional.of(Long.MAX_VALUE))
+        );
+    }
+}
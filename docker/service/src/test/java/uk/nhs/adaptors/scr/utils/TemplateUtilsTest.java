@@ -0,0 +1,37 @@
+package uk.nhs.adaptors.scr.utils;
+
+import org.junit.jupiter.api.Test;
+import uk.nhs.adaptors.scr.models.EventListQueryParams;
+
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TemplateUtilsTest {
+
+    @Test
+    void When_TemplateLoadedTwice_Expect_SameCompiledTemplate() {
+        assertThat(TemplateUtils.loadTemplate("REPC_RM150007UK05.mustache"))
+            .isSameAs(TemplateUtils.loadTemplate("REPC_RM150007UK05.mustache"));
+        assertThat(TemplateUtils.loadPartialTemplate("Problems.mustache"))
+            .isSameAs(TemplateUtils.loadTemplate("partials/Problems.mustache"));
+    }
+
+    @Test
+    void When_PreparedTemplateWritten_Expect_SameAsFilledTemplate() {
+        var template = TemplateUtils.loadTemplate("QUPC_IN180000SM04.mustache");
+        var params = new EventListQueryParams()
+            .setNhsNumber("9995000180")
+            .setSenderFromASID("123456789")
+            .setGeneratedMessageId("12345678-1234-1234-1234-123456789012");
+        var output = new StringWriter();
+
+        var preparedTemplate = TemplateUtils.prepareTemplate(template, params);
+        preparedTemplate.writeTo(output);
+
+        assertThat(output.toString())
+            .isEqualTo(TemplateUtils.fillTemplate(template, params))
+            .isEqualTo(preparedTemplate.toString())
+            .contains("9995000180", "123456789");
+    }
+}
@@ -0,0 +1,41 @@
+package uk.nhs.adaptors.scr.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class XPathRegistryTest {
+
+    private static final String SAME_THREAD_XPATH = "/XPathRegistryTest/sameThread";
+    private static final String OTHER_THREAD_XPATH = "/XPathRegistryTest/otherThread";
+
+    @Test
+    void When_SameExpressionCompiledTwiceOnOneThread_Expect_CachedInstance() throws Exception {
+        var misses = XPathRegistry.getMisses();
+        var hits = XPathRegistry.getHits();
+
+        var first = XPathRegistry.compile(SAME_THREAD_XPATH);
+        var second = XPathRegistry.compile(SAME_THREAD_XPATH);
+
+        assertThat(second).isSameAs(first);
+        assertThat(XPathRegistry.getMisses()).isGreaterThanOrEqualTo(misses + 1);
+        assertThat(XPathRegistry.getHits()).isGreaterThanOrEqualTo(hits + 1);
+    }
+
+    @Test
+    void When_SameExpressionCompiledOnAnotherThread_Expect_SeparateInstance() throws Exception {
+        var local = XPathRegistry.compile(OTHER_THREAD_XPATH);
+
+        var other = CompletableFuture.supplyAsync(() -> {
+            try {
+                return XPathRegistry.compile(OTHER_THREAD_XPATH);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }).get();
+
+        assertThat(other).isNotSameAs(local);
+    }
+}